@@ -0,0 +1,29 @@
+package com.xebia.mower.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line options, but writes the results as JSON in jmh-result.json
+ * unless -rf or -rff say otherwise, so that runs can be compared over time.
+ *
+ * <pre>
+ * mvn install -DskipTests && mvn -f benchmarks/pom.xml package
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse("jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.xebia.mower.benchmark;
+
+import com.xebia.mower.mediator.CasMediator;
+import com.xebia.mower.mediator.DefaultMediator;
+import com.xebia.mower.mediator.IMediator;
+import com.xebia.mower.mediator.StripedMediator;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.xebia.mower.model.Orientation.N;
+
+/**
+ * MowItNowConcurrentMain-style run, without the artificial sleeps : every mower runs its whole program in a task
+ * of a pool of the given number of threads. Mowers go back and forth on their own column, so that the measure is the
+ * synchronization cost of the mediator and not the time spent waiting for a collision timeout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentRunBenchmark {
+
+    static final int HEIGHT = 50;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"default", "striped", "cas"})
+    String mediatorType;
+
+    @Param("64")
+    int mowerCount;
+
+    ExecutorService executorService;
+    InstructionProgram program;
+    Grid grid;
+
+    @Setup
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(threads);
+        StringBuilder instructions = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            for (int step = 0; step < HEIGHT; step++) instructions.append('A');
+            instructions.append("DD");
+        }
+        program = InstructionProgram.parse(instructions);
+        grid = new Grid(0, 0, mowerCount - 1, HEIGHT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executorService.shutdown();
+    }
+
+    @Benchmark
+    public List<Position> run() throws Exception {
+        IMediator mediator = createMediator();
+        List<Callable<Position>> mowerEndPositions = new ArrayList<>();
+        for (int i = 0; i < mowerCount; i++) {
+            Mower mower = new Mower(String.valueOf(i), i, 0, N);
+            mowerEndPositions.add(() -> mediator.register(mower).sendInstructions(program, mower));
+        }
+
+        List<Position> endPositions = new ArrayList<>();
+        for (Future<Position> endPosition : executorService.invokeAll(mowerEndPositions)) {
+            endPositions.add(endPosition.get());
+        }
+        return endPositions;
+    }
+
+    private IMediator createMediator() {
+        switch (mediatorType) {
+            case "default": return new DefaultMediator(grid);
+            case "striped": return new StripedMediator(grid);
+            case "cas": return new CasMediator(grid);
+            default: throw new IllegalArgumentException("Unknown mediator : " + mediatorType);
+        }
+    }
+}
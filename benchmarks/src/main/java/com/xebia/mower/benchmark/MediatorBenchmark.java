@@ -0,0 +1,64 @@
+package com.xebia.mower.benchmark;
+
+import com.xebia.mower.mediator.DefaultMediator;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.xebia.mower.model.Instruction.A;
+import static com.xebia.mower.model.Instruction.D;
+import static com.xebia.mower.model.Orientation.E;
+import static com.xebia.mower.model.Orientation.N;
+
+/**
+ * Cost of an instruction for a probe mower depending on the number of mowers registered on the same lawn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediatorBenchmark {
+
+    static final int SIZE = 1000;
+
+    @Param({"1", "100", "10000", "100000"})
+    int mowerCount;
+
+    DefaultMediator mediator;
+    Mower probe;
+
+    @Setup
+    public void setUp() {
+        mediator = new DefaultMediator(new Grid(0, 0, SIZE, SIZE));
+        for (int i = 1; i < mowerCount; i++) {
+            mediator.register(new Mower(String.valueOf(i), i % (SIZE + 1), 2 + i / (SIZE + 1), N));
+        }
+        probe = new Mower("probe", 0, 0, E);
+        mediator.register(probe);
+    }
+
+    @Benchmark
+    public long turn() {
+        return mediator.sendPackedInstruction(D, probe);
+    }
+
+    /**
+     * The probe moves one cell then turns around, so that it goes back and forth between two cells.
+     */
+    @Benchmark
+    public long moveAndTurnAround() {
+        mediator.sendPackedInstruction(A, probe);
+        mediator.sendPackedInstruction(D, probe);
+        return mediator.sendPackedInstruction(D, probe);
+    }
+
+    @Benchmark
+    public Position sendInstruction() {
+        return mediator.sendInstruction(D, probe);
+    }
+}
@@ -0,0 +1,37 @@
+package com.xebia.mower.benchmark;
+
+import com.xebia.mower.model.Orientation;
+
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Generates reproducible mission inputs for the benchmarks.
+ */
+final class Missions {
+
+    private static final String INSTRUCTIONS = "DGAAA";
+
+    private Missions() {
+    }
+
+    static String program(Random random, int length) {
+        StringBuilder program = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            program.append(INSTRUCTIONS.charAt(random.nextInt(INSTRUCTIONS.length())));
+        }
+        return program.toString();
+    }
+
+    static byte[] mission(Random random, int size, int mowerCount, int programLength) {
+        StringBuilder mission = new StringBuilder().append(size).append(' ').append(size).append('\n');
+        for (int i = 0; i < mowerCount; i++) {
+            mission.append(random.nextInt(size + 1)).append(' ')
+                   .append(random.nextInt(size + 1)).append(' ')
+                   .append(Orientation.values()[random.nextInt(4)]).append('\n')
+                   .append(program(random, programLength)).append('\n');
+        }
+        return mission.toString().getBytes(US_ASCII);
+    }
+}
@@ -0,0 +1,53 @@
+package com.xebia.mower.benchmark;
+
+import com.xebia.mower.model.PackedPosition;
+import com.xebia.mower.model.Position;
+import com.xebia.mower.move.DefaultMowerStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.xebia.mower.model.Orientation.E;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MowerStrategyBenchmark {
+
+    DefaultMowerStrategy strategy = new DefaultMowerStrategy();
+    Position position = new Position(12, 34, E);
+    long packedPosition = PackedPosition.of(position);
+
+    @Benchmark
+    public Position shouldMove() {
+        return strategy.shouldMove(position);
+    }
+
+    @Benchmark
+    public Position shouldTurnRight() {
+        return strategy.shouldTurnRight(position);
+    }
+
+    @Benchmark
+    public Position shouldTurnLeft() {
+        return strategy.shouldTurnLeft(position);
+    }
+
+    @Benchmark
+    public long shouldMovePacked() {
+        return strategy.shouldMove(packedPosition);
+    }
+
+    @Benchmark
+    public long shouldTurnRightPacked() {
+        return strategy.shouldTurnRight(packedPosition);
+    }
+
+    @Benchmark
+    public long shouldTurnLeftPacked() {
+        return strategy.shouldTurnLeft(packedPosition);
+    }
+}
@@ -0,0 +1,84 @@
+package com.xebia.mower.benchmark;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Position;
+import com.xebia.mower.parser.FileLineParser;
+import com.xebia.mower.parser.IMissionHandler;
+import com.xebia.mower.parser.StreamingMissionParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"10", "10000"})
+    int programLength;
+
+    String instructionLine;
+    byte[] mission;
+    StreamingMissionParser streamingParser = new StreamingMissionParser();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        instructionLine = Missions.program(random, programLength);
+        mission = Missions.mission(random, 1000, 1000, programLength);
+    }
+
+    @Benchmark
+    public List<Instruction> parseInstructions() {
+        return FileLineParser.parseInstructions(instructionLine);
+    }
+
+    @Benchmark
+    public InstructionProgram parseProgram() {
+        return FileLineParser.parseProgram(instructionLine);
+    }
+
+    @Benchmark
+    public Position parseMowerInitialPosition() {
+        return FileLineParser.parseMowerInitialPosition("123 456 E");
+    }
+
+    /**
+     * Throughput is in missions of 1000 mowers per second.
+     */
+    @Benchmark
+    public void streamMission(Blackhole blackhole) throws IOException {
+        streamingParser.parse(Channels.newChannel(new ByteArrayInputStream(mission)), new IMissionHandler() {
+
+            @Override
+            public void onGrid(Grid grid) {
+                blackhole.consume(grid);
+            }
+
+            @Override
+            public void onMower(long initialPackedPosition) {
+                blackhole.consume(initialPackedPosition);
+            }
+
+            @Override
+            public void onInstructions(byte[] instructions, int offset, int length) {
+                blackhole.consume(instructions[offset + length - 1]);
+            }
+
+            @Override
+            public void onMowerEnd() {
+            }
+        });
+    }
+}
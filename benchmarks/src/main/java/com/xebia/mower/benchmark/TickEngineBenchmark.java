@@ -0,0 +1,89 @@
+package com.xebia.mower.benchmark;
+
+import com.xebia.mower.engine.ITickEngine;
+import com.xebia.mower.engine.PartitionedTickEngine;
+import com.xebia.mower.engine.TickEngine;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Orientation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static com.xebia.mower.model.PackedPosition.pack;
+
+/**
+ * Runs the same random mission with the single-threaded {@link TickEngine} and the {@link PartitionedTickEngine} on
+ * pools of the given number of threads, with threads x threads tiles. Mowers are added in the setup of each
+ * invocation, so that only the ticks are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TickEngineBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"single", "partitioned"})
+    String engineType;
+
+    @Param("100000")
+    int size;
+
+    @Param("100000")
+    int mowerCount;
+
+    @Param("200")
+    int programLength;
+
+    ForkJoinPool pool;
+    Grid grid;
+    long[] positions;
+    InstructionProgram[] programs;
+    ITickEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        pool = new ForkJoinPool(threads);
+        grid = new Grid(0, 0, size - 1, size - 1);
+        Random random = new Random(42);
+        Set<Long> cells = new HashSet<>();
+        positions = new long[mowerCount];
+        programs = new InstructionProgram[mowerCount];
+        for (int i = 0; i < mowerCount; i++) {
+            int x, y;
+            do {
+                x = random.nextInt(size);
+                y = random.nextInt(size);
+            } while (!cells.add((long) x << 32 | y));
+            positions[i] = pack(x, y, Orientation.values()[random.nextInt(4)]);
+            programs[i] = InstructionProgram.parse(Missions.program(random, programLength));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        engine = "single".equals(engineType) ? new TickEngine(grid) : new PartitionedTickEngine(grid, threads, threads, 2, pool);
+        for (int i = 0; i < mowerCount; i++) {
+            engine.addMower(positions[i], programs[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long run() {
+        return engine.run();
+    }
+}
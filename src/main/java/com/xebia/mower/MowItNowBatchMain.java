@@ -0,0 +1,55 @@
+package com.xebia.mower;
+
+import com.xebia.mower.engine.BatchStatistics;
+import com.xebia.mower.engine.SequentialBatchEngine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Runs a mission file with the {@link SequentialBatchEngine} and prints the final mower positions.
+ *
+ * Arguments : the mission file (a path on disk, or else a classpath resource), then optionally the output file
+ * (standard output by default), and "--trace" to log every step.
+ */
+@Slf4j
+public class MowItNowBatchMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) throw new IllegalArgumentException("Cannot find file path in given program arguments.");
+
+        boolean tracing = false;
+        String output = null;
+        for (int i = 1; i < args.length; i++) {
+            if ("--trace".equals(args[i])) tracing = true;
+            else output = args[i];
+        }
+
+        long start = System.nanoTime();
+        BatchStatistics statistics;
+        try (Writer writer = output == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, US_ASCII))
+                : Files.newBufferedWriter(Paths.get(output), US_ASCII)) {
+            statistics = new SequentialBatchEngine(tracing).run(resolve(args[0]), writer);
+        }
+        long elapsed = System.nanoTime() - start;
+        log.info("{} mowers, {} instructions in {} ms.", statistics.getMowerCount(), statistics.getInstructionCount(), elapsed / 1_000_000);
+    }
+
+    static Path resolve(String mission) throws Exception {
+        Path path = Paths.get(mission);
+        if (Files.isRegularFile(path)) return path;
+
+        URL resource = ClassLoader.getSystemResource(mission);
+        if (resource == null) throw new IllegalArgumentException("Cannot find mission file " + mission);
+        return Paths.get(resource.toURI());
+    }
+}
@@ -1,27 +1,23 @@
 package com.xebia.mower;
 
+import com.xebia.mower.engine.ConcurrentRunner;
+import com.xebia.mower.engine.PredictiveRunner;
 import com.xebia.mower.mediator.DefaultMediator;
-import com.xebia.mower.mediator.IMediator;
 import com.xebia.mower.model.Grid;
-import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
 import com.xebia.mower.model.Mower;
-import com.xebia.mower.model.Position;
+import com.xebia.mower.parser.IMissionHandler;
+import com.xebia.mower.parser.StreamingMissionParser;
 
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import static com.xebia.mower.parser.FileLineParser.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The concurrent version takes into consideration that several mowers can move concurrently, but two instructions
  * for the same mower cannot be treated concurrently, they must be treated sequencially in order to keep the same end position.
- * That's why we only create callables for each list of instructions, not for each instruction separately, otherwise the end
+ * That's why we only create tasks for each list of instructions, not for each instruction separately, otherwise the end
  * position is unpredictable, which the specification obviously does not want.
  *
  * In this case, it is useless to make the Mower class methods synchronized.
@@ -29,47 +25,51 @@ import static com.xebia.mower.parser.FileLineParser.*;
  *
  * In this case, it is necessary to synchronize the mower {@link Mower#move()} process only ({@link Mower#turnRight()} or {@link Mower#turnLeft()} is useless)
  * via the mediator, in order to control who can access which position and when.
+ *
+ * Programs are run by a {@link ConcurrentRunner} on a bounded work-stealing pool instead of one thread per mower :
+ * a blocked mower is requeued rather than waiting on the mediator condition. A {@link PredictiveRunner} first moves
+ * the mowers which never come across another one without going through the mediator at all.
+ * Optional arguments after the mission file : the pool parallelism, then the maximum requeues of a blocked instruction.
  */
 public class MowItNowConcurrentMain {
 
     public static void main(String[] args) throws Exception {
         if (args.length < 1) throw new IllegalArgumentException("Cannot find file path in given program arguments.");
 
-        try (Scanner scanner = new Scanner(Paths.get(ClassLoader.getSystemResource(args[0]).toURI()))) {
-            Grid grid = parseGridXMaxYMax(0, 0, scanner.nextLine());
-            IMediator mediator = new DefaultMediator(grid);
-            List<Callable<Position>> mowerEndPositions = new ArrayList<>();
-            AtomicInteger mowerCpt = new AtomicInteger(1);
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxRequeues = args.length > 2 ? Integer.parseInt(args[2]) : ConcurrentRunner.DEFAULT_MAX_REQUEUES;
+        List<Mower> mowers = new ArrayList<>();
+        List<InstructionProgram> programs = new ArrayList<>();
+        AtomicReference<Grid> lawn = new AtomicReference<>();
 
-            while (true) {
-                Position mowerInitialPosition = parseMowerInitialPosition(scanner.nextLine());
-                List<Instruction> instructions = parseInstructions(scanner.nextLine());
-                Mower mower = new Mower(String.valueOf(mowerCpt.getAndIncrement()), mowerInitialPosition);
+        new StreamingMissionParser().parse(Paths.get(ClassLoader.getSystemResource(args[0]).toURI()), new IMissionHandler() {
 
-                Callable<Position> mowerEndPosition = () -> {
-                    Thread.sleep((int) (Math.random() * 1000)); // try to randomize the instant when the mower is registered
-                    mediator.register(mower);
-                    instructions.forEach(instruction -> {
-                        mediator.sendInstruction(instruction, mower);
-                        try {
-                            Thread.sleep((int) (Math.random() * 1000)); // try to randomize the time between spent between 2 instructions
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    });
-                    return mower.getCurrentPosition();
-                };
+            InstructionProgram.Builder program;
+            int mowerCpt = 1;
+
+            @Override
+            public void onGrid(Grid grid) {
+                lawn.set(grid);
+            }
 
-                mowerEndPositions.add(mowerEndPosition);
+            @Override
+            public void onMower(long initialPackedPosition) {
+                mowers.add(new Mower(String.valueOf(mowerCpt++), initialPackedPosition));
+                program = InstructionProgram.builder();
+            }
+
+            @Override
+            public void onInstructions(byte[] bytes, int offset, int length) {
+                program.append(bytes, offset, length);
+            }
 
-                if (!scanner.hasNextLine()) {
-                    break;
-                }
+            @Override
+            public void onMowerEnd() {
+                programs.add(program.build());
             }
+        });
 
-            ExecutorService executorService = Executors.newFixedThreadPool(mowerCpt.get());
-            executorService.invokeAll(mowerEndPositions);
-            executorService.shutdown();
-        }
+        Grid grid = lawn.get();
+        new PredictiveRunner(grid, () -> new DefaultMediator(grid), parallelism, maxRequeues).run(mowers, programs);
     }
 }
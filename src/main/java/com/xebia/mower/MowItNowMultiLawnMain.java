@@ -0,0 +1,48 @@
+package com.xebia.mower;
+
+import com.xebia.mower.engine.MultiLawnRunner;
+import com.xebia.mower.engine.MultiLawnStatistics;
+import com.xebia.mower.engine.TrajectoryCache;
+import com.xebia.mower.engine.TrajectoryCacheStatistics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Runs every lawn of a directory or a manifest with the {@link MultiLawnRunner}, and prints the combined output.
+ *
+ * Arguments : the directory or manifest, then optionally the output file (standard output by default) and the number
+ * of worker threads (the number of processors by default), and the maximum number of trajectories cached for all
+ * the lawns (no cache by default).
+ */
+@Slf4j
+public class MowItNowMultiLawnMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) throw new IllegalArgumentException("Cannot find directory or manifest path in given program arguments.");
+
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        TrajectoryCache cache = args.length > 3 ? new TrajectoryCache(Integer.parseInt(args[3]), true) : null;
+        MultiLawnStatistics statistics;
+        try (Writer writer = args.length > 1 && !"-".equals(args[1])
+                ? Files.newBufferedWriter(Paths.get(args[1]), US_ASCII)
+                : new BufferedWriter(new OutputStreamWriter(System.out, US_ASCII))) {
+            statistics = new MultiLawnRunner(threads, false, cache).run(Paths.get(args[0]), writer);
+        }
+        log.info("{} lawns ({} failed), {} mowers, {} instructions in {} ms : {} lawns/s, {} instructions/s.",
+                statistics.getLawnCount(), statistics.getFailedLawnCount(), statistics.getMowerCount(),
+                statistics.getInstructionCount(), statistics.getElapsedNanos() / 1_000_000,
+                String.format("%.1f", statistics.getLawnsPerSecond()), String.format("%.0f", statistics.getInstructionsPerSecond()));
+        if (cache != null) {
+            TrajectoryCacheStatistics cacheStatistics = cache.getStatistics();
+            log.info("Trajectory cache : {} hits, {} misses, {} evictions, {} hit rate.", cacheStatistics.getHitCount(),
+                    cacheStatistics.getMissCount(), cacheStatistics.getEvictionCount(), String.format("%.2f", cacheStatistics.getHitRate()));
+        }
+    }
+}
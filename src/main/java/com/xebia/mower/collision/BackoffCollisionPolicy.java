@@ -0,0 +1,61 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import lombok.Getter;
+
+/**
+ * Bounded exponential backoff : the first waits are short, so that a mower blocked for a single move barely waits,
+ * and they double up to a cap, until the mower gives up after a bounded number of waits. With the defaults, a mower
+ * gives up after about 300 milliseconds instead of 10 seconds.
+ */
+public final class BackoffCollisionPolicy implements ICollisionPolicy {
+
+    public static final long DEFAULT_INITIAL_TIMEOUT = 1;
+    public static final long DEFAULT_MAX_TIMEOUT = 64;
+    public static final int DEFAULT_MAX_WAITS = 10;
+
+    @Getter private final long initialTimeout;
+    @Getter private final long maxTimeout;
+    @Getter private final int maxWaits;
+    private final CollisionCounters counters = new CollisionCounters();
+
+    public BackoffCollisionPolicy() {
+        this(DEFAULT_INITIAL_TIMEOUT, DEFAULT_MAX_TIMEOUT, DEFAULT_MAX_WAITS);
+    }
+
+    /**
+     * @param initialTimeout first wait in milliseconds, doubled on every wait
+     * @param maxTimeout     longest wait in milliseconds
+     */
+    public BackoffCollisionPolicy(long initialTimeout, long maxTimeout, int maxWaits) {
+        if (initialTimeout <= 0) throw new IllegalArgumentException("initialTimeout should be positive.");
+        if (maxTimeout < initialTimeout) throw new IllegalArgumentException("maxTimeout should not be lower than initialTimeout.");
+        if (maxWaits < 0) throw new IllegalArgumentException("maxWaits should not be negative.");
+
+        this.initialTimeout = initialTimeout;
+        this.maxTimeout = maxTimeout;
+        this.maxWaits = maxWaits;
+    }
+
+    @Override
+    public boolean mayEnter(long packedPosition, Mower mower) {
+        return true;
+    }
+
+    @Override
+    public long onCollision(long packedPosition, Mower mower, int attempt) {
+        if (attempt >= maxWaits) return counters.onCollision(attempt, -1);
+        long timeout = attempt < Long.numberOfLeadingZeros(initialTimeout) - 1 ? initialTimeout << attempt : maxTimeout;
+        return counters.onCollision(attempt, Math.min(timeout, maxTimeout));
+    }
+
+    @Override
+    public void onResolved(long packedPosition, Mower mower, boolean entered) {
+        counters.onResolved(entered);
+    }
+
+    @Override
+    public CollisionPolicyStatistics getStatistics() {
+        return counters.snapshot();
+    }
+}
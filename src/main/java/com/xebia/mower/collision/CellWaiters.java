@@ -0,0 +1,90 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.CellKey;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.occupancy.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mowers waiting for each cell, in arrival order, with the time they started waiting at. Only contended cells have a
+ * queue : cells are mapped by their {@link CellKey} to the index of their queue, without boxing, and the queue of a
+ * cell whose last waiter left is recycled for the next contended cell.
+ */
+final class CellWaiters {
+
+    final LongIntHashMap queueIndexes = new LongIntHashMap(-1);
+    final List<List<Waiter>> queues = new ArrayList<>();
+    int[] freeQueues = new int[4];
+    int freeQueueCount;
+
+    boolean isEmpty() {
+        return queueIndexes.isEmpty();
+    }
+
+    /**
+     * @return the waiters of the cell, in arrival order, or null when nobody waits for it
+     */
+    List<Waiter> get(long packedPosition) {
+        int queue = queueIndexes.get(CellKey.ofPacked(packedPosition));
+        return queue < 0 ? null : queues.get(queue);
+    }
+
+    /**
+     * @return the waiter of this mower, added at the end of the queue of the cell when it was not waiting yet
+     */
+    Waiter add(long packedPosition, Mower mower) {
+        long cell = CellKey.ofPacked(packedPosition);
+        int queue = queueIndexes.get(cell);
+        if (queue < 0) {
+            queue = freeQueueCount > 0 ? freeQueues[--freeQueueCount] : newQueue();
+            queueIndexes.put(cell, queue);
+        }
+        List<Waiter> cellWaiters = queues.get(queue);
+        for (Waiter waiter : cellWaiters) {
+            if (waiter.mower == mower) return waiter;
+        }
+        Waiter waiter = new Waiter(mower, System.nanoTime());
+        cellWaiters.add(waiter);
+        return waiter;
+    }
+
+    void remove(long packedPosition, Mower mower) {
+        long cell = CellKey.ofPacked(packedPosition);
+        int queue = queueIndexes.get(cell);
+        if (queue < 0) return;
+        List<Waiter> cellWaiters = queues.get(queue);
+        cellWaiters.removeIf(waiter -> waiter.mower == mower);
+        if (cellWaiters.isEmpty()) {
+            queueIndexes.remove(cell);
+            if (freeQueueCount == freeQueues.length) freeQueues = Arrays.copyOf(freeQueues, freeQueueCount * 2);
+            freeQueues[freeQueueCount++] = queue;
+        }
+    }
+
+    private int newQueue() {
+        queues.add(new ArrayList<>(2));
+        return queues.size() - 1;
+    }
+
+    /**
+     * @return how long the waiter may still wait in milliseconds, rounded up, or -1 once maxWait is over
+     */
+    static long remainingWait(Waiter waiter, long maxWait) {
+        long remaining = maxWait * 1_000_000 - (System.nanoTime() - waiter.since);
+        return remaining <= 0 ? -1 : (remaining + 999_999) / 1_000_000;
+    }
+
+    static final class Waiter {
+
+        final Mower mower;
+        final long since;
+
+        Waiter(Mower mower, long since) {
+            this.mower = mower;
+            this.since = since;
+        }
+    }
+}
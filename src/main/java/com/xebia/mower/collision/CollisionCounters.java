@@ -0,0 +1,33 @@
+package com.xebia.mower.collision;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters shared by the policies : they are written under the mediator lock, but may be read from any thread.
+ */
+final class CollisionCounters {
+
+    final LongAdder collisions = new LongAdder();
+    final LongAdder waits = new LongAdder();
+    final LongAdder entered = new LongAdder();
+    final LongAdder givenUp = new LongAdder();
+    final LongAdder deferred = new LongAdder();
+
+    /**
+     * @return the timeout given, so that policies can record and answer at once
+     */
+    long onCollision(int attempt, long timeout) {
+        if (attempt == 0) collisions.increment();
+        if (timeout >= 0) waits.increment();
+        return timeout;
+    }
+
+    void onResolved(boolean entered) {
+        if (entered) this.entered.increment();
+        else givenUp.increment();
+    }
+
+    CollisionPolicyStatistics snapshot() {
+        return new CollisionPolicyStatistics(collisions.sum(), waits.sum(), entered.sum(), givenUp.sum(), deferred.sum());
+    }
+}
@@ -0,0 +1,27 @@
+package com.xebia.mower.collision;
+
+import lombok.Data;
+
+@Data
+public final class CollisionPolicyStatistics {
+
+    /**
+     * Mowers which could not enter their cell at once.
+     */
+    private final long collisionCount;
+    private final long waitCount;
+    private final long enteredCount;
+    private final long givenUpCount;
+    /**
+     * Free cells left to a mower waiting before.
+     */
+    private final long deferredCount;
+
+    /**
+     * @return the share of collisions which ended with the mower entering its cell rather than skipping
+     */
+    public double getResolutionRate() {
+        long resolvedCount = enteredCount + givenUpCount;
+        return resolvedCount == 0 ? 1 : (double) enteredCount / resolvedCount;
+    }
+}
@@ -0,0 +1,32 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+
+/**
+ * Never waits : a mower which cannot enter its cell skips the instruction at once. Best latency, but the final
+ * positions depend on the timing of the mowers.
+ */
+public final class FailFastCollisionPolicy implements ICollisionPolicy {
+
+    final CollisionCounters counters = new CollisionCounters();
+
+    @Override
+    public boolean mayEnter(long packedPosition, Mower mower) {
+        return true;
+    }
+
+    @Override
+    public long onCollision(long packedPosition, Mower mower, int attempt) {
+        return counters.onCollision(attempt, -1);
+    }
+
+    @Override
+    public void onResolved(long packedPosition, Mower mower, boolean entered) {
+        counters.onResolved(entered);
+    }
+
+    @Override
+    public CollisionPolicyStatistics getStatistics() {
+        return counters.snapshot();
+    }
+}
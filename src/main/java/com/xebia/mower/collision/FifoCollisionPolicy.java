@@ -0,0 +1,59 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Mowers enter a contended cell in the order they collided on it : once a mower waits for a cell, a mower arriving
+ * later waits behind it, even when the cell is free. A mower gives up once it has waited maxWait milliseconds in
+ * total : every release wakes the waiting mowers up, so counting waits would make the budget depend on the moves of
+ * the whole fleet.
+ */
+public final class FifoCollisionPolicy implements ICollisionPolicy {
+
+    public static final long DEFAULT_MAX_WAIT = 1000;
+
+    @Getter private final long maxWait;
+    private final CellWaiters waiters = new CellWaiters();
+    private final CollisionCounters counters = new CollisionCounters();
+
+    public FifoCollisionPolicy() {
+        this(DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * @param maxWait in milliseconds
+     */
+    public FifoCollisionPolicy(long maxWait) {
+        if (maxWait < 0) throw new IllegalArgumentException("maxWait should not be negative.");
+
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public boolean mayEnter(long packedPosition, Mower mower) {
+        if (waiters.isEmpty()) return true;
+        List<CellWaiters.Waiter> cellWaiters = waiters.get(packedPosition);
+        if (cellWaiters == null || cellWaiters.get(0).mower == mower) return true;
+        counters.deferred.increment();
+        return false;
+    }
+
+    @Override
+    public long onCollision(long packedPosition, Mower mower, int attempt) {
+        return counters.onCollision(attempt, CellWaiters.remainingWait(waiters.add(packedPosition, mower), maxWait));
+    }
+
+    @Override
+    public void onResolved(long packedPosition, Mower mower, boolean entered) {
+        waiters.remove(packedPosition, mower);
+        counters.onResolved(entered);
+    }
+
+    @Override
+    public CollisionPolicyStatistics getStatistics() {
+        return counters.snapshot();
+    }
+}
@@ -0,0 +1,37 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+
+/**
+ * Decides what a mediator does when a mower wants to enter a cell which is occupied, or which another waiting mower
+ * should enter first : wait, and how long, or give up the instruction (or the registration).
+ *
+ * Cells are given as {@link com.xebia.mower.model.PackedPosition}s, whose orientation does not matter. Methods are
+ * called under the position lock of the mediator, so a policy instance should not be shared by several mediators.
+ * A mower which collided always ends with a call to {@link #onResolved(long, Mower, boolean)}.
+ */
+public interface ICollisionPolicy {
+
+    /**
+     * Called before a mower enters a free cell.
+     *
+     * @return false when another mower waiting for this cell should enter it first
+     */
+    boolean mayEnter(long packedPosition, Mower mower);
+
+    /**
+     * Called when a mower cannot enter the cell, before every wait.
+     *
+     * @param attempt number of waits of this mower for this cell so far, starting at 0
+     * @return how long to wait for the cell in milliseconds, the wait ending earlier when a cell is released, or a
+     * negative value to give up
+     */
+    long onCollision(long packedPosition, Mower mower, int attempt);
+
+    /**
+     * Called once a mower which collided entered the cell, or gave up.
+     */
+    void onResolved(long packedPosition, Mower mower, boolean entered);
+
+    CollisionPolicyStatistics getStatistics();
+}
@@ -0,0 +1,68 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A contended cell is entered by the waiting mower of highest priority, lowest first in the comparator order, even
+ * when a mower of lower priority was waiting before : by default, the mower of lowest id, ids being compared as
+ * numbers when they are. Mowers of low priority may starve, and give up once they have waited maxWait milliseconds.
+ */
+public final class PriorityCollisionPolicy implements ICollisionPolicy {
+
+    public static final long DEFAULT_MAX_WAIT = FifoCollisionPolicy.DEFAULT_MAX_WAIT;
+    public static final Comparator<Mower> BY_ID = Comparator.<Mower>comparingInt(mower -> mower.getId().length())
+            .thenComparing(Mower::getId);
+
+    private final Comparator<Mower> priority;
+    @Getter private final long maxWait;
+    private final CellWaiters waiters = new CellWaiters();
+    private final CollisionCounters counters = new CollisionCounters();
+
+    public PriorityCollisionPolicy() {
+        this(BY_ID, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * @param maxWait in milliseconds
+     */
+    public PriorityCollisionPolicy(Comparator<Mower> priority, long maxWait) {
+        if (maxWait < 0) throw new IllegalArgumentException("maxWait should not be negative.");
+
+        this.priority = priority;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public boolean mayEnter(long packedPosition, Mower mower) {
+        if (waiters.isEmpty()) return true;
+        List<CellWaiters.Waiter> cellWaiters = waiters.get(packedPosition);
+        if (cellWaiters == null) return true;
+        for (CellWaiters.Waiter waiter : cellWaiters) {
+            if (waiter.mower != mower && priority.compare(waiter.mower, mower) < 0) {
+                counters.deferred.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long onCollision(long packedPosition, Mower mower, int attempt) {
+        return counters.onCollision(attempt, CellWaiters.remainingWait(waiters.add(packedPosition, mower), maxWait));
+    }
+
+    @Override
+    public void onResolved(long packedPosition, Mower mower, boolean entered) {
+        waiters.remove(packedPosition, mower);
+        counters.onResolved(entered);
+    }
+
+    @Override
+    public CollisionPolicyStatistics getStatistics() {
+        return counters.snapshot();
+    }
+}
@@ -0,0 +1,53 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import lombok.Getter;
+
+import static com.xebia.mower.mediator.DefaultMediator.DEFAULT_WAIT_TIMEOUT;
+import static com.xebia.mower.mediator.DefaultMediator.MAX_WAITING_TIMES;
+
+/**
+ * Waits a fixed number of times with a fixed timeout, then gives up : by default, twice 5 seconds, which is the
+ * historical behaviour of {@link com.xebia.mower.mediator.DefaultMediator}.
+ */
+public final class TimedWaitCollisionPolicy implements ICollisionPolicy {
+
+    @Getter private final int maxWaits;
+    @Getter private final long waitTimeout;
+    private final CollisionCounters counters = new CollisionCounters();
+
+    public TimedWaitCollisionPolicy() {
+        this(MAX_WAITING_TIMES, DEFAULT_WAIT_TIMEOUT);
+    }
+
+    /**
+     * @param waitTimeout in milliseconds
+     */
+    public TimedWaitCollisionPolicy(int maxWaits, long waitTimeout) {
+        if (maxWaits < 0) throw new IllegalArgumentException("maxWaits should not be negative.");
+        if (waitTimeout < 0) throw new IllegalArgumentException("waitTimeout should not be negative.");
+
+        this.maxWaits = maxWaits;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public boolean mayEnter(long packedPosition, Mower mower) {
+        return true;
+    }
+
+    @Override
+    public long onCollision(long packedPosition, Mower mower, int attempt) {
+        return counters.onCollision(attempt, attempt < maxWaits ? waitTimeout : -1);
+    }
+
+    @Override
+    public void onResolved(long packedPosition, Mower mower, boolean entered) {
+        counters.onResolved(entered);
+    }
+
+    @Override
+    public CollisionPolicyStatistics getStatistics() {
+        return counters.snapshot();
+    }
+}
@@ -0,0 +1,202 @@
+package com.xebia.mower.coverage;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Obstacle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.xebia.mower.model.PackedPosition.getX;
+import static com.xebia.mower.model.PackedPosition.getY;
+
+/**
+ * One bit per grid cell, set once a mower stood on the cell, indexed like {@link com.xebia.mower.occupancy.DenseOccupancy}
+ * by (x - xMin, y - yMin) in row-major order.
+ *
+ * Marking a cell is a word update, and a horizontal run of moves sets whole words at once : nothing is allocated while
+ * mowing. The mowed cell count is kept up to date, so the coverage is read in constant time ; only
+ * {@link #findUnmowedRegions()} scans the grid.
+ *
+ * Cells covered by an obstacle of the grid cannot be mowed : they are not counted in the cells to mow, nor reported
+ * as unmowed.
+ *
+ * Not thread-safe : mowers are marked under the caller lock, as {@link com.xebia.mower.mediator.DefaultMediator} does
+ * with its position lock, and the map is read once the mission is over.
+ */
+public class CoverageMap {
+
+    final Grid grid;
+    final long width;
+    final long cellCount;
+    final long mowableCount;
+    final long[] words;
+    long mowedCount;
+
+    public CoverageMap(Grid grid) {
+        long height = (long) grid.getYMax() - grid.getYMin() + 1;
+        this.grid = grid;
+        this.width = (long) grid.getXMax() - grid.getXMin() + 1;
+        this.cellCount = width * height;
+        if (cellCount > (long) Integer.MAX_VALUE << 6) throw new IllegalArgumentException("Grid is too large for a coverage map.");
+        this.mowableCount = cellCount - grid.getObstacleCellCount();
+        this.words = new long[(int) ((cellCount + 63) >>> 6)];
+    }
+
+    public void mow(long packedPosition) {
+        mow(getX(packedPosition), getY(packedPosition));
+    }
+
+    public void mow(int x, int y) {
+        long index = index(x, y);
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        if ((words[word] & mask) == 0) {
+            words[word] |= mask;
+            mowedCount++;
+        }
+    }
+
+    /**
+     * Mows the cells of a straight run, both ends included.
+     *
+     * @throws IllegalArgumentException when the two positions are neither on the same row nor on the same column
+     */
+    public void mowRun(long fromPackedPosition, long toPackedPosition) {
+        int fromX = getX(fromPackedPosition);
+        int fromY = getY(fromPackedPosition);
+        int toX = getX(toPackedPosition);
+        int toY = getY(toPackedPosition);
+        if (fromY == toY) {
+            mowRange(index(Math.min(fromX, toX), fromY), index(Math.max(fromX, toX), fromY));
+        } else if (fromX == toX) {
+            for (int y = Math.min(fromY, toY); y <= Math.max(fromY, toY); y++) {
+                mow(fromX, y);
+            }
+        } else {
+            throw new IllegalArgumentException("A run should be on a row or a column.");
+        }
+    }
+
+    /**
+     * Sets the bits from index from to index to, both included, word by word.
+     */
+    void mowRange(long from, long to) {
+        mowedCount += markRange(words, from, to);
+    }
+
+    /**
+     * @return the number of bits set by this call
+     */
+    private static long markRange(long[] bits, long from, long to) {
+        int firstWord = (int) (from >>> 6);
+        int lastWord = (int) (to >>> 6);
+        long marked = 0;
+        for (int word = firstWord; word <= lastWord; word++) {
+            long mask = -1L;
+            if (word == firstWord) mask &= -1L << from;
+            if (word == lastWord) mask &= -1L >>> (63 - (to & 63));
+            marked += Long.bitCount(mask & ~bits[word]);
+            bits[word] |= mask;
+        }
+        return marked;
+    }
+
+    public boolean isMowed(int x, int y) {
+        long index = index(x, y);
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return the number of cells to mow, obstacle cells excluded
+     */
+    public long getCellCount() {
+        return mowableCount;
+    }
+
+    public long getMowedCount() {
+        return mowedCount;
+    }
+
+    public double getCoveragePercentage() {
+        return mowedCount * 100.0 / mowableCount;
+    }
+
+    public boolean isComplete() {
+        return mowedCount == mowableCount;
+    }
+
+    /**
+     * @return the regions of unmowed cells, connected through their edges, ordered by their first cell in row-major order
+     */
+    public List<UnmowedRegion> findUnmowedRegions() {
+        List<UnmowedRegion> regions = new ArrayList<>();
+        if (isComplete()) return regions;
+
+        long[] seen = Arrays.copyOf(words, words.length);
+        if ((cellCount & 63) != 0) seen[seen.length - 1] |= -1L << cellCount;
+        for (Obstacle obstacle : grid.getObstacles()) {
+            for (int y = obstacle.getYMin(); y <= obstacle.getYMax(); y++) {
+                markRange(seen, index(obstacle.getXMin(), y), index(obstacle.getXMax(), y));
+            }
+        }
+        for (int word = 0; word < seen.length; word++) {
+            while (seen[word] != -1L) {
+                long start = ((long) word << 6) + Long.numberOfTrailingZeros(~seen[word]);
+                regions.add(fill(seen, start));
+            }
+        }
+        return regions;
+    }
+
+    private UnmowedRegion fill(long[] seen, long start) {
+        int xMin = Integer.MAX_VALUE;
+        int yMin = Integer.MAX_VALUE;
+        int xMax = Integer.MIN_VALUE;
+        int yMax = Integer.MIN_VALUE;
+        long count = 0;
+
+        long[] stack = new long[64];
+        int size = 0;
+        markSeen(seen, start);
+        stack[size++] = start;
+        while (size > 0) {
+            long index = stack[--size];
+            long column = index % width;
+            long row = index / width;
+            int x = (int) (grid.getXMin() + column);
+            int y = (int) (grid.getYMin() + row);
+            xMin = Math.min(xMin, x);
+            xMax = Math.max(xMax, x);
+            yMin = Math.min(yMin, y);
+            yMax = Math.max(yMax, y);
+            count++;
+
+            if (stack.length - size < 4) stack = Arrays.copyOf(stack, stack.length * 2);
+            if (column > 0 && markSeen(seen, index - 1)) stack[size++] = index - 1;
+            if (column < width - 1 && markSeen(seen, index + 1)) stack[size++] = index + 1;
+            if (index >= width && markSeen(seen, index - width)) stack[size++] = index - width;
+            if (index + width < cellCount && markSeen(seen, index + width)) stack[size++] = index + width;
+        }
+        return new UnmowedRegion(xMin, yMin, xMax, yMax, count);
+    }
+
+    /**
+     * @return false if the cell was already seen
+     */
+    private static boolean markSeen(long[] seen, long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        if ((seen[word] & mask) != 0) return false;
+        seen[word] |= mask;
+        return true;
+    }
+
+    long index(int x, int y) {
+        return (y - (long) grid.getYMin()) * width + (x - (long) grid.getXMin());
+    }
+}
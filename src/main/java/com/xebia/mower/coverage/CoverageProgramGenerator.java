@@ -0,0 +1,207 @@
+package com.xebia.mower.coverage;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Orientation;
+import com.xebia.mower.model.Position;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.xebia.mower.model.Orientation.*;
+import static java.lang.String.format;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Generates programs mowing the whole lawn with a fleet : the lawn is split into strips, one per mower, and each mower
+ * mows its own strip back and forth (boustrophedon), after having driven from its start cell to the nearest strip
+ * corner.
+ *
+ * Strip borders are placed between the start cells, so that every mower starts in its own strip and never leaves it :
+ * the paths of two mowers never share a cell, and nobody is ever blocked, whatever the mode and the order mowers are
+ * run in. Within these constraints, borders are as close as possible to equal strips, so that the longest program,
+ * which is the tick count of the mission, stays close to the lawn area divided by the fleet size.
+ *
+ * Strips are columns, swept along their height, when mowers start on distinct columns, or rows otherwise ; both being
+ * possible, strips are laid along the longest side of the lawn. Programs are generated in a time linear in the lawn
+ * area, 2 bits per instruction.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class CoverageProgramGenerator {
+
+    /**
+     * @return one program per start position, in the same order
+     * @throws IllegalArgumentException when a position is invalid, when mowers share both a column and a row with
+     *                                  another mower, so that the lawn cannot be split into strips, or when the lawn has
+     *                                  obstacles, which a strip sweep cannot go round
+     */
+    public static List<InstructionProgram> generate(Grid grid, List<Position> starts) {
+        if (starts.isEmpty()) throw new IllegalArgumentException("At least one mower is needed.");
+        if (grid.hasObstacles()) throw new IllegalArgumentException("Lawns with obstacles are not supported.");
+        for (int i = 0; i < starts.size(); i++) {
+            if (!grid.isPositionValid(starts.get(i)))
+                throw new IllegalArgumentException(format("Mower %s has invalid position.", i + 1));
+        }
+
+        boolean columns = hasDistinct(starts, Axis.COLUMNS);
+        boolean rows = hasDistinct(starts, Axis.ROWS);
+        if (!columns && !rows) throw new IllegalArgumentException("Mowers should start on distinct columns or distinct rows.");
+        long height = (long) grid.getYMax() - grid.getYMin();
+        long width = (long) grid.getXMax() - grid.getXMin();
+        Axis axis = columns && (!rows || height >= width) ? Axis.COLUMNS : Axis.ROWS;
+
+        Integer[] order = new Integer[starts.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> axis.across(starts.get(i))));
+
+        int acrossMin = axis.acrossMin(grid);
+        int acrossMax = axis.acrossMax(grid);
+        long acrossLength = (long) acrossMax - acrossMin + 1;
+        InstructionProgram[] programs = new InstructionProgram[starts.size()];
+        int stripMin = acrossMin;
+        for (int rank = 0; rank < order.length; rank++) {
+            int stripMax = acrossMax;
+            if (rank < order.length - 1) {
+                long ideal = acrossMin + acrossLength * (rank + 1) / order.length - 1;
+                int current = axis.across(starts.get(order[rank]));
+                int next = axis.across(starts.get(order[rank + 1]));
+                stripMax = (int) Math.max(current, Math.min(next - 1, ideal));
+            }
+            programs[order[rank]] = new Strip(axis, stripMin, stripMax, axis.alongMin(grid), axis.alongMax(grid))
+                    .program(starts.get(order[rank]));
+            stripMin = stripMax + 1;
+        }
+        return Arrays.asList(programs);
+    }
+
+    private static boolean hasDistinct(List<Position> starts, Axis axis) {
+        int[] values = new int[starts.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = axis.across(starts.get(i));
+        }
+        Arrays.sort(values);
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] == values[i - 1]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Strips are laid across an axis, and swept along the other one.
+     */
+    enum Axis {
+
+        COLUMNS(E, W, N, S),
+        ROWS(N, S, E, W);
+
+        final Orientation acrossForward;
+        final Orientation acrossBackward;
+        final Orientation alongForward;
+        final Orientation alongBackward;
+
+        Axis(Orientation acrossForward, Orientation acrossBackward, Orientation alongForward, Orientation alongBackward) {
+            this.acrossForward = acrossForward;
+            this.acrossBackward = acrossBackward;
+            this.alongForward = alongForward;
+            this.alongBackward = alongBackward;
+        }
+
+        int across(Position position) {
+            return this == COLUMNS ? position.getX() : position.getY();
+        }
+
+        int along(Position position) {
+            return this == COLUMNS ? position.getY() : position.getX();
+        }
+
+        int acrossMin(Grid grid) {
+            return this == COLUMNS ? grid.getXMin() : grid.getYMin();
+        }
+
+        int acrossMax(Grid grid) {
+            return this == COLUMNS ? grid.getXMax() : grid.getYMax();
+        }
+
+        int alongMin(Grid grid) {
+            return this == COLUMNS ? grid.getYMin() : grid.getXMin();
+        }
+
+        int alongMax(Grid grid) {
+            return this == COLUMNS ? grid.getYMax() : grid.getXMax();
+        }
+    }
+
+    /**
+     * Rectangle [acrossMin, acrossMax] x [alongMin, alongMax] mowed by a single mower.
+     */
+    static final class Strip {
+
+        final Axis axis;
+        final int acrossMin;
+        final int acrossMax;
+        final int alongMin;
+        final int alongMax;
+        final InstructionProgram.Builder builder = InstructionProgram.builder();
+        Orientation orientation;
+
+        Strip(Axis axis, int acrossMin, int acrossMax, int alongMin, int alongMax) {
+            this.axis = axis;
+            this.acrossMin = acrossMin;
+            this.acrossMax = acrossMax;
+            this.alongMin = alongMin;
+            this.alongMax = alongMax;
+        }
+
+        /**
+         * Drives to the nearest corner, then sweeps the strip lane after lane, away from that corner.
+         */
+        InstructionProgram program(Position start) {
+            int across = axis.across(start);
+            int along = axis.along(start);
+            boolean fromAcrossMin = across - (long) acrossMin <= acrossMax - (long) across;
+            boolean fromAlongMin = along - (long) alongMin <= alongMax - (long) along;
+            orientation = start.getOrientation();
+
+            if (fromAcrossMin) advance(axis.acrossBackward, across - (long) acrossMin);
+            else advance(axis.acrossForward, acrossMax - (long) across);
+            if (fromAlongMin) advance(axis.alongBackward, along - (long) alongMin);
+            else advance(axis.alongForward, alongMax - (long) along);
+
+            Orientation lane = fromAlongMin ? axis.alongForward : axis.alongBackward;
+            Orientation next = fromAcrossMin ? axis.acrossForward : axis.acrossBackward;
+            long laneLength = (long) alongMax - alongMin;
+            for (long remaining = (long) acrossMax - acrossMin; ; remaining--) {
+                advance(lane, laneLength);
+                if (remaining == 0) break;
+                advance(next, 1);
+                lane = lane == axis.alongForward ? axis.alongBackward : axis.alongForward;
+            }
+            return builder.build();
+        }
+
+        private void advance(Orientation direction, long steps) {
+            if (steps == 0) return;
+            face(direction);
+            for (long step = 0; step < steps; step++) {
+                builder.append(Instruction.A);
+            }
+        }
+
+        private void face(Orientation direction) {
+            if (orientation == direction) return;
+            if (orientation.getRightOrientation() == direction) {
+                builder.append(Instruction.D);
+            } else if (orientation.getLeftOrientation() == direction) {
+                builder.append(Instruction.G);
+            } else {
+                builder.append(Instruction.D).append(Instruction.D);
+            }
+            orientation = direction;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.xebia.mower.coverage;
+
+import lombok.Data;
+
+/**
+ * Connected set of unmowed cells (through their edges), with its bounding box.
+ */
+@Data
+public final class UnmowedRegion {
+
+    private final int xMin;
+    private final int yMin;
+    private final int xMax;
+    private final int yMax;
+    private final long cellCount;
+}
@@ -0,0 +1,10 @@
+package com.xebia.mower.engine;
+
+import lombok.Data;
+
+@Data
+public final class BatchStatistics {
+
+    private final long mowerCount;
+    private final long instructionCount;
+}
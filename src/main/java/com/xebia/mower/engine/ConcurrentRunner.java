@@ -0,0 +1,200 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.mediator.INonBlockingMediator;
+import com.xebia.mower.mediator.MoveResult;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+
+/**
+ * Runs the mower programs concurrently on a bounded work-stealing {@link ForkJoinPool} in async (FIFO) mode, one task
+ * per mower, whatever the number of mowers.
+ *
+ * Like in {@link com.xebia.mower.MowItNowConcurrentMain}, the instructions of a mower are sent in order by a single task,
+ * but a blocked mower never waits on a condition : its task is parked with its program cursor, and released back to
+ * the pool as soon as another mower made progress (or when no other task is running anymore). A blocked instruction
+ * is skipped after maxRequeues attempts, like after the mediator waits.
+ *
+ * Mowers are all registered in the given order before any program starts, so that a mower cannot drive through
+ * the cell of a mower whose task did not start yet. As nobody moves during registrations, a mower whose cell is
+ * already occupied is not registered at once.
+ */
+@Slf4j
+public class ConcurrentRunner {
+
+    public static final int DEFAULT_MAX_REQUEUES = 64;
+
+    final INonBlockingMediator mediator;
+    final int parallelism;
+    final int maxRequeues;
+
+    public ConcurrentRunner(INonBlockingMediator mediator) {
+        this(mediator, Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_REQUEUES);
+    }
+
+    public ConcurrentRunner(INonBlockingMediator mediator, int parallelism, int maxRequeues) {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism should be positive.");
+        if (maxRequeues < 0) throw new IllegalArgumentException("maxRequeues should not be negative.");
+
+        this.mediator = mediator;
+        this.parallelism = parallelism;
+        this.maxRequeues = maxRequeues;
+    }
+
+    /**
+     * Registers and moves every mower with its program, and returns the final positions in the mowers order.
+     *
+     * @throws IllegalArgumentException when a mower position is invalid
+     */
+    public List<Position> run(List<Mower> mowers, List<InstructionProgram> programs) throws InterruptedException {
+        if (mowers.size() != programs.size()) throw new IllegalArgumentException("Each mower should have a program.");
+
+        for (Mower mower : mowers) {
+            if (!mediator.tryRegister(mower)) log.warn("Collision when register for {}. We do not register.", mower);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism, defaultForkJoinWorkerThreadFactory, null, true);
+        Run run = new Run(pool, mowers.size());
+        try {
+            List<MowerTask> tasks = new ArrayList<>(mowers.size());
+            for (int i = 0; i < mowers.size(); i++) {
+                tasks.add(new MowerTask(run, mowers.get(i), programs.get(i)));
+            }
+            run.start(tasks);
+            run.done.await();
+        } finally {
+            pool.shutdown();
+        }
+
+        Throwable failure = run.failure.get();
+        if (failure instanceof Error) throw (Error) failure;
+        if (failure != null) throw (RuntimeException) failure;
+
+        List<Position> positions = new ArrayList<>(mowers.size());
+        for (Mower mower : mowers) {
+            positions.add(mower.getCurrentPosition());
+        }
+        return positions;
+    }
+
+    /**
+     * State shared by the tasks of a run : a task is active from its submission to its completion or parking. A task
+     * failing with any exception or error completes too, so that the run ends and rethrows the first failure.
+     */
+    static final class Run {
+
+        final ForkJoinPool pool;
+        final CountDownLatch done;
+        final AtomicInteger active = new AtomicInteger();
+        final Queue<MowerTask> parked = new ConcurrentLinkedQueue<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Run(ForkJoinPool pool, int taskCount) {
+            this.pool = pool;
+            this.done = new CountDownLatch(taskCount);
+        }
+
+        /**
+         * All the tasks are active before the first one runs, otherwise a task parked before the others are submitted
+         * would be released at once, as the last active one.
+         */
+        void start(List<MowerTask> tasks) {
+            active.addAndGet(tasks.size());
+            for (MowerTask task : tasks) {
+                pool.execute(task);
+            }
+        }
+
+        void submit(MowerTask task) {
+            active.incrementAndGet();
+            pool.execute(task);
+        }
+
+        void park(MowerTask task) {
+            parked.add(task);
+            deactivate();
+        }
+
+        void complete() {
+            done.countDown();
+            deactivate();
+        }
+
+        /**
+         * The last active task releases the parked ones, otherwise nobody would : they are blocked by mowers which
+         * are parked themselves or done.
+         */
+        void deactivate() {
+            if (active.decrementAndGet() == 0) releaseParked();
+        }
+
+        void releaseParked() {
+            for (MowerTask task = parked.poll(); task != null; task = parked.poll()) {
+                submit(task);
+            }
+        }
+    }
+
+    final class MowerTask implements Runnable {
+
+        final Run run;
+        final Mower mower;
+        final InstructionProgram program;
+        int cursor;
+        int requeues;
+
+        MowerTask(Run run, Mower mower, InstructionProgram program) {
+            this.run = run;
+            this.mower = mower;
+            this.program = program;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (; cursor < program.length(); cursor++) {
+                    Instruction instruction = program.get(cursor);
+                    if (instruction != Instruction.A) {
+                        mediator.sendPackedInstruction(instruction, mower);
+                    } else if (!move()) {
+                        return;
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                run.failure.compareAndSet(null, e);
+            }
+            run.complete();
+        }
+
+        /**
+         * @return false when the task is parked
+         */
+        boolean move() {
+            MoveResult result = mediator.tryMove(mower);
+            if (result == MoveResult.BLOCKED) {
+                if (requeues++ < maxRequeues) {
+                    run.park(this);
+                    return false;
+                }
+                log.warn("Requeued {} times. We skip the instruction.", requeues);
+            } else if (result == MoveResult.MOVED && !run.parked.isEmpty()) {
+                run.releaseParked();
+            }
+            requeues = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.CellKey;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.occupancy.LongIntHashMap;
+
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Interaction graph of a mission, computed before running it : each mower {@link Trajectory} is simulated in isolation,
+ * as if the mower was alone on the grid, and two mowers interact when their visited cells (initial cell included) overlap.
+ * Interacting mowers are grouped with a union-find, a group holding the mowers which may block each other.
+ *
+ * A mower alone in its group is independent : no other mower ever enters one of its cells, so it is never blocked, and
+ * its final position is the one of its isolated trajectory, whatever the timing of the other mowers. This only holds
+ * as long as the mowers of the other groups keep to their own trajectories : a mower skipping a blocked move leaves
+ * its trajectory, see {@link #isIndependentCell(long)}.
+ *
+ * Time windows are not taken into account : in concurrent mode, nothing bounds when a mower reaches a cell.
+ */
+public final class ConflictAnalysis {
+
+    private final int[] groups;
+    private final int[] groupSizes;
+    private final long[] finalPackedPositions;
+    private final LongIntHashMap cellOwners;
+    private final int independentCount;
+    private final int conflictGroupCount;
+
+    private ConflictAnalysis(int[] groups, int[] groupSizes, long[] finalPackedPositions, LongIntHashMap cellOwners) {
+        this.groups = groups;
+        this.groupSizes = groupSizes;
+        this.finalPackedPositions = finalPackedPositions;
+        this.cellOwners = cellOwners;
+        int independents = 0;
+        int conflictGroups = 0;
+        for (int mower = 0; mower < groups.length; mower++) {
+            if (groups[mower] != mower) continue;
+            if (groupSizes[mower] == 1) independents++;
+            else conflictGroups++;
+        }
+        this.independentCount = independents;
+        this.conflictGroupCount = conflictGroups;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a mower initial position is invalid
+     */
+    public static ConflictAnalysis analyze(Grid grid, long[] initialPackedPositions, List<InstructionProgram> programs) {
+        if (initialPackedPositions.length != programs.size()) throw new IllegalArgumentException("Each mower should have a program.");
+
+        int mowerCount = initialPackedPositions.length;
+        int[] parents = new int[mowerCount];
+        int[] sizes = new int[mowerCount];
+        long[] finalPackedPositions = new long[mowerCount];
+        LongIntHashMap cellOwners = new LongIntHashMap(-1);
+
+        for (int mower = 0; mower < mowerCount; mower++) {
+            long position = initialPackedPositions[mower];
+            if (!grid.isPositionValid(position))
+                throw new IllegalArgumentException(format("Mower %s has invalid position.", mower + 1));
+            parents[mower] = mower;
+            sizes[mower] = 1;
+            visit(cellOwners, parents, sizes, position, mower);
+
+            Trajectory trajectory = Trajectory.simulate(grid, position, programs.get(mower), true);
+            for (int i = 0; i < trajectory.getPathLength(); i++) {
+                visit(cellOwners, parents, sizes, trajectory.getPathPosition(i), mower);
+            }
+            finalPackedPositions[mower] = trajectory.getFinalPackedPosition();
+        }
+
+        for (int mower = 0; mower < mowerCount; mower++) {
+            parents[mower] = find(parents, mower);
+        }
+        return new ConflictAnalysis(parents, sizes, finalPackedPositions, cellOwners);
+    }
+
+    private static void visit(LongIntHashMap cellOwners, int[] parents, int[] sizes, long position, int mower) {
+        int owner = cellOwners.putIfAbsent(CellKey.ofPacked(position), mower);
+        if (owner >= 0 && owner != mower) union(parents, sizes, owner, mower);
+    }
+
+    private static int find(int[] parents, int mower) {
+        while (parents[mower] != mower) {
+            parents[mower] = parents[parents[mower]];
+            mower = parents[mower];
+        }
+        return mower;
+    }
+
+    private static void union(int[] parents, int[] sizes, int mower1, int mower2) {
+        int root1 = find(parents, mower1);
+        int root2 = find(parents, mower2);
+        if (root1 == root2) return;
+        if (sizes[root1] < sizes[root2]) {
+            int root = root1;
+            root1 = root2;
+            root2 = root;
+        }
+        parents[root2] = root1;
+        sizes[root1] += sizes[root2];
+    }
+
+    public int getMowerCount() {
+        return groups.length;
+    }
+
+    /**
+     * @return the index of the representative mower of the group of this mower
+     */
+    public int groupOf(int mower) {
+        return groups[mower];
+    }
+
+    public boolean isIndependent(int mower) {
+        return groupSizes[groups[mower]] == 1;
+    }
+
+    /**
+     * @return the final position of the isolated trajectory, which is the actual one for an independent mower
+     */
+    public long getFinalPackedPosition(int mower) {
+        return finalPackedPositions[mower];
+    }
+
+    /**
+     * @return true when an independent mower visits this cell : a mower of a conflict group entering it left its
+     * own trajectory, and the analysis no longer holds
+     */
+    public boolean isIndependentCell(long packedPosition) {
+        int owner = cellOwners.get(CellKey.ofPacked(packedPosition));
+        return owner >= 0 && isIndependent(owner);
+    }
+
+    public int getIndependentCount() {
+        return independentCount;
+    }
+
+    /**
+     * @return the number of groups of at least two interacting mowers
+     */
+    public int getConflictGroupCount() {
+        return conflictGroupCount;
+    }
+}
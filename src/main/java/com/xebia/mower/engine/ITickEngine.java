@@ -0,0 +1,47 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.PackedPosition;
+import com.xebia.mower.model.Position;
+
+/**
+ * Discrete-time simulation : mowers advance in lockstep ticks, at most one instruction per mower per tick, and the
+ * conflicts of a tick are resolved by mower priority, the first added mower having the highest priority.
+ */
+public interface ITickEngine {
+
+    /**
+     * Adds a mower with a lower priority than all the mowers already added.
+     *
+     * @return the index of the mower
+     * @throws IllegalArgumentException when the position is invalid or already occupied
+     */
+    int addMower(long initialPackedPosition, InstructionProgram program);
+
+    /**
+     * Executes one instruction of each active mower.
+     *
+     * @return true when some mowers still have instructions to execute
+     */
+    boolean tick();
+
+    /**
+     * Runs ticks until every program is over.
+     *
+     * @return the number of ticks run
+     */
+    default long run() {
+        while (tick()) ;
+        return getTickCount();
+    }
+
+    int getMowerCount();
+
+    long getTickCount();
+
+    long getPackedPosition(int mower);
+
+    default Position getPosition(int mower) {
+        return PackedPosition.toPosition(getPackedPosition(mower));
+    }
+}
@@ -0,0 +1,141 @@
+package com.xebia.mower.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Runs many independent lawns, one mission file each, on a bounded pool of workers. Every lawn gets its own
+ * {@link SequentialBatchEngine}, and so its own grid and occupancy : lawns share nothing but the pool.
+ *
+ * The combined output lists the lawns in input order, each one as a "# file" line followed by the final positions of
+ * its mowers, or by an "ERROR message" line when its mission is invalid, which does not stop the other lawns.
+ *
+ * A {@link TrajectoryCache} may be shared by all the lawns, standard patterns being run on many lawns of the same size.
+ *
+ * Outputs are written in input order, so a lawn waits in memory until the lawns before it are written. At most
+ * {@link #LAWNS_IN_FLIGHT_PER_THREAD} lawns per thread are submitted ahead of the next one to write : a slow lawn
+ * stalls the submissions instead of piling up the outputs of all the lawns after it.
+ */
+@Slf4j
+public class MultiLawnRunner {
+
+    public static final int LAWNS_IN_FLIGHT_PER_THREAD = 4;
+
+    private final int threads;
+    private final boolean tracing;
+    private final TrajectoryCache cache;
+
+    public MultiLawnRunner() {
+        this(Runtime.getRuntime().availableProcessors(), false);
+    }
+
+    public MultiLawnRunner(int threads, boolean tracing) {
+        this(threads, tracing, null);
+    }
+
+    /**
+     * @param cache may be null, not to cache any trajectory
+     */
+    public MultiLawnRunner(int threads, boolean tracing, TrajectoryCache cache) {
+        if (threads <= 0) throw new IllegalArgumentException("threads should be positive.");
+
+        this.threads = threads;
+        this.tracing = tracing;
+        this.cache = cache;
+    }
+
+    /**
+     * @param input a directory, whose regular files are run in name order, or a manifest listing one mission file per
+     *              line, relative to the manifest directory, blank lines and lines starting with '#' being ignored
+     */
+    public MultiLawnStatistics run(Path input, Writer output) throws IOException, InterruptedException {
+        return run(Files.isDirectory(input) ? listDirectory(input) : readManifest(input), output);
+    }
+
+    public MultiLawnStatistics run(List<Path> missions, Writer output) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        long failedLawnCount = 0;
+        long mowerCount = 0;
+        long instructionCount = 0;
+        try {
+            int lawnsInFlight = threads * LAWNS_IN_FLIGHT_PER_THREAD;
+            Deque<Future<BatchStatistics>> lawns = new ArrayDeque<>(lawnsInFlight);
+            Deque<StringWriter> outputs = new ArrayDeque<>(lawnsInFlight);
+            int submitted = 0;
+            for (int i = 0; i < missions.size(); i++) {
+                for (; submitted < missions.size() && submitted < i + lawnsInFlight; submitted++) {
+                    Path mission = missions.get(submitted);
+                    StringWriter lawnOutput = new StringWriter();
+                    outputs.add(lawnOutput);
+                    lawns.add(executorService.submit(() -> new SequentialBatchEngine(tracing, cache).run(mission, lawnOutput)));
+                }
+
+                output.write("# " + missions.get(i) + "\n");
+                StringWriter lawnOutput = outputs.poll();
+                try {
+                    BatchStatistics statistics = lawns.poll().get();
+                    mowerCount += statistics.getMowerCount();
+                    instructionCount += statistics.getInstructionCount();
+                    output.write(lawnOutput.toString());
+                } catch (ExecutionException e) {
+                    log.warn("Lawn {} failed.", missions.get(i), e.getCause());
+                    failedLawnCount++;
+                    output.write(errorLine(e.getCause()));
+                }
+            }
+            output.flush();
+        } finally {
+            executorService.shutdownNow();
+        }
+        return new MultiLawnStatistics(missions.size(), failedLawnCount, mowerCount, instructionCount, System.nanoTime() - start);
+    }
+
+    /**
+     * @return a single "ERROR message" line, the exception class standing for a missing message
+     */
+    static String errorLine(Throwable error) {
+        String message = error.getMessage();
+        if (message == null || message.trim().isEmpty()) message = error.getClass().getName();
+        return "ERROR " + message.trim().replaceAll("\\s*[\\r\\n]+\\s*", " ") + "\n";
+    }
+
+    static List<Path> listDirectory(Path directory) throws IOException {
+        List<Path> missions = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            files.forEach(missions::add);
+        }
+        Collections.sort(missions);
+        return missions;
+    }
+
+    static List<Path> readManifest(Path manifest) throws IOException {
+        Path directory = manifest.toAbsolutePath().getParent();
+        List<Path> missions = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, US_ASCII)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) missions.add(directory.resolve(line));
+            }
+        }
+        return missions;
+    }
+}
@@ -0,0 +1,27 @@
+package com.xebia.mower.engine;
+
+import lombok.Data;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+@Data
+public final class MultiLawnStatistics {
+
+    private final long lawnCount;
+    private final long failedLawnCount;
+    private final long mowerCount;
+    private final long instructionCount;
+    private final long elapsedNanos;
+
+    public double getLawnsPerSecond() {
+        return perSecond(lawnCount);
+    }
+
+    public double getInstructionsPerSecond() {
+        return perSecond(instructionCount);
+    }
+
+    private double perSecond(long count) {
+        return elapsedNanos == 0 ? 0 : count * (double) SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
@@ -0,0 +1,325 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.fleet.FleetStore;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.occupancy.IOccupancy;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.xebia.mower.engine.TickEngine.DEFAULT_MAX_WAIT_TICKS;
+import static com.xebia.mower.model.PackedPosition.*;
+import static java.lang.String.format;
+
+/**
+ * Multi-core {@link ITickEngine} : the grid is split into rectangular tiles, each one owning the occupancy of its cells
+ * and the list of the mowers standing on it, and each phase of a tick runs one {@link ForkJoinPool} task per tile.
+ *
+ * A tick is split in three phases, separated by barriers, so that a tile only writes its own occupancy :
+ * <ol>
+ *     <li>propose : each tile turns its mowers, and proposes the moves whose target cell is free at the beginning of
+ *     the tick to the tile owning the target cell</li>
+ *     <li>resolve : each tile grants the moves proposed to it in mower priority order, a cell being granted once</li>
+ *     <li>release : each tile releases the source cells of its moved mowers, and hands the mowers which crossed a tile
+ *     border over to their new tile</li>
+ * </ol>
+ *
+ * Tiles are at least two cells wide and high, the last tile of a row or a column taking the remaining cells.
+ * A move only crosses into one of the four neighbour tiles, so only boundary-crossing mowers are exchanged, between
+ * neighbour tiles. Outcomes are the ones of {@link TickEngine}, whatever the tiles and the parallelism.
+ *
+ * Mower positions and cursors are kept in a single {@link FleetStore} : during a phase, a mower is only written by the
+ * task of one tile.
+ */
+public class PartitionedTickEngine implements ITickEngine {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    final Grid grid;
+    final int maxWaitTicks;
+    final ForkJoinPool pool;
+    final long tileWidth;
+    final long tileHeight;
+    final int tilesX;
+    final int tilesY;
+    final Tile[] tiles;
+    final FleetStore fleet = new FleetStore();
+    long[] sources = new long[fleet.capacity()];
+    InstructionProgram[] programs = new InstructionProgram[fleet.capacity()];
+    int[] waits = new int[fleet.capacity()];
+    boolean[] moved = new boolean[fleet.capacity()];
+    int activeCount;
+    long tickCount;
+
+    /**
+     * One tile per available processor on the common pool.
+     */
+    public PartitionedTickEngine(Grid grid) {
+        this(grid, Runtime.getRuntime().availableProcessors(), 1, DEFAULT_MAX_WAIT_TICKS, ForkJoinPool.commonPool());
+    }
+
+    public PartitionedTickEngine(Grid grid, int tilesX, int tilesY, int maxWaitTicks, ForkJoinPool pool) {
+        if (tilesX <= 0 || tilesY <= 0) throw new IllegalArgumentException("Tile counts should be positive.");
+        if (maxWaitTicks < 0) throw new IllegalArgumentException("maxWaitTicks should not be negative.");
+
+        long width = (long) grid.getXMax() - grid.getXMin() + 1;
+        long height = (long) grid.getYMax() - grid.getYMin() + 1;
+        this.grid = grid;
+        this.maxWaitTicks = maxWaitTicks;
+        this.pool = pool;
+        this.tilesX = (int) Math.max(1, Math.min(tilesX, width / 2));
+        this.tilesY = (int) Math.max(1, Math.min(tilesY, height / 2));
+        this.tileWidth = width / this.tilesX;
+        this.tileHeight = height / this.tilesY;
+        this.tiles = new Tile[this.tilesX * this.tilesY];
+        for (int ty = 0; ty < this.tilesY; ty++) {
+            for (int tx = 0; tx < this.tilesX; tx++) {
+                int xMin = (int) (grid.getXMin() + tx * tileWidth);
+                int yMin = (int) (grid.getYMin() + ty * tileHeight);
+                int xMax = tx == this.tilesX - 1 ? grid.getXMax() : (int) (xMin + tileWidth - 1);
+                int yMax = ty == this.tilesY - 1 ? grid.getYMax() : (int) (yMin + tileHeight - 1);
+                tiles[ty * this.tilesX + tx] = new Tile(ty * this.tilesX + tx, new Grid(xMin, yMin, xMax, yMax));
+            }
+        }
+        for (Tile tile : tiles) {
+            tile.neighbours = neighboursOf(tile.index);
+        }
+    }
+
+    @Override
+    public int addMower(long initialPackedPosition, InstructionProgram program) {
+        if (!grid.isPositionValid(initialPackedPosition))
+            throw new IllegalArgumentException(format("Mower %s has invalid position.", fleet.size() + 1));
+        Tile tile = tileOf(initialPackedPosition);
+        if (!tile.occupancy.occupy(getX(initialPackedPosition), getY(initialPackedPosition)))
+            throw new IllegalArgumentException(format("Mower %s position is already occupied.", fleet.size() + 1));
+
+        int index = fleet.add(initialPackedPosition);
+        if (fleet.capacity() > programs.length) grow();
+        programs[index] = program;
+        if (program.length() > 0) {
+            tile.mowers = add(tile.mowers, tile.mowerCount++, index);
+            activeCount++;
+        }
+        return index;
+    }
+
+    @Override
+    public boolean tick() {
+        if (activeCount == 0) return false;
+
+        pool.invoke(new PhaseAction(Phase.PROPOSE, 0, tiles.length));
+        pool.invoke(new PhaseAction(Phase.RESOLVE, 0, tiles.length));
+        pool.invoke(new PhaseAction(Phase.RELEASE, 0, tiles.length));
+
+        int stillActive = 0;
+        for (Tile tile : tiles) {
+            stillActive += tile.mowerCount + tile.emigrantCount;
+        }
+        activeCount = stillActive;
+        tickCount++;
+        return activeCount > 0;
+    }
+
+    /**
+     * Takes the mowers handed over by the neighbour tiles, turns the mowers, and proposes their moves.
+     */
+    void propose(Tile tile) {
+        for (Tile neighbour : tile.neighbours) {
+            for (int i = 0; i < neighbour.emigrantCount; i++) {
+                int mower = neighbour.emigrants[i];
+                if (tileOf(fleet.getPackedPosition(mower)) == tile) tile.mowers = add(tile.mowers, tile.mowerCount++, mower);
+            }
+        }
+
+        tile.proposalCount = 0;
+        for (int i = 0; i < tile.mowerCount; i++) {
+            int mower = tile.mowers[i];
+            long position = fleet.getPackedPosition(mower);
+            Instruction instruction = programs[mower].get(fleet.getCursor(mower));
+            switch (instruction) {
+                case D: fleet.setPackedPosition(mower, turnRight(position)); fleet.advanceCursor(mower); break;
+                case G: fleet.setPackedPosition(mower, turnLeft(position)); fleet.advanceCursor(mower); break;
+                case A:
+                    long target = forward(position);
+                    if (!grid.isPositionValid(target)) {
+                        fleet.advanceCursor(mower);
+                    } else if (tileOf(target).occupancy.isOccupied(getX(target), getY(target))) {
+                        blocked(mower);
+                    } else {
+                        sources[mower] = position;
+                        tile.proposals = add(tile.proposals, tile.proposalCount++, mower);
+                    }
+                    break;
+                default: throw new IllegalStateException("Unknown instruction : " + instruction);
+            }
+        }
+    }
+
+    /**
+     * Grants the moves proposed to this tile, by the tile itself or its neighbours, in mower priority order.
+     */
+    void resolve(Tile tile) {
+        int count = 0;
+        count = collect(tile, tile, count);
+        for (Tile neighbour : tile.neighbours) {
+            count = collect(tile, neighbour, count);
+        }
+        Arrays.sort(tile.inbox, 0, count);
+
+        for (int i = 0; i < count; i++) {
+            int mower = tile.inbox[i];
+            long target = forward(sources[mower]);
+            if (tile.occupancy.occupy(getX(target), getY(target))) {
+                fleet.setPackedPosition(mower, target);
+                moved[mower] = true;
+                waits[mower] = 0;
+                fleet.advanceCursor(mower);
+            } else {
+                blocked(mower);
+            }
+        }
+    }
+
+    private int collect(Tile tile, Tile proposer, int count) {
+        for (int i = 0; i < proposer.proposalCount; i++) {
+            int mower = proposer.proposals[i];
+            if (tileOf(forward(sources[mower])) == tile) tile.inbox = add(tile.inbox, count++, mower);
+        }
+        return count;
+    }
+
+    /**
+     * Releases the source cells of the moved mowers, and removes the finished mowers and the ones which left the tile.
+     */
+    void release(Tile tile) {
+        tile.emigrantCount = 0;
+        int kept = 0;
+        for (int i = 0; i < tile.mowerCount; i++) {
+            int mower = tile.mowers[i];
+            if (moved[mower]) {
+                moved[mower] = false;
+                tile.occupancy.release(getX(sources[mower]), getY(sources[mower]));
+            }
+            if (fleet.getCursor(mower) == programs[mower].length()) continue;
+
+            if (tileOf(fleet.getPackedPosition(mower)) == tile) tile.mowers[kept++] = mower;
+            else tile.emigrants = add(tile.emigrants, tile.emigrantCount++, mower);
+        }
+        tile.mowerCount = kept;
+    }
+
+    private void blocked(int mower) {
+        if (++waits[mower] > maxWaitTicks) {
+            waits[mower] = 0;
+            fleet.advanceCursor(mower);
+        }
+    }
+
+    Tile tileOf(long position) {
+        int tx = (int) Math.min(tilesX - 1, (getX(position) - (long) grid.getXMin()) / tileWidth);
+        int ty = (int) Math.min(tilesY - 1, (getY(position) - (long) grid.getYMin()) / tileHeight);
+        return tiles[ty * tilesX + tx];
+    }
+
+    private Tile[] neighboursOf(int index) {
+        int tx = index % tilesX;
+        int ty = index / tilesX;
+        Tile[] neighbours = new Tile[4];
+        int count = 0;
+        if (tx > 0) neighbours[count++] = tiles[index - 1];
+        if (tx < tilesX - 1) neighbours[count++] = tiles[index + 1];
+        if (ty > 0) neighbours[count++] = tiles[index - tilesX];
+        if (ty < tilesY - 1) neighbours[count++] = tiles[index + tilesX];
+        return Arrays.copyOf(neighbours, count);
+    }
+
+    private static int[] add(int[] array, int size, int value) {
+        int[] result = size == array.length ? Arrays.copyOf(array, Math.max(INITIAL_CAPACITY, size * 2)) : array;
+        result[size] = value;
+        return result;
+    }
+
+    private void grow() {
+        int capacity = fleet.capacity();
+        sources = Arrays.copyOf(sources, capacity);
+        programs = Arrays.copyOf(programs, capacity);
+        waits = Arrays.copyOf(waits, capacity);
+        moved = Arrays.copyOf(moved, capacity);
+    }
+
+    @Override
+    public int getMowerCount() {
+        return fleet.size();
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    @Override
+    public long getPackedPosition(int mower) {
+        return fleet.getPackedPosition(mower);
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    static final class Tile {
+
+        final int index;
+        final IOccupancy occupancy;
+        Tile[] neighbours;
+        int[] mowers = new int[0];
+        int mowerCount;
+        int[] proposals = new int[0];
+        int proposalCount;
+        int[] inbox = new int[0];
+        int[] emigrants = new int[0];
+        int emigrantCount;
+
+        Tile(int index, Grid bounds) {
+            this.index = index;
+            this.occupancy = IOccupancy.forGrid(bounds);
+        }
+    }
+
+    enum Phase { PROPOSE, RESOLVE, RELEASE }
+
+    /**
+     * Runs a phase on a range of tiles, splitting the range until a single tile is left.
+     */
+    final class PhaseAction extends RecursiveAction {
+
+        final Phase phase;
+        final int from;
+        final int to;
+
+        PhaseAction(Phase phase, int from, int to) {
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PhaseAction(phase, from, middle), new PhaseAction(phase, middle, to));
+                return;
+            }
+            Tile tile = tiles[from];
+            switch (phase) {
+                case PROPOSE: propose(tile); break;
+                case RESOLVE: resolve(tile); break;
+                case RELEASE: release(tile); break;
+                default: throw new IllegalStateException("Unknown phase : " + phase);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.mediator.DefaultMediator;
+import com.xebia.mower.mediator.INonBlockingMediator;
+import com.xebia.mower.mediator.MoveResult;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.xebia.mower.model.PackedPosition.forward;
+
+/**
+ * Runs a mission like {@link ConcurrentRunner}, but only the mowers which may interact go through the mediator :
+ * a {@link ConflictAnalysis} pre-pass finds the independent mowers, which are moved to their isolated final position
+ * without any lock, the conflict groups being run concurrently on the mediator.
+ *
+ * A mower of a conflict group which skips a blocked move leaves its predicted trajectory, and may then enter the cell
+ * of an independent mower, which the mediator does not know about. When it tries to, the run is abandoned, the mowers
+ * are put back on their initial positions, and the whole mission is run again on a new mediator.
+ */
+@Slf4j
+public class PredictiveRunner {
+
+    final Grid grid;
+    final Supplier<? extends INonBlockingMediator> mediatorFactory;
+    final int parallelism;
+    final int maxRequeues;
+    boolean fellBack;
+
+    public PredictiveRunner(Grid grid) {
+        this(grid, () -> new DefaultMediator(grid), Runtime.getRuntime().availableProcessors(), ConcurrentRunner.DEFAULT_MAX_REQUEUES);
+    }
+
+    /**
+     * @param mediatorFactory creates an empty mediator for the grid, a second one being created on fallback
+     */
+    public PredictiveRunner(Grid grid, Supplier<? extends INonBlockingMediator> mediatorFactory, int parallelism, int maxRequeues) {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism should be positive.");
+        if (maxRequeues < 0) throw new IllegalArgumentException("maxRequeues should not be negative.");
+
+        this.grid = grid;
+        this.mediatorFactory = mediatorFactory;
+        this.parallelism = parallelism;
+        this.maxRequeues = maxRequeues;
+    }
+
+    /**
+     * Moves every mower with its program, and returns the final positions in the mowers order.
+     *
+     * @throws IllegalArgumentException when a mower position is invalid
+     */
+    public List<Position> run(List<Mower> mowers, List<InstructionProgram> programs) throws InterruptedException {
+        if (mowers.size() != programs.size()) throw new IllegalArgumentException("Each mower should have a program.");
+
+        long[] initialPackedPositions = new long[mowers.size()];
+        for (int i = 0; i < mowers.size(); i++) {
+            initialPackedPositions[i] = mowers.get(i).getPackedPosition();
+        }
+        ConflictAnalysis analysis = ConflictAnalysis.analyze(grid, initialPackedPositions, programs);
+        log.info("{} independent mowers, {} conflict groups.", analysis.getIndependentCount(), analysis.getConflictGroupCount());
+
+        List<Mower> conflictMowers = new ArrayList<>();
+        List<InstructionProgram> conflictPrograms = new ArrayList<>();
+        for (int i = 0; i < mowers.size(); i++) {
+            if (!analysis.isIndependent(i)) {
+                conflictMowers.add(mowers.get(i));
+                conflictPrograms.add(programs.get(i));
+            }
+        }
+
+        fellBack = false;
+        try {
+            new ConcurrentRunner(new DivergenceGuard(mediatorFactory.get(), analysis), parallelism, maxRequeues)
+                    .run(conflictMowers, conflictPrograms);
+        } catch (DivergenceException e) {
+            log.info("{}. We run the whole mission on the mediator.", e.getMessage());
+            fellBack = true;
+            for (int i = 0; i < mowers.size(); i++) {
+                mowers.get(i).moveTo(initialPackedPositions[i]);
+            }
+            return new ConcurrentRunner(mediatorFactory.get(), parallelism, maxRequeues).run(mowers, programs);
+        }
+
+        List<Position> positions = new ArrayList<>(mowers.size());
+        for (int i = 0; i < mowers.size(); i++) {
+            Mower mower = mowers.get(i);
+            if (analysis.isIndependent(i)) mower.moveTo(analysis.getFinalPackedPosition(i));
+            positions.add(mower.getCurrentPosition());
+        }
+        return positions;
+    }
+
+    /**
+     * @return true when the last run left the predicted trajectories, and was run again on the mediator
+     */
+    public boolean hasFallenBack() {
+        return fellBack;
+    }
+
+    static final class DivergenceException extends RuntimeException {
+
+        DivergenceException(Mower mower) {
+            super("Mower " + mower.getId() + " left its predicted trajectory");
+        }
+    }
+
+    /**
+     * Stops the run of the conflict groups as soon as one of their mowers is about to enter the cell of an independent
+     * mower.
+     */
+    static final class DivergenceGuard implements INonBlockingMediator {
+
+        final INonBlockingMediator mediator;
+        final ConflictAnalysis analysis;
+
+        DivergenceGuard(INonBlockingMediator mediator, ConflictAnalysis analysis) {
+            this.mediator = mediator;
+            this.analysis = analysis;
+        }
+
+        @Override
+        public DivergenceGuard register(Mower mower) {
+            mediator.register(mower);
+            return this;
+        }
+
+        @Override
+        public boolean tryRegister(Mower mower) {
+            return mediator.tryRegister(mower);
+        }
+
+        @Override
+        public long sendPackedInstruction(Instruction instruction, Mower mower) {
+            if (instruction == Instruction.A) checkTarget(mower);
+            return mediator.sendPackedInstruction(instruction, mower);
+        }
+
+        @Override
+        public MoveResult tryMove(Mower mower) {
+            checkTarget(mower);
+            return mediator.tryMove(mower);
+        }
+
+        private void checkTarget(Mower mower) {
+            if (analysis.isIndependentCell(forward(mower.getPackedPosition()))) throw new DivergenceException(mower);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.PackedPosition;
+import com.xebia.mower.occupancy.IOccupancy;
+import com.xebia.mower.parser.IMissionHandler;
+import com.xebia.mower.parser.StreamingMissionParser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+import static com.xebia.mower.model.PackedPosition.*;
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Batch mode of the sequential specification : mowers are streamed from the mission file and each one runs its whole
+ * program before the next one is read, with the same outcome as {@link com.xebia.mower.MowItNowSequencialMain} on a
+ * {@link com.xebia.mower.mediator.DefaultMediator}, but on packed positions and an {@link IOccupancy} only.
+ *
+ * Nothing is logged nor formatted per step unless tracing is enabled : only the final positions are written, one line
+ * per mower ("1 3 N"), through a buffered writer.
+ *
+ * As mowers move one after the other, a blocked move is skipped at once instead of waiting for the blocking mower.
+ *
+ * With a {@link TrajectoryCache}, the program of a mower is buffered and its trajectory looked up in the cache : as
+ * the other mowers stand still, the cached trajectory is the actual one when the mower is alone on the grid, or when
+ * none of the cells of its path is occupied. Otherwise the program is run step by step. The cache is not used when
+ * tracing, which needs every step.
+ */
+@Slf4j
+public class SequentialBatchEngine {
+
+    private final StreamingMissionParser parser;
+    private final boolean tracing;
+    private final TrajectoryCache cache;
+
+    public SequentialBatchEngine() {
+        this(false);
+    }
+
+    public SequentialBatchEngine(boolean tracing) {
+        this(tracing, null);
+    }
+
+    /**
+     * @param cache may be null, not to cache any trajectory
+     */
+    public SequentialBatchEngine(boolean tracing, TrajectoryCache cache) {
+        this(new StreamingMissionParser(), tracing, cache);
+    }
+
+    SequentialBatchEngine(StreamingMissionParser parser, boolean tracing, TrajectoryCache cache) {
+        this.parser = parser;
+        this.tracing = tracing;
+        this.cache = tracing ? null : cache;
+    }
+
+    public BatchStatistics run(Path mission, Writer output) throws IOException {
+        try (FileChannel channel = FileChannel.open(mission, READ)) {
+            return run(channel, output);
+        }
+    }
+
+    public BatchStatistics run(ReadableByteChannel mission, Writer output) throws IOException {
+        Handler handler = new Handler(output);
+        try {
+            parser.parse(mission, handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return handler.finish();
+    }
+
+    final class Handler implements IMissionHandler {
+
+        final BufferedWriter output;
+        final char[] line = new char[32];
+        Grid grid;
+        IOccupancy occupancy;
+        long mowerCount;
+        long instructionCount;
+        long position;
+        boolean registered;
+        long registeredCount;
+        InstructionProgram.Builder program;
+
+        Handler(Writer output) {
+            this.output = output instanceof BufferedWriter ? (BufferedWriter) output : new BufferedWriter(output);
+        }
+
+        @Override
+        public void onGrid(Grid grid) {
+            this.grid = grid;
+            this.occupancy = IOccupancy.forGrid(grid);
+        }
+
+        @Override
+        public void onMower(long initialPackedPosition) {
+            mowerCount++;
+            if (!grid.isPositionValid(initialPackedPosition))
+                throw new IllegalArgumentException(format("Mower %s has invalid position.", mowerCount));
+
+            position = initialPackedPosition;
+            registered = occupancy.occupy(getX(position), getY(position));
+            if (registered) registeredCount++;
+            else log.warn("Collision when register for mower {}. We do not register.", mowerCount);
+            if (cache != null) program = InstructionProgram.builder();
+            if (tracing) trace();
+        }
+
+        @Override
+        public void onInstructions(byte[] instructions, int offset, int length) {
+            instructionCount += length;
+            if (program != null) {
+                program.append(instructions, offset, length);
+                return;
+            }
+            for (int i = offset; i < offset + length; i++) {
+                step(Instruction.of(instructions[i]));
+                if (tracing) trace();
+            }
+        }
+
+        void step(Instruction instruction) {
+            switch (instruction) {
+                case D: position = turnRight(position); break;
+                case G: position = turnLeft(position); break;
+                case A: move(); break;
+                default: throw new IllegalStateException("Unknown instruction : " + instruction);
+            }
+        }
+
+        void move() {
+            long next = forward(position);
+            int x = getX(next);
+            int y = getY(next);
+            if (!grid.isPositionValid(x, y) || occupancy.isOccupied(x, y)) return;
+
+            if (registered) {
+                occupancy.release(getX(position), getY(position));
+                occupancy.occupy(x, y);
+            }
+            position = next;
+        }
+
+        void run(InstructionProgram program) {
+            Trajectory trajectory = cache.get(grid, position, program);
+            if (!isFree(trajectory)) {
+                for (int i = 0; i < program.length(); i++) {
+                    step(program.get(i));
+                }
+                return;
+            }
+
+            long next = trajectory.getFinalPackedPosition();
+            if (registered) {
+                occupancy.release(getX(position), getY(position));
+                occupancy.occupy(getX(next), getY(next));
+            }
+            position = next;
+        }
+
+        /**
+         * @return true when no other mower stands on the trajectory path, the mower having left its own cell when
+         * it comes back to it
+         */
+        boolean isFree(Trajectory trajectory) {
+            if (registeredCount == (registered ? 1 : 0)) return true;
+            if (!trajectory.hasPath()) return false;
+
+            for (int i = 0; i < trajectory.getPathLength(); i++) {
+                long cell = trajectory.getPathPosition(i);
+                if (registered && isSame(cell, position)) continue;
+                if (occupancy.isOccupied(getX(cell), getY(cell))) return false;
+            }
+            return true;
+        }
+
+        void trace() {
+            if (log.isDebugEnabled()) log.debug("Mower {} : {}", mowerCount, toPosition(position));
+        }
+
+        @Override
+        public void onMowerEnd() {
+            if (program != null) {
+                run(program.build());
+                program = null;
+            }
+            try {
+                int length = appendInt(getX(position), 0);
+                line[length++] = ' ';
+                length = appendInt(getY(position), length);
+                line[length++] = ' ';
+                line[length++] = PackedPosition.getOrientation(position).name().charAt(0);
+                line[length++] = '\n';
+                output.write(line, 0, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int appendInt(int value, int offset) {
+            if (value < 0) {
+                line[offset++] = '-';
+            }
+            long remaining = Math.abs((long) value);
+            int end = offset;
+            do {
+                end++;
+                remaining /= 10;
+            } while (remaining > 0);
+
+            remaining = Math.abs((long) value);
+            for (int i = end - 1; i >= offset; i--) {
+                line[i] = (char) ('0' + remaining % 10);
+                remaining /= 10;
+            }
+            return end;
+        }
+
+        BatchStatistics finish() throws IOException {
+            output.flush();
+            return new BatchStatistics(mowerCount, instructionCount);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.fleet.FleetStore;
+import com.xebia.mower.journal.MoveJournal;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.occupancy.IOccupancy;
+
+import java.util.Arrays;
+
+import static com.xebia.mower.mediator.DefaultMediator.MAX_WAITING_TIMES;
+import static com.xebia.mower.model.PackedPosition.*;
+import static java.lang.String.format;
+
+/**
+ * Single-threaded {@link ITickEngine} : the outcome only depends on the mission, never on thread timing.
+ *
+ * Conflicts of a tick are resolved by mower priority, a mower added before another one having priority over it :
+ * <ul>
+ *     <li>a move is blocked when its target cell is occupied at the beginning of the tick, or already claimed during
+ *     the tick by a mower with a higher priority, so two mowers can neither swap nor enter the same cell</li>
+ *     <li>source cells are only released at the end of the tick, so a mower cannot follow another one in the same tick</li>
+ *     <li>a blocked mower retries its move on the next ticks, and skips it after maxWaitTicks blocked ticks</li>
+ * </ul>
+ *
+ * A tick runs in O(active mowers) : finished mowers are removed from the active list, and occupancy is only updated for
+ * the mowers which moved. Mower positions and cursors are kept in a {@link FleetStore}.
+ *
+ * When a {@link MoveJournal} is given, mowers are journaled with their index, their initial position at the current
+ * tick count, and each change with the number of the tick it happened in : replaying a journal up to a tick gives the
+ * fleet at the end of that tick.
+ */
+public class TickEngine implements ITickEngine {
+
+    public static final int DEFAULT_MAX_WAIT_TICKS = MAX_WAITING_TIMES;
+
+    final Grid grid;
+    final IOccupancy occupancy;
+    final int maxWaitTicks;
+    final MoveJournal journal;
+    final FleetStore fleet = new FleetStore();
+    InstructionProgram[] programs = new InstructionProgram[fleet.capacity()];
+    int[] waits = new int[fleet.capacity()];
+    int[] active = new int[fleet.capacity()];
+    int activeCount;
+    long[] sources = new long[fleet.capacity()];
+    long tickCount;
+
+    public TickEngine(Grid grid) {
+        this(grid, DEFAULT_MAX_WAIT_TICKS);
+    }
+
+    public TickEngine(Grid grid, int maxWaitTicks) {
+        this(grid, maxWaitTicks, null);
+    }
+
+    /**
+     * @param journal may be null, not to journal the moves
+     */
+    public TickEngine(Grid grid, int maxWaitTicks, MoveJournal journal) {
+        if (maxWaitTicks < 0) throw new IllegalArgumentException("maxWaitTicks should not be negative.");
+
+        this.grid = grid;
+        this.occupancy = IOccupancy.forGrid(grid);
+        this.maxWaitTicks = maxWaitTicks;
+        this.journal = journal;
+    }
+
+    @Override
+    public int addMower(long initialPackedPosition, InstructionProgram program) {
+        if (!grid.isPositionValid(initialPackedPosition))
+            throw new IllegalArgumentException(format("Mower %s has invalid position.", fleet.size() + 1));
+        if (!occupancy.occupy(getX(initialPackedPosition), getY(initialPackedPosition)))
+            throw new IllegalArgumentException(format("Mower %s position is already occupied.", fleet.size() + 1));
+
+        int index = fleet.add(initialPackedPosition);
+        if (fleet.capacity() > programs.length) grow();
+        programs[index] = program;
+        if (journal != null) journal.append(index, tickCount, initialPackedPosition);
+        if (program.length() > 0) active[activeCount++] = index;
+        return index;
+    }
+
+    @Override
+    public boolean tick() {
+        if (activeCount == 0) return false;
+
+        int movedCount = 0;
+        int stillActive = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int mower = active[i];
+            long position = fleet.getPackedPosition(mower);
+            Instruction instruction = programs[mower].get(fleet.getCursor(mower));
+            long newPosition = position;
+            switch (instruction) {
+                case D: fleet.setPackedPosition(mower, newPosition = turnRight(position)); fleet.advanceCursor(mower); break;
+                case G: fleet.setPackedPosition(mower, newPosition = turnLeft(position)); fleet.advanceCursor(mower); break;
+                case A:
+                    long target = forward(position);
+                    if (!grid.isPositionValid(target)) {
+                        fleet.advanceCursor(mower);
+                    } else if (occupancy.occupy(getX(target), getY(target))) {
+                        sources[movedCount++] = position;
+                        fleet.setPackedPosition(mower, newPosition = target);
+                        waits[mower] = 0;
+                        fleet.advanceCursor(mower);
+                    } else if (++waits[mower] > maxWaitTicks) {
+                        waits[mower] = 0;
+                        fleet.advanceCursor(mower);
+                    }
+                    break;
+                default: throw new IllegalStateException("Unknown instruction : " + instruction);
+            }
+            if (journal != null && newPosition != position) journal.append(mower, tickCount + 1, newPosition);
+            if (fleet.getCursor(mower) < programs[mower].length()) active[stillActive++] = mower;
+        }
+
+        for (int i = 0; i < movedCount; i++) {
+            occupancy.release(getX(sources[i]), getY(sources[i]));
+        }
+        activeCount = stillActive;
+        tickCount++;
+        return activeCount > 0;
+    }
+
+    @Override
+    public int getMowerCount() {
+        return fleet.size();
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    @Override
+    public long getPackedPosition(int mower) {
+        return fleet.getPackedPosition(mower);
+    }
+
+    private void grow() {
+        int capacity = fleet.capacity();
+        programs = Arrays.copyOf(programs, capacity);
+        waits = Arrays.copyOf(waits, capacity);
+        active = Arrays.copyOf(active, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+    }
+}
@@ -0,0 +1,67 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+import static com.xebia.mower.model.PackedPosition.*;
+
+/**
+ * Outcome of a program run by a mower alone on the grid : moves out of the grid are skipped, and nothing else can
+ * block the mower.
+ */
+public final class Trajectory {
+
+    @Getter private final long finalPackedPosition;
+    private final long[] path;
+
+    private Trajectory(long finalPackedPosition, long[] path) {
+        this.finalPackedPosition = finalPackedPosition;
+        this.path = path;
+    }
+
+    /**
+     * @param withPath whether to keep the positions entered by each move, in order
+     */
+    public static Trajectory simulate(Grid grid, long initialPackedPosition, InstructionProgram program, boolean withPath) {
+        long position = initialPackedPosition;
+        long[] path = withPath ? new long[16] : null;
+        int pathLength = 0;
+        for (int i = 0; i < program.length(); i++) {
+            Instruction instruction = program.get(i);
+            switch (instruction) {
+                case D: position = turnRight(position); break;
+                case G: position = turnLeft(position); break;
+                case A:
+                    long target = forward(position);
+                    if (!grid.isPositionValid(target)) break;
+                    position = target;
+                    if (withPath) {
+                        if (pathLength == path.length) path = Arrays.copyOf(path, pathLength * 2);
+                        path[pathLength++] = position;
+                    }
+                    break;
+                default: throw new IllegalStateException("Unknown instruction : " + instruction);
+            }
+        }
+        return new Trajectory(position, withPath ? Arrays.copyOf(path, pathLength) : null);
+    }
+
+    public boolean hasPath() {
+        return path != null;
+    }
+
+    public int getPathLength() {
+        return path.length;
+    }
+
+    /**
+     * @return the position entered by the move of this index
+     */
+    public long getPathPosition(int index) {
+        return path[index];
+    }
+}
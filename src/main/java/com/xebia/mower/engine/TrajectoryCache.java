@@ -0,0 +1,122 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.InstructionProgram;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of {@link Trajectory}s, keyed by grid, initial position and program, so that the standard
+ * patterns run again and again on lawns of the same size are only simulated once.
+ *
+ * A trajectory is the one of a mower alone on the grid : callers decide whether it applies, from the other mowers and
+ * the trajectory path when paths are recorded. The cache is thread-safe, so that lawns run concurrently can share it ;
+ * a missing trajectory is simulated outside of the lock.
+ */
+public class TrajectoryCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final int maxEntries;
+    private final boolean recordingPaths;
+    private final Map<Key, Trajectory> trajectories;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public TrajectoryCache() {
+        this(DEFAULT_MAX_ENTRIES, true);
+    }
+
+    /**
+     * @param recordingPaths whether trajectories keep their path, which costs 8 bytes per move of the program
+     */
+    public TrajectoryCache(int maxEntries, boolean recordingPaths) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries should be positive.");
+
+        this.maxEntries = maxEntries;
+        this.recordingPaths = recordingPaths;
+        this.trajectories = new LinkedHashMap<Key, Trajectory>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Trajectory> eldest) {
+                if (size() <= TrajectoryCache.this.maxEntries) return false;
+                evictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return the trajectory of the program from this position, simulated on a miss
+     */
+    public Trajectory get(Grid grid, long initialPackedPosition, InstructionProgram program) {
+        Key key = new Key(grid, initialPackedPosition, program);
+        synchronized (this) {
+            Trajectory trajectory = trajectories.get(key);
+            if (trajectory != null) {
+                hitCount++;
+                return trajectory;
+            }
+            missCount++;
+        }
+
+        Trajectory trajectory = Trajectory.simulate(grid, initialPackedPosition, program, recordingPaths);
+        synchronized (this) {
+            trajectories.put(key, trajectory);
+        }
+        return trajectory;
+    }
+
+    public boolean isRecordingPaths() {
+        return recordingPaths;
+    }
+
+    public synchronized TrajectoryCacheStatistics getStatistics() {
+        return new TrajectoryCacheStatistics(hitCount, missCount, evictionCount, trajectories.size());
+    }
+
+    public synchronized void clear() {
+        trajectories.clear();
+    }
+
+    /**
+     * Programs are compared word by word, so the key hash is computed once, from the grid bounds and its precomputed
+     * obstacles hash rather than from the obstacles themselves. The same grid instance is not compared any further.
+     */
+    private static final class Key {
+
+        private final Grid grid;
+        private final long initialPackedPosition;
+        private final InstructionProgram program;
+        private final int hash;
+
+        Key(Grid grid, long initialPackedPosition, InstructionProgram program) {
+            this.grid = grid;
+            this.initialPackedPosition = initialPackedPosition;
+            this.program = program;
+            this.hash = (gridHash(grid) * 31 + Long.hashCode(initialPackedPosition)) * 31 + program.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return hash == key.hash && initialPackedPosition == key.initialPackedPosition
+                    && (grid == key.grid || grid.equals(key.grid)) && program.equals(key.program);
+        }
+
+        private static int gridHash(Grid grid) {
+            int hash = grid.getXMin();
+            hash = hash * 31 + grid.getYMin();
+            hash = hash * 31 + grid.getXMax();
+            hash = hash * 31 + grid.getYMax();
+            return hash * 31 + grid.getObstaclesHash();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
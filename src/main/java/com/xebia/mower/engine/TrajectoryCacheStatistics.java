@@ -0,0 +1,17 @@
+package com.xebia.mower.engine;
+
+import lombok.Data;
+
+@Data
+public final class TrajectoryCacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+}
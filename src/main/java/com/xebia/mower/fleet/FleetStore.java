@@ -0,0 +1,109 @@
+package com.xebia.mower.fleet;
+
+import com.xebia.mower.model.Orientation;
+import com.xebia.mower.model.PackedPosition;
+import com.xebia.mower.model.Position;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays store of a fleet of mowers : the x, y, orientation and program cursor of the mowers are kept in
+ * parallel primitive arrays indexed by mower, instead of one {@link com.xebia.mower.model.Mower} object per mower.
+ *
+ * A scan over a field reads contiguous memory, without any object header nor pointer to follow, and a mower only
+ * costs 13 bytes. Indexes are given by {@link #add(long)} in insertion order, and are not checked against the size.
+ */
+public class FleetStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    int[] x;
+    int[] y;
+    byte[] orientation;
+    int[] cursor;
+    int size;
+
+    public FleetStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FleetStore(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity should not be negative.");
+
+        this.x = new int[capacity];
+        this.y = new int[capacity];
+        this.orientation = new byte[capacity];
+        this.cursor = new int[capacity];
+    }
+
+    /**
+     * @return the index of the new mower, its cursor being 0
+     */
+    public int add(long packedPosition) {
+        if (size == x.length) grow();
+        int mower = size++;
+        setPackedPosition(mower, packedPosition);
+        return mower;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Capacity of the arrays, which is at least the size : other per-mower arrays can be sized from it.
+     */
+    public int capacity() {
+        return x.length;
+    }
+
+    public int getX(int mower) {
+        return x[mower];
+    }
+
+    public int getY(int mower) {
+        return y[mower];
+    }
+
+    public Orientation getOrientation(int mower) {
+        return ORIENTATIONS[orientation[mower]];
+    }
+
+    public long getPackedPosition(int mower) {
+        return PackedPosition.pack(x[mower], y[mower], ORIENTATIONS[orientation[mower]]);
+    }
+
+    public void setPackedPosition(int mower, long packedPosition) {
+        x[mower] = PackedPosition.getX(packedPosition);
+        y[mower] = PackedPosition.getY(packedPosition);
+        orientation[mower] = (byte) PackedPosition.getOrientation(packedPosition).ordinal();
+    }
+
+    public Position getPosition(int mower) {
+        return new Position(x[mower], y[mower], ORIENTATIONS[orientation[mower]]);
+    }
+
+    public int getCursor(int mower) {
+        return cursor[mower];
+    }
+
+    public void setCursor(int mower, int value) {
+        cursor[mower] = value;
+    }
+
+    /**
+     * @return the new cursor
+     */
+    public int advanceCursor(int mower) {
+        return ++cursor[mower];
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        orientation = Arrays.copyOf(orientation, capacity);
+        cursor = Arrays.copyOf(cursor, capacity);
+    }
+}
@@ -0,0 +1,100 @@
+package com.xebia.mower.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Append-only binary journal of mower state changes, read back by {@link MoveJournalReader}.
+ *
+ * The file starts with a header (magic number and version), followed by fixed-size records : the mower index (int),
+ * a sequence (long) and the new {@link com.xebia.mower.model.PackedPosition} (long), 20 bytes in all. The first record
+ * of a mower gives its initial position, mower indexes being given in order from 0. Sequences are not decreasing along
+ * the file : a tick for {@link com.xebia.mower.engine.TickEngine}, a change counter for
+ * {@link com.xebia.mower.mediator.DefaultMediator}.
+ *
+ * Records are batched in a direct buffer, written to the {@link FileChannel} when it is full, on {@link #flush()} and
+ * on {@link #close()} : nothing is formatted, and a write costs one system call per batch. Appends are synchronized,
+ * as mediators change mower states from several threads, but callers giving sequences should append under their own
+ * lock to keep them in order.
+ */
+public class MoveJournal implements Closeable {
+
+    static final int MAGIC = 0x4D4F574A; // "MOWJ"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 20;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    final FileChannel channel;
+    final ByteBuffer buffer;
+    long recordCount;
+
+    /**
+     * Creates the journal file, or truncates it when it exists.
+     */
+    public MoveJournal(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize in bytes, rounded down to a whole number of records
+     */
+    public MoveJournal(Path path, int bufferSize) throws IOException {
+        if (bufferSize < RECORD_SIZE) throw new IllegalArgumentException("bufferSize should hold at least one record.");
+
+        this.channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize - bufferSize % RECORD_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    /**
+     * @throws UncheckedIOException when the batch cannot be written
+     */
+    public synchronized void append(int mower, long sequence, long packedPosition) {
+        if (buffer.remaining() < RECORD_SIZE) writeBuffer();
+        buffer.putInt(mower).putLong(sequence).putLong(packedPosition);
+        recordCount++;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes the pending records to the file, without forcing them to the storage device.
+     *
+     * @throws UncheckedIOException when the batch cannot be written
+     */
+    public synchronized void flush() {
+        writeBuffer();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) return;
+        try {
+            writeBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the move journal.", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.xebia.mower.journal;
+
+import com.xebia.mower.fleet.FleetStore;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static com.xebia.mower.journal.MoveJournal.*;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads a {@link MoveJournal} file through read-only memory mappings : records are read in place, without any copy
+ * nor parsing, so that the state of the fleet after any sequence is rebuilt by a single scan, without running the
+ * instructions again.
+ *
+ * Files larger than a mapping are mapped in chunks of a whole number of records. A last record only partly written,
+ * when the writer stopped in the middle of a batch, is ignored. The mappings stay valid once the file is closed.
+ */
+public class MoveJournalReader {
+
+    static final int CHUNK_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    final MappedByteBuffer[] chunks;
+    final int chunkRecords;
+    final long recordCount;
+
+    /**
+     * @throws IllegalArgumentException when the file is not a move journal
+     */
+    public MoveJournalReader(Path path) throws IOException {
+        this(path, CHUNK_RECORDS);
+    }
+
+    MoveJournalReader(Path path, int chunkRecords) throws IOException {
+        this.chunkRecords = chunkRecords;
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            long size = channel.size();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEADER_SIZE));
+            if (size < HEADER_SIZE || header.getInt() != MAGIC) throw new IllegalArgumentException(path + " is not a move journal.");
+            int version = header.getInt();
+            if (version != VERSION) throw new IllegalArgumentException("Move journal version " + version + " is not supported.");
+
+            this.recordCount = (size - HEADER_SIZE) / RECORD_SIZE;
+            long chunkCount = (recordCount + chunkRecords - 1) / chunkRecords;
+            this.chunks = new MappedByteBuffer[(int) chunkCount];
+            for (int i = 0; i < chunks.length; i++) {
+                long first = (long) i * chunkRecords;
+                long records = Math.min(recordCount - first, chunkRecords);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+            }
+        }
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getMower(long record) {
+        return chunkOf(record).getInt(offsetOf(record));
+    }
+
+    public long getSequence(long record) {
+        return chunkOf(record).getLong(offsetOf(record) + 4);
+    }
+
+    public long getPackedPosition(long record) {
+        return chunkOf(record).getLong(offsetOf(record) + 12);
+    }
+
+    /**
+     * @return the fleet at the end of the journal
+     */
+    public FleetStore replay() {
+        return replay(Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the fleet once every record up to this sequence (inclusive) is applied, mower indexes being the journal ones
+     * @throws IllegalStateException when a mower index is given before the previous ones
+     */
+    public FleetStore replay(long maxSequence) {
+        FleetStore fleet = new FleetStore();
+        for (MappedByteBuffer chunk : chunks) {
+            int limit = chunk.limit();
+            for (int offset = 0; offset < limit; offset += RECORD_SIZE) {
+                if (chunk.getLong(offset + 4) > maxSequence) return fleet;
+                int mower = chunk.getInt(offset);
+                long packedPosition = chunk.getLong(offset + 12);
+                if (mower < fleet.size()) {
+                    fleet.setPackedPosition(mower, packedPosition);
+                } else if (mower == fleet.size()) {
+                    fleet.add(packedPosition);
+                } else {
+                    throw new IllegalStateException("Mower " + mower + " is journaled before mower " + fleet.size() + ".");
+                }
+            }
+        }
+        return fleet;
+    }
+
+    private MappedByteBuffer chunkOf(long record) {
+        if (record < 0 || record >= recordCount) throw new IndexOutOfBoundsException("Record " + record + " is not within the journal.");
+        return chunks[(int) (record / chunkRecords)];
+    }
+
+    private int offsetOf(long record) {
+        return (int) (record % chunkRecords) * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,146 @@
+package com.xebia.mower.mediator;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.Mower;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.xebia.mower.model.PackedPosition.*;
+import static java.lang.String.format;
+
+/**
+ * Lock-free mediator : each grid cell is a slot of an {@link AtomicIntegerArray} sized from the grid, and a mower
+ * claims its target cell with a compare-and-set before releasing its source cell.
+ *
+ * When the claim fails, the mower does not wait on a condition like in {@link DefaultMediator} : it retries according
+ * to a bounded {@link SpinBackoff}, then skips the instruction (or the registration) once the backoff gives up.
+ *
+ * The cells of a mower are only written by the thread sending it instructions, which is the one allowed to move it.
+ */
+@Slf4j
+public class CasMediator implements INonBlockingMediator {
+
+    static final int FREE = 0;
+    static final int OCCUPIED = 1;
+
+    final Grid grid;
+    final long width;
+    final AtomicIntegerArray cells;
+    final Set<Mower> registeredMowers;
+    final SpinBackoff backoff;
+
+    public CasMediator(Grid grid) {
+        this(grid, new SpinBackoff());
+    }
+
+    public CasMediator(Grid grid, SpinBackoff backoff) {
+        long width = (long) grid.getXMax() - grid.getXMin() + 1;
+        long height = (long) grid.getYMax() - grid.getYMin() + 1;
+        if (width * height > Integer.MAX_VALUE) throw new IllegalArgumentException("Grid is too large for a cell array.");
+
+        this.grid = grid;
+        this.width = width;
+        this.cells = new AtomicIntegerArray((int) (width * height));
+        this.registeredMowers = ConcurrentHashMap.newKeySet();
+        this.backoff = backoff;
+    }
+
+    @Override
+    public CasMediator register(Mower mower) {
+        long potentialPosition = mower.getPackedPosition();
+
+        if (!grid.isPositionValid(potentialPosition))
+            throw new IllegalArgumentException(format("Mower %s has invalid position.", mower.getId()));
+
+        int cell = cellOf(potentialPosition);
+        for (int attempt = 0; !cells.compareAndSet(cell, FREE, OCCUPIED); attempt++) {
+            if (attempt == 0) log.warn("Collision when register for {}", mower);
+            if (!backoff.backoff(attempt)) {
+                log.warn("Backing off {} times. We do not register.", attempt + 1);
+                return this;
+            }
+        }
+        registeredMowers.add(mower);
+        log.info("Mower {} added.", mower.getId());
+        return this;
+    }
+
+    @Override
+    public boolean tryRegister(Mower mower) {
+        long potentialPosition = mower.getPackedPosition();
+
+        if (!grid.isPositionValid(potentialPosition))
+            throw new IllegalArgumentException(format("Mower %s has invalid position.", mower.getId()));
+
+        if (!cells.compareAndSet(cellOf(potentialPosition), FREE, OCCUPIED)) return false;
+        registeredMowers.add(mower);
+        log.info("Mower {} added.", mower.getId());
+        return true;
+    }
+
+    @Override
+    public MoveResult tryMove(Mower mower) {
+        long currentPosition = mower.getPackedPosition();
+        long potentialNewPosition = mower.shouldMovePacked();
+
+        if (!grid.isPositionValid(potentialNewPosition)) return MoveResult.INVALID;
+
+        boolean registered = registeredMowers.contains(mower);
+        if (!claim(cellOf(potentialNewPosition), registered)) return MoveResult.BLOCKED;
+
+        mower.moveTo(potentialNewPosition);
+        if (registered) cells.set(cellOf(currentPosition), FREE);
+        return MoveResult.MOVED;
+    }
+
+    @Override
+    public long sendPackedInstruction(Instruction instruction, Mower mower) {
+        long newPosition;
+        switch (instruction) {
+            case D: newPosition = mower.turnRightPacked(); break;
+            case G: newPosition = mower.turnLeftPacked(); break;
+            case A: newPosition = handleMove(mower); break;
+            default: throw new IllegalStateException("Unknown instruction : " + instruction);
+        }
+        return newPosition;
+    }
+
+    long handleMove(Mower mower) {
+        long currentPosition = mower.getPackedPosition();
+        long potentialNewPosition = mower.shouldMovePacked();
+
+        if (!grid.isPositionValid(potentialNewPosition)) {
+            if (log.isWarnEnabled()) log.warn("New Position {} Invalid for {}", toPosition(potentialNewPosition), mower);
+            return currentPosition;
+        }
+
+        boolean registered = registeredMowers.contains(mower);
+        int target = cellOf(potentialNewPosition);
+        for (int attempt = 0; !claim(target, registered); attempt++) {
+            if (attempt == 0) log.warn("Collision for {}", mower);
+            if (!backoff.backoff(attempt)) {
+                log.warn("Backing off {} times. We skip the instruction.", attempt + 1);
+                return currentPosition;
+            }
+        }
+
+        long newPosition = mower.moveTo(potentialNewPosition);
+        if (registered) cells.set(cellOf(currentPosition), FREE);
+        return newPosition;
+    }
+
+    /**
+     * An unregistered mower does not occupy any cell, it only checks that its target is free.
+     */
+    boolean claim(int cell, boolean registered) {
+        return registered ? cells.compareAndSet(cell, FREE, OCCUPIED) : cells.get(cell) == FREE;
+    }
+
+    int cellOf(long position) {
+        return (int) ((getY(position) - (long) grid.getYMin()) * width + (getX(position) - (long) grid.getXMin()));
+    }
+}
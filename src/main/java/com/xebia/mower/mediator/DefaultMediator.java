@@ -1,20 +1,29 @@
 package com.xebia.mower.mediator;
 
+import com.xebia.mower.collision.ICollisionPolicy;
+import com.xebia.mower.collision.TimedWaitCollisionPolicy;
+import com.xebia.mower.coverage.CoverageMap;
+import com.xebia.mower.journal.MoveJournal;
+import com.xebia.mower.metrics.MediatorMetrics;
 import com.xebia.mower.model.Grid;
 import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
 import com.xebia.mower.model.Mower;
 import com.xebia.mower.model.Position;
+import com.xebia.mower.occupancy.IOccupancy;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static com.xebia.mower.model.PackedPosition.*;
 import static java.lang.String.format;
-import static java.util.Objects.nonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static lombok.AccessLevel.PRIVATE;
 
@@ -22,114 +31,406 @@ import static lombok.AccessLevel.PRIVATE;
  * Mediator which sends instructions to mowers, and has to handle possible collisions when a mower tries to access
  * a position already occupied by another mower.
  *
- * For our list of registered mowers, {@link java.util.concurrent.CopyOnWriteArrayList} is useless in our case
- * because we always need to get the latest iterator version, and CopyOnWriteArrayList only provides a copy which
- * might not be the latest one. So, we have to synchronize the list read and write methods to be sure to always have
- * the latest underlying array version. For that, we use the same lock in {@link DefaultMediator#register(Mower)}
- * and {@link DefaultMediator#isPositionLocked(Position) (which is only called by {@link DefaultMediator#handleMove(Mower)})
- * That's why we use a simple {@link ArrayList} with {@link ReentrantLock} and {@link Condition}
- *
+ * Registrations and moves are serialized by a single {@link ReentrantLock}, mowers waiting for a cell on its
+ * {@link Condition}. Under that lock, occupied cells are indexed by an {@link IOccupancy} sized from the grid, and
+ * registered mowers are kept in an identity set : only registered mowers occupy a cell. Whether a mower may enter a
+ * cell, and how long it waits for it, is decided by an {@link ICollisionPolicy}.
  */
 @Slf4j
 @NoArgsConstructor(access = PRIVATE) // For Mockito
-public class DefaultMediator implements IMediator {
+public class DefaultMediator implements INonBlockingMediator {
 
     public static final int DEFAULT_WAIT_TIMEOUT = 5000;
     public static final int MAX_WAITING_TIMES = 2;
 
     Grid grid;
-    List<Mower> mowerList;
+    Set<Mower> registeredMowers;
+    IOccupancy occupancy;
     Lock positionLock;
     Condition positionUnlocked;
+    MediatorMetrics metrics;
+    CoverageMap coverage;
+    ICollisionPolicy collisionPolicy;
+    MoveJournal journal;
+    Map<Mower, Integer> journalIndexes;
+    long journalSequence;
+    /**
+     * Acquisitions of the position lock by an outermost scope or after a wait, only incremented under the lock.
+     */
+    volatile long lockAcquisitions;
 
     public DefaultMediator(Grid grid) {
+        this(grid, MediatorMetrics.DISABLED);
+    }
+
+    public DefaultMediator(Grid grid, MediatorMetrics metrics) {
+        this(grid, metrics, null);
+    }
+
+    /**
+     * @param coverage may be null, not to track coverage
+     * @see #DefaultMediator(Grid, MediatorMetrics, CoverageMap, ICollisionPolicy, MoveJournal)
+     */
+    public DefaultMediator(Grid grid, MediatorMetrics metrics, CoverageMap coverage) {
+        this(grid, metrics, coverage, new TimedWaitCollisionPolicy());
+    }
+
+    /**
+     * @param coverage may be null, not to track coverage
+     * @see #DefaultMediator(Grid, MediatorMetrics, CoverageMap, ICollisionPolicy, MoveJournal)
+     */
+    public DefaultMediator(Grid grid, MediatorMetrics metrics, CoverageMap coverage, ICollisionPolicy collisionPolicy) {
+        this(grid, metrics, coverage, collisionPolicy, null);
+    }
+
+    /**
+     * @param metrics         records instructions, invalid moves, collisions, waits and lock latencies, the lock hold
+     *                        time being measured from acquisition to release, collision waits included
+     * @param coverage        may be null, not to track coverage : otherwise the cells of the registered mowers and every
+     *                        cell entered by a mower are marked as mowed under the lock, a run of moves at once
+     * @param collisionPolicy consulted under the lock by every mower entering a cell, non-blocking and advance paths
+     *                        included, so that queued mowers cannot be overtaken ; {@link TimedWaitCollisionPolicy}
+     *                        by default, which waits twice {@link #DEFAULT_WAIT_TIMEOUT}
+     * @param journal         may be null, not to journal the moves : otherwise the initial position of every registered
+     *                        mower and each of its later changes are appended, mowers being numbered in registration
+     *                        order and changes by a counter of the mediator, a run of moves once with its final position
+     */
+    public DefaultMediator(Grid grid, MediatorMetrics metrics, CoverageMap coverage, ICollisionPolicy collisionPolicy, MoveJournal journal) {
         this.grid = grid;
-        this.mowerList = new ArrayList<>();
+        this.registeredMowers = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.occupancy = IOccupancy.forGrid(grid);
         this.positionLock = new ReentrantLock();
         this.positionUnlocked = positionLock.newCondition();
+        this.metrics = metrics;
+        this.coverage = coverage;
+        this.collisionPolicy = collisionPolicy;
+        this.journal = journal;
+        this.journalIndexes = new IdentityHashMap<>();
     }
 
     @Override
     public DefaultMediator register(Mower mower) {
-        Position potentialPosition = mower.getCurrentPosition();
+        long potentialPosition = mower.getPackedPosition();
 
         if (!isPositionValid(potentialPosition))
             throw new IllegalArgumentException(format("Mower %s has invalid position.", mower.getId()));
 
-        positionLock.lock();
+        long lockedAt = lockPositions();
         try {
-            int times = 0;
-            while (isPositionLocked(potentialPosition)) {
-                log.warn("Collision when register for {}", mower);
-                positionUnlocked.await(DEFAULT_WAIT_TIMEOUT, MILLISECONDS);
-                if (++times == MAX_WAITING_TIMES) {
-                    log.warn("Waiting {} times. We do not register.", times);
-                    positionUnlocked.signalAll();
-                    return this;
-                }
+            if (!awaitCell(potentialPosition, mower)) {
+                log.warn("Collision not resolved. We do not register.");
+                return this;
             }
-            mowerList.add(mower);
+            registeredMowers.add(mower);
+            occupancy.occupy(getX(potentialPosition), getY(potentialPosition));
+            if (coverage != null) coverage.mow(potentialPosition);
+            if (journal != null) journalRegistration(mower, potentialPosition);
             log.info("Mower {} added.", mower.getId());
             positionUnlocked.signalAll();
         } catch (InterruptedException e) {
             log.error("Thread interrupted.", e);
         } finally {
-            positionLock.unlock();
+            unlockPositions(lockedAt);
         }
         return this;
     }
 
+    /**
+     * Takes the same lock as {@link #register(Mower)}, but never waits on its condition.
+     */
+    @Override
+    public boolean tryRegister(Mower mower) {
+        long potentialPosition = mower.getPackedPosition();
+
+        if (!isPositionValid(potentialPosition))
+            throw new IllegalArgumentException(format("Mower %s has invalid position.", mower.getId()));
+
+        long lockedAt = lockPositions();
+        try {
+            if (isPositionLocked(potentialPosition) || !collisionPolicy.mayEnter(potentialPosition, mower)) {
+                metrics.onCollision();
+                return false;
+            }
+
+            registeredMowers.add(mower);
+            occupancy.occupy(getX(potentialPosition), getY(potentialPosition));
+            if (coverage != null) coverage.mow(potentialPosition);
+            if (journal != null) journalRegistration(mower, potentialPosition);
+            log.info("Mower {} added.", mower.getId());
+            positionUnlocked.signalAll();
+            return true;
+        } finally {
+            unlockPositions(lockedAt);
+        }
+    }
+
+    /**
+     * Takes the same lock as {@link #handleMove(Mower)}, but never waits on its condition.
+     */
+    @Override
+    public MoveResult tryMove(Mower mower) {
+        long currentPosition = mower.getPackedPosition();
+        long potentialNewPosition = mower.shouldMovePacked();
+
+        metrics.onInstruction(Instruction.A);
+        if (!isPositionValid(potentialNewPosition)) {
+            metrics.onInvalidMoves(1);
+            return MoveResult.INVALID;
+        }
+
+        long lockedAt = lockPositions();
+        try {
+            if (isPositionLocked(potentialNewPosition) || !collisionPolicy.mayEnter(potentialNewPosition, mower)) {
+                metrics.onCollision();
+                return MoveResult.BLOCKED;
+            }
+
+            mower.moveTo(potentialNewPosition);
+            if (registeredMowers.contains(mower)) {
+                occupancy.release(getX(currentPosition), getY(currentPosition));
+                occupancy.occupy(getX(potentialNewPosition), getY(potentialNewPosition));
+            }
+            if (coverage != null) coverage.mow(potentialNewPosition);
+            if (journal != null) journalChange(mower, potentialNewPosition);
+            positionUnlocked.signalAll();
+            return MoveResult.MOVED;
+        } finally {
+            unlockPositions(lockedAt);
+        }
+    }
+
     @Override
-    public Position sendInstruction(Instruction instruction, Mower mower) {
-        Position newPosition;
+    public long sendPackedInstruction(Instruction instruction, Mower mower) {
+        metrics.onInstruction(instruction);
+        long newPosition;
         switch (instruction) {
-            case D: newPosition = mower.turnRight(); break;
-            case G: newPosition = mower.turnLeft(); break;
-            case A: newPosition = handleMove(mower); break;
+            case D: newPosition = mower.turnRightPacked(); break;
+            case G: newPosition = mower.turnLeftPacked(); break;
+            case A: return handleMove(mower);
             default: throw new IllegalStateException("Unknown instruction : " + instruction);
         }
+        if (journal != null) journalChange(mower, newPosition);
         return newPosition;
     }
 
-    Position handleMove(Mower mower) {
-        Position currentPosition = mower.getCurrentPosition();
-        Position potentialNewPosition = mower.shouldMove();
+    long handleMove(Mower mower) {
+        long currentPosition = mower.getPackedPosition();
+        long potentialNewPosition = mower.shouldMovePacked();
 
         if (!isPositionValid(potentialNewPosition)) {
-            log.warn("New Position {} Invalid for {}", potentialNewPosition, mower);
+            if (log.isWarnEnabled()) log.warn("New Position {} Invalid for {}", toPosition(potentialNewPosition), mower);
+            metrics.onInvalidMoves(1);
             return currentPosition;
         }
 
-        positionLock.lock();
+        long lockedAt = lockPositions();
         try {
-            int times = 0;
-            while (isPositionLocked(potentialNewPosition)) {
-                log.warn("Collision for {}", mower);
-                positionUnlocked.await(DEFAULT_WAIT_TIMEOUT, MILLISECONDS);
-                if (++times == MAX_WAITING_TIMES) {
-                    log.warn("Waiting {} times. We skip the instruction.", times);
-                    positionUnlocked.signalAll();
-                    return currentPosition;
-                }
+            if (!awaitCell(potentialNewPosition, mower)) {
+                log.warn("Collision not resolved. We skip the instruction.");
+                return currentPosition;
             }
 
-            Position newPosition = mower.move();
+            long newPosition = mower.moveTo(potentialNewPosition);
+            if (registeredMowers.contains(mower)) {
+                occupancy.release(getX(currentPosition), getY(currentPosition));
+                occupancy.occupy(getX(newPosition), getY(newPosition));
+            }
+            if (coverage != null) coverage.mow(newPosition);
+            if (journal != null) journalChange(mower, newPosition);
             positionUnlocked.signalAll();
             return newPosition;
         } catch (InterruptedException e) {
             log.error("Thread interrupted.", e);
             return currentPosition;
         } finally {
-            positionLock.unlock();
+            unlockPositions(lockedAt);
+        }
+    }
+
+    /**
+     * The whole range is sent under a single lock scope : nested acquisitions by {@link DefaultMediator#handleMove(Mower)}
+     * are reentrant, and a collision wait still releases the lock. When other threads are queued for the lock between
+     * two instructions, it is handed over, see {@link DefaultMediator#handOverPositions(long)}.
+     */
+    @Override
+    public Position sendInstructions(InstructionProgram program, int from, int to, Mower mower) {
+        program.checkRange(from, to);
+        long position = mower.getPackedPosition();
+        long lockedAt = lockPositions();
+        try {
+            for (int i = from; i < to; i++) {
+                if (isLockContended()) lockedAt = handOverPositions(lockedAt);
+                position = sendPackedInstruction(program.get(i), mower);
+            }
+        } finally {
+            unlockPositions(lockedAt);
+        }
+        return toPosition(position);
+    }
+
+    /**
+     * The run is clamped to the grid border in closed form, then applied in a single lock scope as far as no cell is
+     * occupied : the remaining steps fall back to {@link #handleMove(Mower)} and its waits, so that the final position
+     * is the one of single moves.
+     */
+    @Override
+    public long sendPackedAdvance(Mower mower, int steps) {
+        long currentPosition = mower.getPackedPosition();
+        int reachableSteps = Math.min(steps, grid.stepsToBorder(currentPosition));
+        if (reachableSteps < steps && log.isWarnEnabled()) log.warn("{} steps out of the grid skipped for {}", steps - reachableSteps, mower);
+        metrics.onInstructions(Instruction.A, steps);
+        metrics.onInvalidMoves(steps - reachableSteps);
+
+        int freeSteps = 0;
+        long newPosition = currentPosition;
+        long lockedAt = lockPositions();
+        try {
+            for (long next = forward(newPosition);
+                 freeSteps < reachableSteps && !isPositionLocked(next) && collisionPolicy.mayEnter(next, mower);
+                 next = forward(next)) {
+                newPosition = next;
+                freeSteps++;
+            }
+            if (freeSteps > 0) {
+                mower.moveTo(newPosition);
+                if (registeredMowers.contains(mower)) {
+                    occupancy.release(getX(currentPosition), getY(currentPosition));
+                    occupancy.occupy(getX(newPosition), getY(newPosition));
+                }
+                if (coverage != null) coverage.mowRun(forward(currentPosition), newPosition);
+                if (journal != null) journalChange(mower, newPosition);
+                positionUnlocked.signalAll();
+            }
+        } finally {
+            unlockPositions(lockedAt);
+        }
+
+        for (int step = freeSteps; step < reachableSteps; step++) {
+            newPosition = handleMove(mower);
+        }
+        return newPosition;
+    }
+
+    /**
+     * Nested acquisitions of the reentrant lock, such as every move sent by
+     * {@link DefaultMediator#sendInstructions(InstructionProgram, int, int, Mower)}, are not recorded : only the outermost
+     * acquisition waits for the lock, and its hold time already covers the nested ones.
+     *
+     * @return the time the lock was acquired at, when metrics are enabled
+     */
+    long lockPositions() {
+        if (!metrics.isEnabled() || holdCount() > 0) {
+            positionLock.lock();
+            if (holdCount() <= 1) lockAcquisitions++;
+            return 0;
+        }
+        long start = System.nanoTime();
+        positionLock.lock();
+        lockAcquisitions++;
+        long lockedAt = System.nanoTime();
+        metrics.onLockWait(lockedAt - start);
+        return lockedAt;
+    }
+
+    /**
+     * The position lock is not fair : released and taken again at once, it would almost always be taken back by the
+     * current thread, before any queued one. So the current thread yields until another one acquired the lock, or
+     * nobody is queued anymore, before taking it again. Nothing is handed over when the lock is held by an outer scope.
+     *
+     * @return the time the lock was acquired again at, when metrics are enabled
+     */
+    long handOverPositions(long lockedAt) {
+        if (holdCount() != 1) return lockedAt;
+        long acquisitions = lockAcquisitions;
+        unlockPositions(lockedAt);
+        while (lockAcquisitions == acquisitions && isLockContended()) {
+            Thread.yield();
+        }
+        return lockPositions();
+    }
+
+    void unlockPositions(long lockedAt) {
+        boolean outermost = metrics.isEnabled() && holdCount() <= 1;
+        positionLock.unlock();
+        if (outermost) metrics.onLockHold(System.nanoTime() - lockedAt);
+    }
+
+    /**
+     * @return the holds of the current thread on the position lock, or 0 when the lock cannot tell
+     */
+    int holdCount() {
+        return positionLock instanceof ReentrantLock ? ((ReentrantLock) positionLock).getHoldCount() : 0;
+    }
+
+    /**
+     * Called under the position lock : waits until the mower may enter the cell, as long as the collision policy
+     * lets it wait. A collision is recorded per wait, or once when the policy gives up without waiting.
+     *
+     * @return false when the policy gave up, the waiting mowers being signalled since the queue of the cell changed
+     */
+    boolean awaitCell(long position, Mower mower) throws InterruptedException {
+        int attempt = 0;
+        boolean entered = false;
+        try {
+            while (isPositionLocked(position) || !collisionPolicy.mayEnter(position, mower)) {
+                long timeout = collisionPolicy.onCollision(position, mower, attempt);
+                if (timeout < 0) {
+                    if (attempt == 0) metrics.onCollision();
+                    metrics.onTimeout();
+                    positionUnlocked.signalAll();
+                    return false;
+                }
+                log.warn("Collision for {}", mower);
+                awaitRelease(timeout);
+                attempt++;
+            }
+            entered = true;
+            return true;
+        } finally {
+            if (attempt > 0 || !entered) collisionPolicy.onResolved(position, mower, entered);
+        }
+    }
+
+    void awaitRelease(long timeout) throws InterruptedException {
+        metrics.onCollision();
+        if (!metrics.isEnabled()) {
+            positionUnlocked.await(timeout, MILLISECONDS);
+            lockAcquisitions++;
+            return;
+        }
+        long start = System.nanoTime();
+        positionUnlocked.await(timeout, MILLISECONDS);
+        lockAcquisitions++;
+        metrics.onAwait(System.nanoTime() - start);
+    }
+
+    /**
+     * Turns are not sent under the position lock : journal appends are ordered by the journal monitor instead, so that
+     * sequences follow the file order.
+     */
+    void journalRegistration(Mower mower, long position) {
+        synchronized (journal) {
+            journalIndexes.put(mower, journalIndexes.size());
+            journal.append(journalIndexes.size() - 1, ++journalSequence, position);
+        }
+    }
+
+    void journalChange(Mower mower, long position) {
+        synchronized (journal) {
+            Integer index = journalIndexes.get(mower);
+            if (index != null) journal.append(index, ++journalSequence, position);
         }
     }
 
-    boolean isPositionValid(Position position) {
+    boolean isLockContended() {
+        return positionLock instanceof ReentrantLock && ((ReentrantLock) positionLock).hasQueuedThreads();
+    }
+
+    boolean isPositionValid(long position) {
         return grid.isPositionValid(position);
     }
 
-    boolean isPositionLocked(Position position) {
-        return  nonNull(position) &&
-                mowerList.stream().anyMatch(mower -> mower.getCurrentPosition().isSame(position));
+    boolean isPositionLocked(long position) {
+        return occupancy.isOccupied(getX(position), getY(position));
     }
 }
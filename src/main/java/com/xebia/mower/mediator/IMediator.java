@@ -1,12 +1,78 @@
 package com.xebia.mower.mediator;
 
+import com.xebia.mower.model.CompiledProgram;
 import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
 import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.PackedPosition;
 import com.xebia.mower.model.Position;
 
+import static com.xebia.mower.model.Instruction.*;
+
 public interface IMediator {
 
     IMediator register(Mower mower);
 
-    Position sendInstruction(Instruction instruction, Mower mower);
+    /**
+     * Allocation-free variant of {@link #sendInstruction(Instruction, Mower)}, see {@link PackedPosition}.
+     */
+    long sendPackedInstruction(Instruction instruction, Mower mower);
+
+    default Position sendInstruction(Instruction instruction, Mower mower) {
+        return PackedPosition.toPosition(sendPackedInstruction(instruction, mower));
+    }
+
+    /**
+     * Sends the whole program to the mower, instruction after instruction, and returns its final position.
+     */
+    default Position sendInstructions(InstructionProgram program, Mower mower) {
+        return sendInstructions(program, 0, program.length(), mower);
+    }
+
+    /**
+     * Sends the instructions of the program from index from (inclusive) to index to (exclusive), so that a program
+     * can be sent chunk after chunk, and returns the final position of the mower.
+     *
+     * @throws IndexOutOfBoundsException when the range is not within the program
+     */
+    default Position sendInstructions(InstructionProgram program, int from, int to, Mower mower) {
+        program.checkRange(from, to);
+        long position = mower.getPackedPosition();
+        for (int i = from; i < to; i++) {
+            position = sendPackedInstruction(program.get(i), mower);
+        }
+        return PackedPosition.toPosition(position);
+    }
+
+    /**
+     * Same final position as sending the source program instruction after instruction, with one call per folded
+     * rotation and one {@link #sendPackedAdvance(Mower, int)} per run of moves.
+     */
+    default Position sendInstructions(CompiledProgram program, Mower mower) {
+        long position = mower.getPackedPosition();
+        for (int i = 0; i < program.size(); i++) {
+            int operation = program.operation(i);
+            if (CompiledProgram.isAdvance(operation)) {
+                position = sendPackedAdvance(mower, operation);
+            } else if (CompiledProgram.rightTurns(operation) == 3) {
+                position = sendPackedInstruction(G, mower);
+            } else {
+                for (int turn = 0; turn < CompiledProgram.rightTurns(operation); turn++) {
+                    position = sendPackedInstruction(D, mower);
+                }
+            }
+        }
+        return PackedPosition.toPosition(position);
+    }
+
+    /**
+     * Same as sending {@link Instruction#A} steps times.
+     */
+    default long sendPackedAdvance(Mower mower, int steps) {
+        long position = mower.getPackedPosition();
+        for (int step = 0; step < steps; step++) {
+            position = sendPackedInstruction(A, mower);
+        }
+        return position;
+    }
 }
@@ -0,0 +1,23 @@
+package com.xebia.mower.mediator;
+
+import com.xebia.mower.model.Mower;
+
+/**
+ * Mediator which can also attempt a registration or a move without waiting for the target cell, so that the caller
+ * decides what to do with a blocked mower (retry later, requeue it, give up...) instead of pinning its thread.
+ */
+public interface INonBlockingMediator extends IMediator {
+
+    /**
+     * Registers the mower if its cell is free.
+     *
+     * @return false when the cell is occupied, the mower not being registered
+     * @throws IllegalArgumentException when the mower position is invalid
+     */
+    boolean tryRegister(Mower mower);
+
+    /**
+     * Moves the mower one cell forward if the target cell is valid and free.
+     */
+    MoveResult tryMove(Mower mower);
+}
@@ -0,0 +1,13 @@
+package com.xebia.mower.mediator;
+
+/**
+ * Outcome of a move attempted by an {@link INonBlockingMediator}.
+ */
+public enum MoveResult {
+
+    MOVED,
+    /** The target position is out of the grid : the move is skipped for good. */
+    INVALID,
+    /** The target position is occupied : the move may succeed later. */
+    BLOCKED
+}
@@ -0,0 +1,55 @@
+package com.xebia.mower.mediator;
+
+import lombok.Getter;
+
+/**
+ * Bounded backoff used by {@link CasMediator} after a failed cell claim : it busy-spins an exponentially growing number
+ * of iterations, then yields the processor, and finally tells the caller to give up. The thread is never parked.
+ */
+@Getter
+public final class SpinBackoff {
+
+    public static final int DEFAULT_SPIN_ATTEMPTS = 10;
+    public static final int DEFAULT_YIELD_ATTEMPTS = 100;
+
+    private static volatile int sink;
+
+    private final int spinAttempts;
+    private final int yieldAttempts;
+
+    public SpinBackoff() {
+        this(DEFAULT_SPIN_ATTEMPTS, DEFAULT_YIELD_ATTEMPTS);
+    }
+
+    public SpinBackoff(int spinAttempts, int yieldAttempts) {
+        if (spinAttempts < 0 || spinAttempts > 30) throw new IllegalArgumentException("spinAttempts should be between 0 and 30.");
+        if (yieldAttempts < 0) throw new IllegalArgumentException("yieldAttempts should be positive.");
+
+        this.spinAttempts = spinAttempts;
+        this.yieldAttempts = yieldAttempts;
+    }
+
+    /**
+     * @param attempt number of failed attempts so far, starting at 0
+     * @return false if the caller should give up instead of trying again
+     */
+    public boolean backoff(int attempt) {
+        if (attempt < spinAttempts) {
+            spin(1 << attempt);
+            return true;
+        }
+        if (attempt < spinAttempts + yieldAttempts) {
+            Thread.yield();
+            return true;
+        }
+        return false;
+    }
+
+    private static void spin(int iterations) {
+        int accumulator = 0;
+        for (int i = 0; i < iterations; i++) {
+            accumulator += i; // keep the loop from being eliminated by the JIT
+        }
+        sink = accumulator;
+    }
+}
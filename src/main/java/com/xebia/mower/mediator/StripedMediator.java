@@ -0,0 +1,196 @@
+package com.xebia.mower.mediator;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.occupancy.SparseOccupancy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.xebia.mower.mediator.DefaultMediator.DEFAULT_WAIT_TIMEOUT;
+import static com.xebia.mower.mediator.DefaultMediator.MAX_WAITING_TIMES;
+import static com.xebia.mower.model.PackedPosition.*;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Mediator which, unlike {@link DefaultMediator}, does not serialize every move on a single lock.
+ *
+ * Grid cells are spread over a fixed number of stripes, each one owning a lock, a condition and the occupancy of its
+ * cells. A move only locks the stripes of the source and target cells, always in ascending stripe order so that two
+ * mowers moving towards each other cannot deadlock, and only wakes up the mowers waiting on the stripe of the freed cell.
+ *
+ * A mower never waits for its target cell while holding the lock of its source cell : the mower which blocks it may
+ * precisely be waiting for that source cell.
+ *
+ * Mowers waiting on a stripe are also woken up by releases of the other cells of the stripe : they check their cell
+ * again and keep on waiting, so that only the time spent waiting for the cell counts towards giving up.
+ */
+@Slf4j
+public class StripedMediator implements IMediator {
+
+    public static final int DEFAULT_STRIPE_COUNT = 1024;
+
+    final Grid grid;
+    final Stripe[] stripes;
+    final Set<Mower> registeredMowers;
+    long waitTimeout = DEFAULT_WAIT_TIMEOUT;
+
+    public StripedMediator(Grid grid) {
+        this(grid, DEFAULT_STRIPE_COUNT);
+    }
+
+    public StripedMediator(Grid grid, int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) throw new IllegalArgumentException("stripeCount should be a power of two.");
+
+        this.grid = grid;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(i);
+        }
+        this.registeredMowers = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public StripedMediator register(Mower mower) {
+        long potentialPosition = mower.getPackedPosition();
+
+        if (!grid.isPositionValid(potentialPosition))
+            throw new IllegalArgumentException(format("Mower %s has invalid position.", mower.getId()));
+
+        int x = getX(potentialPosition);
+        int y = getY(potentialPosition);
+        Stripe stripe = stripeOf(x, y);
+        stripe.lock.lock();
+        try {
+            if (stripe.occupancy.isOccupied(x, y)) {
+                log.warn("Collision when register for {}", mower);
+                if (!awaitRelease(stripe, x, y, waitDeadline())) {
+                    log.warn("Waiting {} times. We do not register.", MAX_WAITING_TIMES);
+                    return this;
+                }
+            }
+            stripe.occupancy.occupy(x, y);
+            registeredMowers.add(mower);
+            log.info("Mower {} added.", mower.getId());
+        } catch (InterruptedException e) {
+            log.error("Thread interrupted.", e);
+        } finally {
+            stripe.lock.unlock();
+        }
+        return this;
+    }
+
+    @Override
+    public long sendPackedInstruction(Instruction instruction, Mower mower) {
+        long newPosition;
+        switch (instruction) {
+            case D: newPosition = mower.turnRightPacked(); break;
+            case G: newPosition = mower.turnLeftPacked(); break;
+            case A: newPosition = handleMove(mower); break;
+            default: throw new IllegalStateException("Unknown instruction : " + instruction);
+        }
+        return newPosition;
+    }
+
+    long handleMove(Mower mower) {
+        long currentPosition = mower.getPackedPosition();
+        long potentialNewPosition = mower.shouldMovePacked();
+
+        if (!grid.isPositionValid(potentialNewPosition)) {
+            if (log.isWarnEnabled()) log.warn("New Position {} Invalid for {}", toPosition(potentialNewPosition), mower);
+            return currentPosition;
+        }
+
+        int sourceX = getX(currentPosition);
+        int sourceY = getY(currentPosition);
+        int targetX = getX(potentialNewPosition);
+        int targetY = getY(potentialNewPosition);
+        Stripe source = stripeOf(sourceX, sourceY);
+        Stripe target = stripeOf(targetX, targetY);
+        Stripe first = source.index <= target.index ? source : target;
+        Stripe second = source.index <= target.index ? target : source;
+
+        try {
+            long deadline = 0;
+            while (true) {
+                first.lock.lock();
+                second.lock.lock();
+                try {
+                    if (!target.occupancy.isOccupied(targetX, targetY)) {
+                        long newPosition = mower.moveTo(potentialNewPosition);
+                        if (registeredMowers.contains(mower)) {
+                            source.occupancy.release(sourceX, sourceY);
+                            target.occupancy.occupy(targetX, targetY);
+                            source.released.signalAll();
+                        }
+                        return newPosition;
+                    }
+                } finally {
+                    second.lock.unlock();
+                    first.lock.unlock();
+                }
+
+                if (deadline == 0) {
+                    log.warn("Collision for {}", mower);
+                    deadline = waitDeadline();
+                }
+                if (!awaitRelease(target, targetX, targetY, deadline)) {
+                    log.warn("Waiting {} times. We skip the instruction.", MAX_WAITING_TIMES);
+                    return currentPosition;
+                }
+            }
+        } catch (InterruptedException e) {
+            log.error("Thread interrupted.", e);
+            return currentPosition;
+        }
+    }
+
+    /**
+     * @return the time a blocked mower gives up at, after {@link DefaultMediator#MAX_WAITING_TIMES} timeouts
+     */
+    long waitDeadline() {
+        return System.nanoTime() + MILLISECONDS.toNanos(waitTimeout) * MAX_WAITING_TIMES;
+    }
+
+    /**
+     * The occupancy is checked again under the stripe lock, so that a release happening between the failed move
+     * and this wait is not missed, and after each wakeup, which may be for another cell of the stripe.
+     *
+     * @return false when the cell is still occupied at the deadline
+     */
+    boolean awaitRelease(Stripe stripe, int x, int y, long deadline) throws InterruptedException {
+        stripe.lock.lock();
+        try {
+            while (stripe.occupancy.isOccupied(x, y)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                stripe.released.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    Stripe stripeOf(int x, int y) {
+        int hash = x * 0x9E3779B9 + y;
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    static final class Stripe {
+
+        final int index;
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition released = lock.newCondition();
+        final SparseOccupancy occupancy = new SparseOccupancy();
+
+        Stripe(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.xebia.mower.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds, with one {@link LongAdder} per power of two : bucket i counts the
+ * values whose highest one bit is bit i - 1, bucket 0 counting the zero values. Recording a value costs a few
+ * increments on striped cells, without any contention between the recording threads.
+ */
+public class LatencyHistogram {
+
+    static final int BUCKET_COUNT = 64;
+
+    final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    final LongAdder count = new LongAdder();
+    final LongAdder sum = new LongAdder();
+    final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets[bucketOf(value)].increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Values recorded concurrently may be lost or kept.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(count.sum(), sum.sum(), max.get(), counts);
+    }
+
+    static int bucketOf(long value) {
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * Consistent enough view of a histogram : values recorded during the snapshot may be partially taken into account.
+     */
+    public static final class Snapshot {
+
+        private final long count;
+        private final long sum;
+        private final long max;
+        private final long[] buckets;
+
+        Snapshot(long count, long sum, long max, long[] buckets) {
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+            this.buckets = buckets;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        /**
+         * @return an upper bound of the given percentile (between 0 and 100), exact to a power of two
+         */
+        public long getPercentile(double percentile) {
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) return Math.min(max, i == 0 ? 0 : (1L << i) - 1);
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot(count=" + count + ", mean=" + (long) getMean() + ", p50=" + getPercentile(50)
+                    + ", p99=" + getPercentile(99) + ", max=" + max + ")";
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.xebia.mower.metrics;
+
+import com.xebia.mower.model.Instruction;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of a mediator : instructions by type, moves rejected by the grid, collisions,
+ * collision waits, waits given up, and the time spent waiting for and holding the position lock.
+ *
+ * Counters are {@link LongAdder}s, so that recording threads never contend on a shared cell. The
+ * {@link MediatorMetrics#DISABLED} instance records nothing : callers check {@link #isEnabled()} before reading the
+ * clock, so that disabled metrics only cost a field read.
+ *
+ * Metrics are read with {@link #snapshot()}, or through JMX once {@link #registerMBean(String)} has been called.
+ */
+@Slf4j
+public class MediatorMetrics implements MediatorMetricsMXBean {
+
+    private static final Instruction[] INSTRUCTIONS = Instruction.values();
+
+    public static final MediatorMetrics DISABLED = new MediatorMetrics(false);
+
+    private final boolean enabled;
+    final LongAdder[] instructions = new LongAdder[INSTRUCTIONS.length];
+    final LongAdder invalidMoves = new LongAdder();
+    final LongAdder collisions = new LongAdder();
+    final LongAdder timeouts = new LongAdder();
+    final LatencyHistogram awaits = new LatencyHistogram();
+    final LatencyHistogram lockWaits = new LatencyHistogram();
+    final LatencyHistogram lockHolds = new LatencyHistogram();
+
+    public MediatorMetrics() {
+        this(true);
+    }
+
+    private MediatorMetrics(boolean enabled) {
+        this.enabled = enabled;
+        for (int i = 0; i < instructions.length; i++) {
+            instructions[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void onInstruction(Instruction instruction) {
+        if (enabled) instructions[instruction.ordinal()].increment();
+    }
+
+    public void onInstructions(Instruction instruction, int count) {
+        if (enabled) instructions[instruction.ordinal()].add(count);
+    }
+
+    public void onInvalidMoves(int count) {
+        if (enabled) invalidMoves.add(count);
+    }
+
+    public void onCollision() {
+        if (enabled) collisions.increment();
+    }
+
+    public void onAwait(long nanos) {
+        if (enabled) awaits.record(nanos);
+    }
+
+    /**
+     * A mower gave up waiting : its instruction is skipped, or it is not registered.
+     */
+    public void onTimeout() {
+        if (enabled) timeouts.increment();
+    }
+
+    public void onLockWait(long nanos) {
+        if (enabled) lockWaits.record(nanos);
+    }
+
+    public void onLockHold(long nanos) {
+        if (enabled) lockHolds.record(nanos);
+    }
+
+    public MediatorMetricsSnapshot snapshot() {
+        return new MediatorMetricsSnapshot(getInstructionCounts(), invalidMoves.sum(), collisions.sum(), timeouts.sum(),
+                awaits.snapshot(), lockWaits.snapshot(), lockHolds.snapshot());
+    }
+
+    /**
+     * Registers these metrics in the platform MBean server, as com.xebia.mower:type=MediatorMetrics,name=given name.
+     *
+     * @return the name of the MBean, to unregister it
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("com.xebia.mower:type=MediatorMetrics,name=" + ObjectName.quote(name));
+        server.registerMBean(this, objectName);
+        log.info("Mediator metrics registered as {}", objectName);
+        return objectName;
+    }
+
+    @Override
+    public Map<String, Long> getInstructionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Instruction instruction : INSTRUCTIONS) {
+            counts.put(instruction.name(), instructions[instruction.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public long getInvalidMoveCount() {
+        return invalidMoves.sum();
+    }
+
+    @Override
+    public long getCollisionCount() {
+        return collisions.sum();
+    }
+
+    @Override
+    public long getAwaitCount() {
+        return awaits.count.sum();
+    }
+
+    @Override
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public long getLockWaitCount() {
+        return lockWaits.count.sum();
+    }
+
+    @Override
+    public double getLockWaitMean() {
+        return lockWaits.snapshot().getMean();
+    }
+
+    @Override
+    public long getLockWaitP99() {
+        return lockWaits.snapshot().getPercentile(99);
+    }
+
+    @Override
+    public long getLockWaitMax() {
+        return lockWaits.max.get();
+    }
+
+    @Override
+    public long getLockHoldCount() {
+        return lockHolds.count.sum();
+    }
+
+    @Override
+    public double getLockHoldMean() {
+        return lockHolds.snapshot().getMean();
+    }
+
+    @Override
+    public long getLockHoldP99() {
+        return lockHolds.snapshot().getPercentile(99);
+    }
+
+    @Override
+    public long getLockHoldMax() {
+        return lockHolds.max.get();
+    }
+
+    @Override
+    public double getAwaitMean() {
+        return awaits.snapshot().getMean();
+    }
+
+    @Override
+    public long getAwaitMax() {
+        return awaits.max.get();
+    }
+
+    /**
+     * Resets the counters. Values recorded concurrently may be lost or kept.
+     */
+    @Override
+    public void reset() {
+        for (LongAdder instruction : instructions) {
+            instruction.reset();
+        }
+        invalidMoves.reset();
+        collisions.reset();
+        timeouts.reset();
+        for (LatencyHistogram histogram : new LatencyHistogram[]{awaits, lockWaits, lockHolds}) {
+            histogram.reset();
+        }
+    }
+}
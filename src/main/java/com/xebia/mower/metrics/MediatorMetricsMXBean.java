@@ -0,0 +1,43 @@
+package com.xebia.mower.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link MediatorMetrics}, durations being in nanoseconds.
+ */
+public interface MediatorMetricsMXBean {
+
+    boolean isEnabled();
+
+    Map<String, Long> getInstructionCounts();
+
+    long getInvalidMoveCount();
+
+    long getCollisionCount();
+
+    long getAwaitCount();
+
+    long getTimeoutCount();
+
+    long getLockWaitCount();
+
+    double getLockWaitMean();
+
+    long getLockWaitP99();
+
+    long getLockWaitMax();
+
+    long getLockHoldCount();
+
+    double getLockHoldMean();
+
+    long getLockHoldP99();
+
+    long getLockHoldMax();
+
+    double getAwaitMean();
+
+    long getAwaitMax();
+
+    void reset();
+}
@@ -0,0 +1,17 @@
+package com.xebia.mower.metrics;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public final class MediatorMetricsSnapshot {
+
+    private final Map<String, Long> instructionCounts;
+    private final long invalidMoveCount;
+    private final long collisionCount;
+    private final long timeoutCount;
+    private final LatencyHistogram.Snapshot awaits;
+    private final LatencyHistogram.Snapshot lockWaits;
+    private final LatencyHistogram.Snapshot lockHolds;
+}
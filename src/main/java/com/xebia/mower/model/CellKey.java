@@ -0,0 +1,35 @@
+package com.xebia.mower.model;
+
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Grid cell packed in a single long : x on the 32 upper bits and y on the 32 lower bits.
+ *
+ * Unlike {@link Position}, whose equality includes the orientation, and {@link PackedPosition}, whose orientation bits
+ * have to be masked, two mowers on the same cell always have the same key, so keys can be hashed and compared as is.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class CellKey {
+
+    public static long of(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static long of(Position position) {
+        return of(position.getX(), position.getY());
+    }
+
+    public static long ofPacked(long packedPosition) {
+        return of(PackedPosition.getX(packedPosition), PackedPosition.getY(packedPosition));
+    }
+
+    public static int getX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int getY(long key) {
+        return (int) key;
+    }
+}
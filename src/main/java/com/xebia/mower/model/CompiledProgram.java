@@ -0,0 +1,82 @@
+package com.xebia.mower.model;
+
+import java.util.Arrays;
+
+/**
+ * {@link InstructionProgram} where consecutive turns are folded into a single net rotation, and consecutive moves
+ * into a single advance of several cells.
+ *
+ * Each operation is an int : a positive one advances the mower by that number of cells, a negative one turns it
+ * right -op times (1 to 3, a net rotation of 0 being dropped).
+ */
+public final class CompiledProgram {
+
+    private final int[] operations;
+    private final int instructionCount;
+
+    private CompiledProgram(int[] operations, int instructionCount) {
+        this.operations = operations;
+        this.instructionCount = instructionCount;
+    }
+
+    public static CompiledProgram compile(InstructionProgram program) {
+        int[] operations = new int[16];
+        int size = 0;
+        int rightTurns = 0;
+        int advance = 0;
+
+        for (int i = 0; i < program.length(); i++) {
+            Instruction instruction = program.get(i);
+            if (instruction == Instruction.A) {
+                if (rightTurns != 0) {
+                    if (size == operations.length) operations = Arrays.copyOf(operations, size * 2);
+                    operations[size++] = -rightTurns;
+                    rightTurns = 0;
+                }
+                advance++;
+            } else {
+                if (advance != 0) {
+                    if (size == operations.length) operations = Arrays.copyOf(operations, size * 2);
+                    operations[size++] = advance;
+                    advance = 0;
+                }
+                rightTurns = (rightTurns + (instruction == Instruction.D ? 1 : 3)) & 3;
+            }
+        }
+
+        if (size + 2 > operations.length) operations = Arrays.copyOf(operations, size + 2);
+        if (rightTurns != 0) operations[size++] = -rightTurns;
+        if (advance != 0) operations[size++] = advance;
+        return new CompiledProgram(Arrays.copyOf(operations, size), program.length());
+    }
+
+    public int size() {
+        return operations.length;
+    }
+
+    public int operation(int index) {
+        return operations[index];
+    }
+
+    public static boolean isAdvance(int operation) {
+        return operation > 0;
+    }
+
+    public static boolean isTurn(int operation) {
+        return operation < 0;
+    }
+
+    /**
+     * @return the net number of right turns of a turn operation, from 1 to 3, 3 being a single left turn
+     */
+    public static int rightTurns(int operation) {
+        return -operation;
+    }
+
+    /**
+     * Number of instructions of the source program, whatever the number of operations they were folded into.
+     */
+    public int instructionCount() {
+        return instructionCount;
+    }
+}
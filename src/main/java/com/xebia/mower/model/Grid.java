@@ -1,32 +1,130 @@
 package com.xebia.mower.model;
 
+import com.xebia.mower.occupancy.IOccupancy;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static java.util.Objects.nonNull;
 
+/**
+ * Rectangular lawn, with optional static {@link Obstacle}s : a cell covered by an obstacle is not a valid position,
+ * so that every engine and mediator handles it like a cell out of the grid.
+ *
+ * Obstacle cells are indexed once, at construction, in an {@link IOccupancy} sized from the grid : a bitset on small
+ * grids, otherwise a hash set of cells which turns into a bitset once obstacles cover enough of the lawn, so that
+ * checking a position stays O(1) whatever the number of obstacle cells. Grids without obstacles keep the bounds
+ * check only.
+ *
+ * Bounds are limited to the {@link PackedPosition} range, less one cell on each side : the cell in front of any mower
+ * of the grid is then still encoded exactly, and a move out of the grid is rejected instead of wrapping around.
+ */
 @Data
+@EqualsAndHashCode(exclude = { "blockedCells", "obstacleCellCount", "obstaclesHash" })
+@ToString(exclude = { "blockedCells", "obstacleCellCount", "obstaclesHash" })
 public final class Grid {
 
+    public static final int MIN_BOUND = PackedPosition.MIN_COORDINATE + 1;
+    public static final int MAX_BOUND = PackedPosition.MAX_COORDINATE - 1;
+
     private final int xMin;
     private final int yMin;
     private final int xMax;
     private final int yMax;
+    private final List<Obstacle> obstacles;
+    @Getter(AccessLevel.NONE) private final IOccupancy blockedCells;
+    private final long obstacleCellCount;
+    /**
+     * Hash of the obstacles, computed once so that grids can be hashed without walking them.
+     */
+    private final int obstaclesHash;
 
     public Grid(int xMin, int yMin, int xMax, int yMax) {
+        this(xMin, yMin, xMax, yMax, Collections.emptyList());
+    }
+
+    /**
+     * @throws IllegalArgumentException when a bound is not between {@link #MIN_BOUND} and {@link #MAX_BOUND}, or an
+     *                                  obstacle is not within the grid
+     */
+    public Grid(int xMin, int yMin, int xMax, int yMax, List<Obstacle> obstacles) {
         if (xMax <= xMin) throw new IllegalArgumentException("xMax should be greater than xMin");
         if (yMax <= yMin) throw new IllegalArgumentException("yMax should be greater than yMin");
+        if (xMin < MIN_BOUND || yMin < MIN_BOUND || xMax > MAX_BOUND || yMax > MAX_BOUND)
+            throw new IllegalArgumentException("Grid bounds should be between " + MIN_BOUND + " and " + MAX_BOUND);
 
         this.xMin = xMin;
         this.yMin = yMin;
         this.xMax = xMax;
         this.yMax = yMax;
+        this.obstacles = Collections.unmodifiableList(new ArrayList<>(obstacles));
+        this.obstaclesHash = this.obstacles.hashCode();
+
+        IOccupancy blocked = obstacles.isEmpty() ? null : IOccupancy.forGrid(this);
+        long cellCount = 0;
+        for (Obstacle obstacle : obstacles) {
+            if (!isWithinBounds(obstacle.getXMin(), obstacle.getYMin()) || !isWithinBounds(obstacle.getXMax(), obstacle.getYMax()))
+                throw new IllegalArgumentException("Obstacle " + obstacle + " should be within the grid");
+            for (int y = obstacle.getYMin(); y <= obstacle.getYMax(); y++) {
+                for (int x = obstacle.getXMin(); x <= obstacle.getXMax(); x++) {
+                    if (blocked.occupy(x, y)) cellCount++;
+                }
+            }
+        }
+        this.blockedCells = blocked;
+        this.obstacleCellCount = cellCount;
     }
 
     public boolean isPositionValid(Position position) {
-        return  nonNull(position) &&
-                position.getX() <= getXMax() &&
-                position.getX() >= getXMin() &&
-                position.getY() >= getYMin() &&
-                position.getY() <= getYMax();
+        return  nonNull(position) && isPositionValid(position.getX(), position.getY());
+    }
+
+    public boolean isPositionValid(long packedPosition) {
+        return isPositionValid(PackedPosition.getX(packedPosition), PackedPosition.getY(packedPosition));
+    }
+
+    public boolean isPositionValid(int x, int y) {
+        return isWithinBounds(x, y) && (blockedCells == null || !blockedCells.isOccupied(x, y));
+    }
+
+    public boolean isWithinBounds(int x, int y) {
+        return  x <= getXMax() &&
+                x >= getXMin() &&
+                y >= getYMin() &&
+                y <= getYMax();
+    }
+
+    public boolean hasObstacles() {
+        return blockedCells != null;
+    }
+
+    /**
+     * @return how many cells a mower at this valid position can advance before leaving the grid or hitting an obstacle
+     */
+    public int stepsToBorder(long packedPosition) {
+        int x = PackedPosition.getX(packedPosition);
+        int y = PackedPosition.getY(packedPosition);
+        int steps;
+        switch (PackedPosition.getOrientation(packedPosition)) {
+            case N: steps = getYMax() - y; break;
+            case S: steps = y - getYMin(); break;
+            case E: steps = getXMax() - x; break;
+            case W: steps = x - getXMin(); break;
+            default: throw new IllegalStateException("Mower orientation unknown.");
+        }
+        if (blockedCells == null) return steps;
+
+        long position = packedPosition;
+        for (int step = 0; step < steps; step++) {
+            position = PackedPosition.forward(position);
+            if (blockedCells.isOccupied(PackedPosition.getX(position), PackedPosition.getY(position))) return step;
+        }
+        return steps;
     }
 }
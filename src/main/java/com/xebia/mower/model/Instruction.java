@@ -2,5 +2,22 @@ package com.xebia.mower.model;
 
 public enum Instruction {
 
-    D, G, A
+    D, G, A;
+
+    private static final Instruction[] BY_CHARACTER = new Instruction[128];
+
+    static {
+        for (Instruction instruction : values()) {
+            BY_CHARACTER[instruction.name().charAt(0)] = instruction;
+        }
+    }
+
+    /**
+     * Allocation-free equivalent of {@link #valueOf(String)} for a single character instruction.
+     */
+    public static Instruction of(byte character) {
+        Instruction instruction = character >= 0 ? BY_CHARACTER[character] : null;
+        if (instruction == null) throw new IllegalArgumentException("Unknown instruction : " + (char) character);
+        return instruction;
+    }
 }
@@ -0,0 +1,96 @@
+package com.xebia.mower.model;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sequence of instructions packed on 2 bits each (the {@link Instruction} ordinal), 32 per long.
+ * A million-step program costs 250 KB instead of the 4 to 8 MB of reference arrays of a {@code List<Instruction>}.
+ */
+@EqualsAndHashCode
+public final class InstructionProgram {
+
+    private static final Instruction[] INSTRUCTIONS = Instruction.values();
+
+    private final long[] words;
+    private final int length;
+
+    private InstructionProgram(long[] words, int length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    public static InstructionProgram parse(CharSequence instructions) {
+        Builder builder = builder();
+        for (int i = 0; i < instructions.length(); i++) {
+            builder.append((byte) instructions.charAt(i));
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public Instruction get(int index) {
+        return INSTRUCTIONS[code(index)];
+    }
+
+    /**
+     * @return the {@link Instruction} ordinal at this index
+     */
+    public int code(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        return (int) (words[index >>> 5] >>> ((index & 31) << 1)) & 3;
+    }
+
+    /**
+     * Checks that [from, to) is a range of instructions of this program.
+     */
+    public void checkRange(int from, int to) {
+        if (from < 0 || to > length || from > to)
+            throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Length: " + length);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(get(i).name());
+        }
+        return builder.toString();
+    }
+
+    public static final class Builder {
+
+        private long[] words = new long[4];
+        private int length;
+
+        public Builder append(Instruction instruction) {
+            if (length >>> 5 == words.length) words = Arrays.copyOf(words, words.length * 2);
+            words[length >>> 5] |= (long) instruction.ordinal() << ((length & 31) << 1);
+            length++;
+            return this;
+        }
+
+        public Builder append(byte character) {
+            return append(Instruction.of(character));
+        }
+
+        public Builder append(byte[] characters, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                append(Instruction.of(characters[i]));
+            }
+            return this;
+        }
+
+        public InstructionProgram build() {
+            return new InstructionProgram(Arrays.copyOf(words, (length + 31) >>> 5), length);
+        }
+    }
+}
@@ -4,54 +4,105 @@ import com.xebia.mower.move.DefaultMowerStrategy;
 import com.xebia.mower.move.IMowerStrategy;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.xebia.mower.model.PackedPosition.toPosition;
 import static lombok.AccessLevel.PRIVATE;
 
+/**
+ * The mower state is kept as a {@link PackedPosition}, so that moving and turning do not allocate anything :
+ * the methods returning a {@link Position} materialize it for API callers, the packed ones are meant for mediators.
+ * Only the former log the mower at info level, the packed ones at trace level, behind a guard.
+ */
 @Slf4j
-@ToString(of = {"id", "currentPosition"})
 @NoArgsConstructor(access = PRIVATE) // For Mockito
 public class Mower {
 
+    /**
+     * Strategies are stateless, so all mowers share the default one.
+     */
+    private static final IMowerStrategy DEFAULT_STRATEGY = new DefaultMowerStrategy();
+
     @Getter String id;
-    @Getter Position currentPosition;
+    @Getter long packedPosition;
     IMowerStrategy mowerStrategy;
 
     public Mower(String id, int x, int y, Orientation orientation) {
-        this(id, new Position(x, y, orientation));
+        this(id, PackedPosition.pack(x, y, orientation), DEFAULT_STRATEGY);
     }
 
     public Mower(String id, Position initialPosition) {
-        this(id, initialPosition, new DefaultMowerStrategy());
+        this(id, PackedPosition.of(initialPosition), DEFAULT_STRATEGY);
+    }
+
+    public Mower(String id, long initialPackedPosition) {
+        this(id, initialPackedPosition, DEFAULT_STRATEGY);
     }
 
     Mower(String id, Position initialPosition, IMowerStrategy mowerStrategy) {
+        this(id, PackedPosition.of(initialPosition), mowerStrategy);
+    }
+
+    Mower(String id, long initialPackedPosition, IMowerStrategy mowerStrategy) {
         this.id = id;
-        this.currentPosition = initialPosition;
+        this.packedPosition = initialPackedPosition;
         this.mowerStrategy = mowerStrategy;
         log.info("{}", this);
     }
 
+    public Position getCurrentPosition() {
+        return toPosition(packedPosition);
+    }
+
     public Position shouldMove() {
-        return mowerStrategy.shouldMove(currentPosition);
+        return toPosition(shouldMovePacked());
+    }
+
+    public long shouldMovePacked() {
+        return mowerStrategy.shouldMove(packedPosition);
     }
 
     public Position move() {
-        currentPosition = shouldMove();
+        moveTo(shouldMovePacked());
         log.info("{}", this);
-        return currentPosition;
+        return getCurrentPosition();
+    }
+
+    /**
+     * Moves the mower to a position already computed by {@link #shouldMovePacked()}, without computing it again.
+     */
+    public long moveTo(long newPackedPosition) {
+        packedPosition = newPackedPosition;
+        if (log.isTraceEnabled()) log.trace("{}", this);
+        return packedPosition;
     }
 
     public Position turnRight() {
-        currentPosition = mowerStrategy.shouldTurnRight(currentPosition);
+        turnRightPacked();
         log.info("{}", this);
-        return currentPosition;
+        return getCurrentPosition();
+    }
+
+    public long turnRightPacked() {
+        packedPosition = mowerStrategy.shouldTurnRight(packedPosition);
+        if (log.isTraceEnabled()) log.trace("{}", this);
+        return packedPosition;
     }
 
     public Position turnLeft() {
-        currentPosition = mowerStrategy.shouldTurnLeft(currentPosition);
+        turnLeftPacked();
         log.info("{}", this);
-        return currentPosition;
+        return getCurrentPosition();
+    }
+
+    public long turnLeftPacked() {
+        packedPosition = mowerStrategy.shouldTurnLeft(packedPosition);
+        if (log.isTraceEnabled()) log.trace("{}", this);
+        return packedPosition;
+    }
+
+    @Override
+    public String toString() {
+        return "Mower(id=" + id + ", currentPosition=" + getCurrentPosition() + ")";
     }
 }
@@ -0,0 +1,30 @@
+package com.xebia.mower.model;
+
+import lombok.Data;
+
+/**
+ * Static obstacle (tree, flower bed, shed...) covering the rectangle of cells from (xMin, yMin) to (xMax, yMax),
+ * both corners included.
+ */
+@Data
+public final class Obstacle {
+
+    private final int xMin;
+    private final int yMin;
+    private final int xMax;
+    private final int yMax;
+
+    public Obstacle(int xMin, int yMin, int xMax, int yMax) {
+        if (xMax < xMin) throw new IllegalArgumentException("xMax should not be lower than xMin");
+        if (yMax < yMin) throw new IllegalArgumentException("yMax should not be lower than yMin");
+
+        this.xMin = xMin;
+        this.yMin = yMin;
+        this.xMax = xMax;
+        this.yMax = yMax;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= xMin && x <= xMax && y >= yMin && y <= yMax;
+    }
+}
@@ -0,0 +1,85 @@
+package com.xebia.mower.model;
+
+import lombok.NoArgsConstructor;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Allocation-free encoding of a {@link Position} in a single long : x on the 31 upper bits, y on the next 31 bits
+ * and the {@link Orientation} ordinal on the 2 lower bits, both coordinates being signed.
+ *
+ * The move hot path works on packed positions only, {@link Position} objects are materialized at API boundaries.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class PackedPosition {
+
+    public static final int MIN_COORDINATE = -(1 << 30);
+    public static final int MAX_COORDINATE = (1 << 30) - 1;
+
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final int[] RIGHT = new int[ORIENTATIONS.length];
+    private static final int[] LEFT = new int[ORIENTATIONS.length];
+    private static final int[] DX = new int[ORIENTATIONS.length];
+    private static final int[] DY = new int[ORIENTATIONS.length];
+
+    static {
+        for (Orientation orientation : ORIENTATIONS) {
+            RIGHT[orientation.ordinal()] = orientation.getRightOrientation().ordinal();
+            LEFT[orientation.ordinal()] = orientation.getLeftOrientation().ordinal();
+        }
+        DY[Orientation.N.ordinal()] = 1;
+        DY[Orientation.S.ordinal()] = -1;
+        DX[Orientation.E.ordinal()] = 1;
+        DX[Orientation.W.ordinal()] = -1;
+    }
+
+    public static long pack(int x, int y, Orientation orientation) {
+        if (x < MIN_COORDINATE || x > MAX_COORDINATE || y < MIN_COORDINATE || y > MAX_COORDINATE)
+            throw new IllegalArgumentException("Coordinates should be between " + MIN_COORDINATE + " and " + MAX_COORDINATE + ".");
+        return pack(x, y, orientation.ordinal());
+    }
+
+    public static long of(Position position) {
+        return pack(position.getX(), position.getY(), position.getOrientation());
+    }
+
+    public static Position toPosition(long packedPosition) {
+        return new Position(getX(packedPosition), getY(packedPosition), getOrientation(packedPosition));
+    }
+
+    public static int getX(long packedPosition) {
+        return (int) (packedPosition >> 33);
+    }
+
+    public static int getY(long packedPosition) {
+        return (int) (packedPosition << 31 >> 33);
+    }
+
+    public static Orientation getOrientation(long packedPosition) {
+        return ORIENTATIONS[(int) packedPosition & 3];
+    }
+
+    public static long forward(long packedPosition) {
+        int orientation = (int) packedPosition & 3;
+        return pack(getX(packedPosition) + DX[orientation], getY(packedPosition) + DY[orientation], orientation);
+    }
+
+    public static long turnRight(long packedPosition) {
+        return (packedPosition & ~3L) | RIGHT[(int) packedPosition & 3];
+    }
+
+    public static long turnLeft(long packedPosition) {
+        return (packedPosition & ~3L) | LEFT[(int) packedPosition & 3];
+    }
+
+    /**
+     * Same as {@link Position#isSame(Position)} : compares coordinates only.
+     */
+    public static boolean isSame(long packedPosition1, long packedPosition2) {
+        return (packedPosition1 ^ packedPosition2) >>> 2 == 0;
+    }
+
+    private static long pack(int x, int y, int orientation) {
+        return ((long) x << 33) | ((y & 0x7FFFFFFFL) << 2) | orientation;
+    }
+}
@@ -1,6 +1,7 @@
 package com.xebia.mower.move;
 
 import com.xebia.mower.model.Orientation;
+import com.xebia.mower.model.PackedPosition;
 import com.xebia.mower.model.Position;
 
 import static java.util.Objects.requireNonNull;
@@ -31,4 +32,19 @@ public class DefaultMowerStrategy implements IMowerStrategy {
     public Position shouldTurnLeft(Position currentPosition) {
         return new Position(currentPosition.getX(), currentPosition.getY(), currentPosition.getOrientation().getLeftOrientation());
     }
+
+    @Override
+    public long shouldMove(long currentPackedPosition) {
+        return PackedPosition.forward(currentPackedPosition);
+    }
+
+    @Override
+    public long shouldTurnRight(long currentPackedPosition) {
+        return PackedPosition.turnRight(currentPackedPosition);
+    }
+
+    @Override
+    public long shouldTurnLeft(long currentPackedPosition) {
+        return PackedPosition.turnLeft(currentPackedPosition);
+    }
 }
@@ -7,4 +7,8 @@ public interface IMowerStrategy {
     Position shouldMove(Position currentPosition);
     Position shouldTurnRight(Position currentPosition);
     Position shouldTurnLeft(Position currentPosition);
+
+    long shouldMove(long currentPackedPosition);
+    long shouldTurnRight(long currentPackedPosition);
+    long shouldTurnLeft(long currentPackedPosition);
 }
@@ -0,0 +1,60 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.CellKey;
+import com.xebia.mower.model.Grid;
+
+/**
+ * Occupancy which starts as a {@link SparseOccupancy}, and switches once for good to a bitset when the hash set would
+ * weigh more than the bitset : memory stays around the smaller of one bit per cell and a hash entry per occupied cell,
+ * whatever the ratio between the fleet size and the grid area. The bitset is a {@link DenseOccupancy} for grids up to
+ * {@link IOccupancy#DENSE_MAX_CELLS} cells, an {@link OffHeapOccupancy} for bigger ones.
+ */
+public class AdaptiveOccupancy implements IOccupancy {
+
+    /**
+     * Worst weight of an occupied cell in a {@link SparseOccupancy} : four 8 bytes slots, the table being between a
+     * quarter and a half full after growing.
+     */
+    static final long SPARSE_BYTES_PER_CELL = 32;
+
+    final Grid grid;
+    final long switchCellCount;
+    IOccupancy delegate = new SparseOccupancy();
+    long occupiedCount;
+
+    public AdaptiveOccupancy(Grid grid) {
+        long denseBytes = ((DenseOccupancy.cellCount(grid) + 63) >>> 6) << 3;
+        this.grid = grid;
+        this.switchCellCount = Math.max(1, denseBytes / SPARSE_BYTES_PER_CELL);
+    }
+
+    @Override
+    public boolean isOccupied(int x, int y) {
+        return delegate.isOccupied(x, y);
+    }
+
+    @Override
+    public boolean occupy(int x, int y) {
+        if (!delegate.occupy(x, y)) return false;
+        if (++occupiedCount == switchCellCount && delegate instanceof SparseOccupancy) switchToDense();
+        return true;
+    }
+
+    @Override
+    public void release(int x, int y) {
+        if (delegate.isOccupied(x, y)) {
+            delegate.release(x, y);
+            occupiedCount--;
+        }
+    }
+
+    boolean isDense() {
+        return !(delegate instanceof SparseOccupancy);
+    }
+
+    private void switchToDense() {
+        IOccupancy dense = DenseOccupancy.cellCount(grid) <= DENSE_MAX_CELLS ? new DenseOccupancy(grid) : new OffHeapOccupancy(grid);
+        ((SparseOccupancy) delegate).cells.forEach(key -> dense.occupy(CellKey.getX(key), CellKey.getY(key)));
+        delegate = dense;
+    }
+}
@@ -0,0 +1,54 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.Grid;
+
+/**
+ * One bit per grid cell, indexed by (x - xMin, y - yMin) in row-major order.
+ */
+public class DenseOccupancy implements IOccupancy {
+
+    final int xMin;
+    final int yMin;
+    final long width;
+    final long[] words;
+
+    public DenseOccupancy(Grid grid) {
+        long cellCount = cellCount(grid);
+        if (cellCount > (long) Integer.MAX_VALUE << 6) throw new IllegalArgumentException("Grid is too large for a dense occupancy.");
+
+        this.xMin = grid.getXMin();
+        this.yMin = grid.getYMin();
+        this.width = (long) grid.getXMax() - grid.getXMin() + 1;
+        this.words = new long[(int) ((cellCount + 63) >>> 6)];
+    }
+
+    static long cellCount(Grid grid) {
+        return ((long) grid.getXMax() - grid.getXMin() + 1) * ((long) grid.getYMax() - grid.getYMin() + 1);
+    }
+
+    @Override
+    public boolean isOccupied(int x, int y) {
+        long index = index(x, y);
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean occupy(int x, int y) {
+        long index = index(x, y);
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        if ((words[word] & mask) != 0) return false;
+        words[word] |= mask;
+        return true;
+    }
+
+    @Override
+    public void release(int x, int y) {
+        long index = index(x, y);
+        words[(int) (index >>> 6)] &= ~(1L << index);
+    }
+
+    long index(int x, int y) {
+        return (y - (long) yMin) * width + (x - (long) xMin);
+    }
+}
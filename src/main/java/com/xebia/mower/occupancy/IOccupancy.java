@@ -0,0 +1,37 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.Grid;
+
+/**
+ * Index of the grid cells currently occupied by a mower, so that a collision check does not depend on the fleet size.
+ *
+ * Implementations are not thread-safe : callers have to guard them with their own lock, as
+ * {@link com.xebia.mower.mediator.DefaultMediator} does with its position lock.
+ */
+public interface IOccupancy {
+
+    /**
+     * Grids up to this number of cells are indexed by a dense bitset on the heap from the start (at most 8 KB), bigger
+     * ones by an {@link AdaptiveOccupancy}, which only switches to a bitset when the fleet is dense enough : a few
+     * mowers on a large lawn only cost a hash entry each.
+     */
+    long EAGER_DENSE_MAX_CELLS = 1L << 16;
+
+    /**
+     * Largest grid whose bitset is kept on the heap (at most 16 MB), bigger ones being stored off-heap.
+     */
+    long DENSE_MAX_CELLS = 1L << 27;
+
+    boolean isOccupied(int x, int y);
+
+    /**
+     * @return false if the cell was already occupied
+     */
+    boolean occupy(int x, int y);
+
+    void release(int x, int y);
+
+    static IOccupancy forGrid(Grid grid) {
+        return DenseOccupancy.cellCount(grid) <= EAGER_DENSE_MAX_CELLS ? new DenseOccupancy(grid) : new AdaptiveOccupancy(grid);
+    }
+}
@@ -0,0 +1,131 @@
+package com.xebia.mower.occupancy;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open addressing hash set of primitive longs, such as {@link com.xebia.mower.model.CellKey}s : no boxing, no node per
+ * entry, so adding, finding and removing a key never allocate (except when the table grows).
+ *
+ * Keys are spread by Fibonacci hashing and probed linearly, and removals shift the next keys back, so that no
+ * tombstone slows the lookups down. The table is at most half full. 0 marks free slots, the 0 key being tracked apart.
+ */
+public class LongHashSet {
+
+    static final int DEFAULT_CAPACITY = 16;
+
+    long[] keys;
+    int mask;
+    int shift;
+    int size;
+    boolean containsZero;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) return containsZero;
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return false if the key was already in the set
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slot(key);
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return false;
+        }
+        keys[slot] = key;
+        if (++size > keys.length >>> 1) rehash(keys.length << 1);
+        return true;
+    }
+
+    /**
+     * @return false if the key was not in the set
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZero) return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) action.accept(0);
+        for (long key : keys) {
+            if (key != 0) action.accept(key);
+        }
+    }
+
+    /**
+     * Fills the free slot by moving back the next keys of the probe sequence whose home slot is not after it.
+     */
+    private void shiftBack(int free) {
+        for (int slot = (free + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            int home = slot(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                free = slot;
+            }
+        }
+        keys[free] = 0;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        allocate(tableSize);
+        for (long key : oldKeys) {
+            if (key == 0) continue;
+            int slot = slot(key);
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = key;
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        mask = tableSize - 1;
+        shift = Long.numberOfLeadingZeros(tableSize - 1L);
+    }
+
+    int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    static int tableSize(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("expectedSize should not be negative.");
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+    }
+}
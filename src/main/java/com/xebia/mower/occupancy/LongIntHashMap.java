@@ -0,0 +1,154 @@
+package com.xebia.mower.occupancy;
+
+import static com.xebia.mower.occupancy.LongHashSet.DEFAULT_CAPACITY;
+import static com.xebia.mower.occupancy.LongHashSet.tableSize;
+
+/**
+ * Open addressing hash map from primitive longs to primitive ints, such as the index of the mower standing on a
+ * {@link com.xebia.mower.model.CellKey}, with the same layout as {@link LongHashSet} : lookups and updates never box
+ * nor allocate. A missing key is reported with the missing value given at construction.
+ */
+public class LongIntHashMap {
+
+    final int missingValue;
+    long[] keys;
+    int[] values;
+    int mask;
+    int shift;
+    int size;
+    boolean containsZero;
+    int zeroValue;
+
+    public LongIntHashMap(int missingValue) {
+        this(DEFAULT_CAPACITY, missingValue);
+    }
+
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * @return the value of the key, or the missing value
+     */
+    public int get(long key) {
+        if (key == 0) return containsZero ? zeroValue : missingValue;
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return values[slot];
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) return containsZero;
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the previous value of the key, or the missing value
+     */
+    public int put(long key, int value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * @return the current value of the key, or the missing value when the value has been put
+     */
+    public int putIfAbsent(long key, int value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * @return the removed value of the key, or the missing value
+     */
+    public int remove(long key) {
+        if (key == 0) {
+            if (!containsZero) return missingValue;
+            containsZero = false;
+            size--;
+            return zeroValue;
+        }
+        for (int slot = slot(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int value = values[slot];
+                shiftBack(slot);
+                size--;
+                return value;
+            }
+        }
+        return missingValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int put(long key, int value, boolean replacing) {
+        if (key == 0) {
+            if (containsZero) {
+                int previous = zeroValue;
+                if (replacing) zeroValue = value;
+                return previous;
+            }
+            containsZero = true;
+            zeroValue = value;
+            size++;
+            return missingValue;
+        }
+        int slot = slot(key);
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                if (replacing) values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length >>> 1) rehash(keys.length << 1);
+        return missingValue;
+    }
+
+    private void shiftBack(int free) {
+        for (int slot = (free + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            int home = slot(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                values[free] = values[slot];
+                free = slot;
+            }
+        }
+        keys[free] = 0;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(tableSize);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int slot = slot(oldKeys[i]);
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new int[tableSize];
+        mask = tableSize - 1;
+        shift = Long.numberOfLeadingZeros(tableSize - 1L);
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
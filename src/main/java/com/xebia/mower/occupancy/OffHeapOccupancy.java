@@ -0,0 +1,80 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.Grid;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Same bitset as {@link DenseOccupancy}, one bit per grid cell indexed by (x - xMin, y - yMin) in row-major order,
+ * but stored outside of the heap in direct buffers of at most 1 GB each : a lawn of billions of cells neither grows
+ * the heap nor adds work to the garbage collector, and is not limited by the maximum size of a Java array.
+ *
+ * The memory is allocated and zeroed by the constructor, and freed when the occupancy is garbage collected.
+ */
+public class OffHeapOccupancy implements IOccupancy {
+
+    static final int CHUNK_WORDS_SHIFT = 27;
+
+    final int xMin;
+    final int yMin;
+    final long width;
+    final int chunkWordsShift;
+    final long chunkWordsMask;
+    final LongBuffer[] chunks;
+
+    public OffHeapOccupancy(Grid grid) {
+        this(grid, CHUNK_WORDS_SHIFT);
+    }
+
+    OffHeapOccupancy(Grid grid, int chunkWordsShift) {
+        long wordCount = (DenseOccupancy.cellCount(grid) + 63) >>> 6;
+        long chunkCount = ((wordCount - 1) >>> chunkWordsShift) + 1;
+        if (chunkCount > Integer.MAX_VALUE) throw new IllegalArgumentException("Grid is too large for an off-heap occupancy.");
+
+        this.xMin = grid.getXMin();
+        this.yMin = grid.getYMin();
+        this.width = (long) grid.getXMax() - grid.getXMin() + 1;
+        this.chunkWordsShift = chunkWordsShift;
+        this.chunkWordsMask = (1L << chunkWordsShift) - 1;
+        this.chunks = new LongBuffer[(int) chunkCount];
+        for (int i = 0; i < chunks.length; i++) {
+            long words = Math.min(wordCount - ((long) i << chunkWordsShift), 1L << chunkWordsShift);
+            chunks[i] = ByteBuffer.allocateDirect((int) words << 3).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+    }
+
+    @Override
+    public boolean isOccupied(int x, int y) {
+        long index = index(x, y);
+        long word = index >>> 6;
+        return (chunks[(int) (word >>> chunkWordsShift)].get((int) (word & chunkWordsMask)) & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean occupy(int x, int y) {
+        long index = index(x, y);
+        long word = index >>> 6;
+        LongBuffer chunk = chunks[(int) (word >>> chunkWordsShift)];
+        int offset = (int) (word & chunkWordsMask);
+        long mask = 1L << index;
+        long bits = chunk.get(offset);
+        if ((bits & mask) != 0) return false;
+        chunk.put(offset, bits | mask);
+        return true;
+    }
+
+    @Override
+    public void release(int x, int y) {
+        long index = index(x, y);
+        long word = index >>> 6;
+        LongBuffer chunk = chunks[(int) (word >>> chunkWordsShift)];
+        int offset = (int) (word & chunkWordsMask);
+        chunk.put(offset, chunk.get(offset) & ~(1L << index));
+    }
+
+    long index(int x, int y) {
+        return (y - (long) yMin) * width + (x - (long) xMin);
+    }
+}
@@ -0,0 +1,27 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.CellKey;
+
+/**
+ * Hash set of occupied cells, keyed by {@link CellKey}. Memory is proportional to the fleet size, whatever the grid
+ * area, and checks never allocate as keys are primitive longs.
+ */
+public class SparseOccupancy implements IOccupancy {
+
+    final LongHashSet cells = new LongHashSet();
+
+    @Override
+    public boolean isOccupied(int x, int y) {
+        return cells.contains(CellKey.of(x, y));
+    }
+
+    @Override
+    public boolean occupy(int x, int y) {
+        return cells.add(CellKey.of(x, y));
+    }
+
+    @Override
+    public void release(int x, int y) {
+        cells.remove(CellKey.of(x, y));
+    }
+}
@@ -2,6 +2,8 @@ package com.xebia.mower.parser;
 
 import com.xebia.mower.model.Grid;
 import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Obstacle;
 import com.xebia.mower.model.Orientation;
 import com.xebia.mower.model.Position;
 import lombok.NoArgsConstructor;
@@ -22,6 +24,23 @@ public class FileLineParser {
         return new Grid(xMin, yMin, Integer.valueOf(pos[0]), Integer.valueOf(pos[1]));
     }
 
+    public static boolean isObstacle(String line) {
+        return line.startsWith("X ");
+    }
+
+    /**
+     * Parses an obstacle line "X x1 y1 x2 y2", the two corners being given in any order.
+     */
+    public static Obstacle parseObstacle(String line) {
+        String[] pos = line.trim().split(" +");
+        if (pos.length < 5 || !"X".equals(pos[0])) throw new IllegalArgumentException("Obstacle should have a x1, y1, x2 and y2.");
+        int x1 = Integer.valueOf(pos[1]);
+        int y1 = Integer.valueOf(pos[2]);
+        int x2 = Integer.valueOf(pos[3]);
+        int y2 = Integer.valueOf(pos[4]);
+        return new Obstacle(Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2));
+    }
+
     public static Position parseMowerInitialPosition(String line) {
         String[] pos = line.split(" ");
         if (pos.length < 3) throw new IllegalArgumentException("Mower Initial Position should have a x, y and orientation.");
@@ -31,4 +50,8 @@ public class FileLineParser {
     public static List<Instruction> parseInstructions(String line) {
         return Collections.unmodifiableList(Arrays.stream(line.split("")).map(Instruction::valueOf).collect(toList()));
     }
+
+    public static InstructionProgram parseProgram(String line) {
+        return InstructionProgram.parse(line);
+    }
 }
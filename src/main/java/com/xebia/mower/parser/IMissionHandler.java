@@ -0,0 +1,24 @@
+package com.xebia.mower.parser;
+
+import com.xebia.mower.model.Grid;
+
+/**
+ * Receives the content of a mission file as {@link StreamingMissionParser} decodes it, one mower at a time.
+ */
+public interface IMissionHandler {
+
+    void onGrid(Grid grid);
+
+    /**
+     * @param initialPackedPosition see {@link com.xebia.mower.model.PackedPosition}
+     */
+    void onMower(long initialPackedPosition);
+
+    /**
+     * Called zero, one or several times per mower, with consecutive chunks of its instruction line.
+     * The bytes are validated 'D', 'G' or 'A' characters, and the array is reused once this method returns.
+     */
+    void onInstructions(byte[] instructions, int offset, int length);
+
+    void onMowerEnd();
+}
@@ -0,0 +1,205 @@
+package com.xebia.mower.parser;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Obstacle;
+import com.xebia.mower.model.Orientation;
+import com.xebia.mower.model.PackedPosition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Streaming counterpart of {@link FileLineParser} : the mission is read through a {@link ReadableByteChannel} into a
+ * fixed size buffer, and the grid header, positions and instructions are decoded directly from the bytes, without
+ * any String or per-character allocation.
+ *
+ * Mowers are handed over to the {@link IMissionHandler} as soon as they are read, and long instruction lines are handed
+ * over chunk by chunk, so the memory used does not depend on the size of the file.
+ *
+ * The grid line may be followed by obstacle lines "X x1 y1 x2 y2", each one covering the rectangle of cells between
+ * the two corners : the grid is handed over with its obstacles once they are all read.
+ */
+public class StreamingMissionParser {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int EOF = -1;
+    private static final int OBSTACLE = 'X';
+    private static final Orientation[] ORIENTATION_VALUES = Orientation.values();
+    private static final byte[] ORIENTATIONS = new byte[128];
+    private static final boolean[] INSTRUCTIONS = new boolean[128];
+
+    static {
+        Arrays.fill(ORIENTATIONS, (byte) -1);
+        for (Orientation orientation : Orientation.values()) {
+            ORIENTATIONS[orientation.name().charAt(0)] = (byte) orientation.ordinal();
+        }
+        INSTRUCTIONS['D'] = true;
+        INSTRUCTIONS['G'] = true;
+        INSTRUCTIONS['A'] = true;
+    }
+
+    private final int bufferSize;
+
+    public StreamingMissionParser() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public StreamingMissionParser(int bufferSize) {
+        if (bufferSize <= 0) throw new IllegalArgumentException("bufferSize should be positive.");
+        this.bufferSize = bufferSize;
+    }
+
+    public void parse(Path path, IMissionHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            parse(channel, handler);
+        }
+    }
+
+    public void parse(ReadableByteChannel channel, IMissionHandler handler) throws IOException {
+        new Reader(channel, bufferSize, handler).read();
+    }
+
+    private static final class Reader {
+
+        final ReadableByteChannel channel;
+        final ByteBuffer buffer;
+        final byte[] bytes;
+        final IMissionHandler handler;
+        int position;
+        int limit;
+
+        Reader(ReadableByteChannel channel, int bufferSize, IMissionHandler handler) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+            this.bytes = buffer.array();
+            this.handler = handler;
+        }
+
+        void read() throws IOException {
+            int xMax = readInt("Grid configuration should have a xMax and yMax.");
+            int yMax = readInt("Grid configuration should have a xMax and yMax.");
+            endLine("Grid configuration should have a xMax and yMax.");
+
+            List<Obstacle> obstacles = new ArrayList<>();
+            while (skipBlankLines() == OBSTACLE) {
+                position++;
+                String error = "Obstacle should have a x1, y1, x2 and y2.";
+                int x1 = readInt(error);
+                int y1 = readInt(error);
+                int x2 = readInt(error);
+                int y2 = readInt(error);
+                endLine(error);
+                obstacles.add(new Obstacle(Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2)));
+            }
+            handler.onGrid(new Grid(0, 0, xMax, yMax, obstacles));
+
+            while (skipBlankLines() != EOF) {
+                String error = "Mower Initial Position should have a x, y and orientation.";
+                int x = readInt(error);
+                int y = readInt(error);
+                skipSpaces();
+                int orientation = next();
+                if (orientation < 0 || orientation >= ORIENTATIONS.length || ORIENTATIONS[orientation] < 0)
+                    throw new IllegalArgumentException(error);
+                endLine(error);
+                handler.onMower(PackedPosition.pack(x, y, ORIENTATION_VALUES[ORIENTATIONS[orientation]]));
+
+                readInstructions();
+                handler.onMowerEnd();
+            }
+        }
+
+        void readInstructions() throws IOException {
+            while (true) {
+                if (position == limit && !fill()) return;
+                int start = position;
+                while (position < limit) {
+                    byte b = bytes[position];
+                    if (b == '\n' || b == '\r') {
+                        flushInstructions(start);
+                        endLine("Instructions should be followed by a new line.");
+                        return;
+                    }
+                    if (b < 0 || !INSTRUCTIONS[b]) throw new IllegalArgumentException("Unknown instruction : " + (char) b);
+                    position++;
+                }
+                flushInstructions(start);
+            }
+        }
+
+        void flushInstructions(int start) {
+            if (position > start) handler.onInstructions(bytes, start, position - start);
+        }
+
+        int readInt(String error) throws IOException {
+            skipSpaces();
+            boolean negative = peek() == '-';
+            if (negative) position++;
+            int digit = peek() - '0';
+            if (digit < 0 || digit > 9) throw new IllegalArgumentException(error);
+
+            long value = 0;
+            while (digit >= 0 && digit <= 9) {
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE) throw new IllegalArgumentException(error);
+                position++;
+                digit = peek() - '0';
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        void skipSpaces() throws IOException {
+            while (peek() == ' ' || peek() == '\t') position++;
+        }
+
+        /**
+         * Trailing spaces are tolerated, anything else before the end of the line is an error.
+         */
+        void endLine(String error) throws IOException {
+            skipSpaces();
+            int b = next();
+            if (b == '\r') b = next();
+            if (b != '\n' && b != EOF) throw new IllegalArgumentException(error);
+        }
+
+        /**
+         * @return the first byte of the next non blank line, or {@link #EOF}
+         */
+        int skipBlankLines() throws IOException {
+            int b;
+            while ((b = peek()) == ' ' || b == '\t' || b == '\r' || b == '\n') position++;
+            return b;
+        }
+
+        int peek() throws IOException {
+            if (position == limit && !fill()) return EOF;
+            return bytes[position] & 0xFF;
+        }
+
+        int next() throws IOException {
+            int b = peek();
+            if (b != EOF) position++;
+            return b;
+        }
+
+        boolean fill() throws IOException {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+    }
+}
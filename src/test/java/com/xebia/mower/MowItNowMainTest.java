@@ -17,6 +17,7 @@ import java.util.concurrent.Executors;
 import static com.xebia.mower.model.Orientation.E;
 import static com.xebia.mower.model.Orientation.N;
 import static com.xebia.mower.parser.FileLineParser.parseInstructions;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class MowItNowMainTest {
@@ -39,6 +40,22 @@ public class MowItNowMainTest {
         assertThat(mower2.getCurrentPosition()).isEqualTo(new Position(5, 1, E));
     }
 
+    @Test public void should_run_sequencially_with_programs() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 5, 5);
+        Mower mower1 = new Mower("1", 1, 2, N);
+        Mower mower2 = new Mower("2", 3, 3, E);
+        IMediator manager = new DefaultMediator(grid).register(mower1).register(mower2);
+
+        // When
+        Position result1 = manager.sendInstructions(parseProgram("GAGAGAGAA"), mower1);
+        Position result2 = manager.sendInstructions(parseProgram("AADAADADDA"), mower2);
+
+        // Then
+        assertThat(result1).isEqualTo(new Position(1, 3, N));
+        assertThat(result2).isEqualTo(new Position(5, 1, E));
+    }
+
     @Test public void should_run_concurrently_with_runnables() throws Exception {
         // Given
         Grid grid = new Grid(0, 0, 5, 5);
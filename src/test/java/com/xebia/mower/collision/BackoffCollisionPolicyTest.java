@@ -0,0 +1,41 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.N;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BackoffCollisionPolicyTest {
+
+    @Test public void should_double_timeouts_up_to_max() throws Exception {
+        // Given
+        BackoffCollisionPolicy policy = new BackoffCollisionPolicy(2, 10, 5);
+        Mower mower = new Mower("1", 1, 1, N);
+        long cell = pack(1, 2, N);
+
+        // When // Then
+        assertThat(policy.onCollision(cell, mower, 0)).isEqualTo(2);
+        assertThat(policy.onCollision(cell, mower, 1)).isEqualTo(4);
+        assertThat(policy.onCollision(cell, mower, 2)).isEqualTo(8);
+        assertThat(policy.onCollision(cell, mower, 3)).isEqualTo(10);
+        assertThat(policy.onCollision(cell, mower, 4)).isEqualTo(10);
+        assertThat(policy.onCollision(cell, mower, 5)).isNegative();
+        assertThat(policy.getStatistics().getWaitCount()).isEqualTo(5);
+    }
+
+    @Test public void should_not_overflow_on_many_waits() throws Exception {
+        // Given
+        BackoffCollisionPolicy policy = new BackoffCollisionPolicy(3, Long.MAX_VALUE, 100);
+
+        // When // Then
+        assertThat(policy.onCollision(pack(1, 2, N), new Mower("1", 1, 1, N), 70)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test public void should_throw_exception_when_max_timeout_is_lower_than_initial_timeout() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new BackoffCollisionPolicy(10, 2, 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CellWaitersTest {
+
+    CellWaiters waiters = new CellWaiters();
+    Mower mower1 = new Mower("1", 1, 1, N);
+    Mower mower2 = new Mower("2", 1, 3, S);
+
+    @Test public void should_keep_waiters_of_a_cell_in_arrival_order() throws Exception {
+        // When
+        waiters.add(pack(1, 2, N), mower2);
+        waiters.add(pack(1, 2, S), mower1);
+        waiters.add(pack(1, 2, N), mower2);
+
+        // Then
+        assertThat(waiters.get(pack(1, 2, E))).extracting(waiter -> waiter.mower).containsExactly(mower2, mower1);
+        assertThat(waiters.get(pack(2, 1, E))).isNull();
+    }
+
+    @Test public void should_recycle_queue_of_a_cell_without_waiters() throws Exception {
+        // Given
+        waiters.add(pack(1, 2, N), mower1);
+        waiters.remove(pack(1, 2, N), mower1);
+
+        // When
+        waiters.add(pack(4, 4, N), mower2);
+
+        // Then
+        assertThat(waiters.get(pack(1, 2, N))).isNull();
+        assertThat(waiters.get(pack(4, 4, N))).extracting(waiter -> waiter.mower).containsExactly(mower2);
+        assertThat(waiters.queues).hasSize(1);
+        assertThat(waiters.isEmpty()).isFalse();
+    }
+}
@@ -0,0 +1,29 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.N;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FailFastCollisionPolicyTest {
+
+    FailFastCollisionPolicy policy = new FailFastCollisionPolicy();
+
+    @Test public void should_give_up_at_once() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 1, N);
+
+        // When
+        boolean mayEnter = policy.mayEnter(pack(1, 2, N), mower);
+        long timeout = policy.onCollision(pack(1, 2, N), mower, 0);
+        policy.onResolved(pack(1, 2, N), mower, false);
+
+        // Then
+        assertThat(mayEnter).isTrue();
+        assertThat(timeout).isNegative();
+        assertThat(policy.getStatistics()).isEqualTo(new CollisionPolicyStatistics(1, 0, 0, 1, 0));
+        assertThat(policy.getStatistics().getResolutionRate()).isZero();
+    }
+}
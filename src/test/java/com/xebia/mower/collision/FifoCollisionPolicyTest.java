@@ -0,0 +1,63 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FifoCollisionPolicyTest {
+
+    FifoCollisionPolicy policy = new FifoCollisionPolicy(1000);
+    Mower mower1 = new Mower("1", 1, 1, N);
+    Mower mower2 = new Mower("2", 1, 3, S);
+    long cell = pack(1, 2, N);
+
+    @Test public void should_let_first_waiter_enter_first() throws Exception {
+        // Given
+        policy.onCollision(cell, mower2, 0);
+        policy.onCollision(cell, mower1, 0);
+
+        // When // Then
+        assertThat(policy.mayEnter(pack(1, 2, E), mower1)).isFalse();
+        assertThat(policy.mayEnter(cell, mower2)).isTrue();
+        policy.onResolved(cell, mower2, true);
+        assertThat(policy.mayEnter(cell, mower1)).isTrue();
+        assertThat(policy.getStatistics().getDeferredCount()).isEqualTo(1);
+    }
+
+    @Test public void should_not_defer_mowers_of_other_cells() throws Exception {
+        // Given
+        policy.onCollision(cell, mower2, 0);
+
+        // When // Then
+        assertThat(policy.mayEnter(pack(2, 1, E), mower1)).isTrue();
+        assertThat(policy.getStatistics().getDeferredCount()).isZero();
+    }
+
+    @Test public void should_queue_mower_once() throws Exception {
+        // Given
+        policy.onCollision(cell, mower1, 0);
+        policy.onCollision(cell, mower2, 0);
+        policy.onCollision(cell, mower1, 1);
+
+        // When
+        policy.onResolved(cell, mower1, true);
+
+        // Then
+        assertThat(policy.mayEnter(cell, mower2)).isTrue();
+    }
+
+    @Test public void should_give_up_after_max_wait() throws Exception {
+        // Given
+        FifoCollisionPolicy policy = new FifoCollisionPolicy(0);
+
+        // When
+        long timeout = policy.onCollision(cell, mower1, 0);
+
+        // Then
+        assertThat(timeout).isNegative();
+        assertThat(new FifoCollisionPolicy(50).onCollision(cell, mower1, 0)).isBetween(1L, 50L);
+    }
+}
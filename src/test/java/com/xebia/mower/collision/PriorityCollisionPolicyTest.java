@@ -0,0 +1,47 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriorityCollisionPolicyTest {
+
+    Mower mower2 = new Mower("2", 1, 1, N);
+    Mower mower10 = new Mower("10", 1, 3, S);
+    long cell = pack(1, 2, N);
+
+    @Test public void should_let_lowest_id_enter_first() throws Exception {
+        // Given
+        PriorityCollisionPolicy policy = new PriorityCollisionPolicy();
+        policy.onCollision(cell, mower10, 0);
+        policy.onCollision(cell, mower2, 0);
+
+        // When // Then
+        assertThat(policy.mayEnter(cell, mower10)).isFalse();
+        assertThat(policy.mayEnter(cell, mower2)).isTrue();
+        policy.onResolved(cell, mower2, true);
+        assertThat(policy.mayEnter(cell, mower10)).isTrue();
+    }
+
+    @Test public void should_defer_mower_arriving_with_lower_priority() throws Exception {
+        // Given
+        PriorityCollisionPolicy policy = new PriorityCollisionPolicy();
+        policy.onCollision(cell, mower2, 0);
+
+        // When // Then
+        assertThat(policy.mayEnter(cell, mower10)).isFalse();
+        assertThat(policy.getStatistics().getDeferredCount()).isEqualTo(1);
+    }
+
+    @Test public void should_use_given_priority() throws Exception {
+        // Given
+        PriorityCollisionPolicy policy = new PriorityCollisionPolicy(PriorityCollisionPolicy.BY_ID.reversed(), 1000);
+        policy.onCollision(cell, mower10, 0);
+
+        // When // Then
+        assertThat(policy.mayEnter(cell, mower2)).isFalse();
+    }
+}
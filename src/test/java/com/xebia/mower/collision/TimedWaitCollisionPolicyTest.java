@@ -0,0 +1,48 @@
+package com.xebia.mower.collision;
+
+import com.xebia.mower.model.Mower;
+import org.junit.Test;
+
+import static com.xebia.mower.mediator.DefaultMediator.DEFAULT_WAIT_TIMEOUT;
+import static com.xebia.mower.model.Orientation.N;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimedWaitCollisionPolicyTest {
+
+    @Test public void should_wait_twice_by_default() throws Exception {
+        // Given
+        TimedWaitCollisionPolicy policy = new TimedWaitCollisionPolicy();
+        Mower mower = new Mower("1", 1, 1, N);
+
+        // When // Then
+        assertThat(policy.onCollision(pack(1, 2, N), mower, 0)).isEqualTo(DEFAULT_WAIT_TIMEOUT);
+        assertThat(policy.onCollision(pack(1, 2, N), mower, 1)).isEqualTo(DEFAULT_WAIT_TIMEOUT);
+        assertThat(policy.onCollision(pack(1, 2, N), mower, 2)).isNegative();
+        assertThat(policy.getStatistics().getCollisionCount()).isEqualTo(1);
+        assertThat(policy.getStatistics().getWaitCount()).isEqualTo(2);
+    }
+
+    @Test public void should_count_resolutions() throws Exception {
+        // Given
+        TimedWaitCollisionPolicy policy = new TimedWaitCollisionPolicy(1, 10);
+        Mower mower = new Mower("1", 1, 1, N);
+
+        // When
+        policy.onCollision(pack(1, 2, N), mower, 0);
+        policy.onResolved(pack(1, 2, N), mower, true);
+        policy.onCollision(pack(1, 3, N), mower, 0);
+        policy.onCollision(pack(1, 3, N), mower, 1);
+        policy.onResolved(pack(1, 3, N), mower, false);
+
+        // Then
+        assertThat(policy.getStatistics()).isEqualTo(new CollisionPolicyStatistics(2, 2, 1, 1, 0));
+        assertThat(policy.getStatistics().getResolutionRate()).isEqualTo(0.5);
+    }
+
+    @Test public void should_throw_exception_when_max_waits_is_negative() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new TimedWaitCollisionPolicy(-1, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.xebia.mower.coverage;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Obstacle;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CoverageMapTest {
+
+    CoverageMap coverage = new CoverageMap(new Grid(0, 0, 4, 3));
+
+    @Test public void should_mow_cell_once() throws Exception {
+        // When
+        coverage.mow(2, 1);
+        coverage.mow(pack(2, 1, N));
+
+        // Then
+        assertThat(coverage.isMowed(2, 1)).isTrue();
+        assertThat(coverage.isMowed(1, 2)).isFalse();
+        assertThat(coverage.getMowedCount()).isEqualTo(1);
+        assertThat(coverage.getCellCount()).isEqualTo(20);
+        assertThat(coverage.getCoveragePercentage()).isEqualTo(5.0);
+    }
+
+    @Test public void should_mow_runs_on_rows_and_columns() throws Exception {
+        // When
+        coverage.mowRun(pack(4, 1, W), pack(1, 1, W));
+        coverage.mowRun(pack(2, 0, N), pack(2, 3, N));
+
+        // Then
+        assertThat(coverage.getMowedCount()).isEqualTo(7);
+        assertThat(coverage.isMowed(1, 1)).isTrue();
+        assertThat(coverage.isMowed(0, 1)).isFalse();
+        assertThat(coverage.isMowed(2, 3)).isTrue();
+    }
+
+    @Test public void should_throw_exception_when_run_is_not_straight() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> coverage.mowRun(pack(0, 0, N), pack(1, 1, N))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_mow_ranges_across_words_like_single_cells() throws Exception {
+        // Given
+        Grid grid = new Grid(-100, 0, 199, 3);
+        CoverageMap expected = new CoverageMap(grid);
+        CoverageMap coverage = new CoverageMap(grid);
+        Random random = new Random(21);
+
+        for (int i = 0; i < 200; i++) {
+            int y = random.nextInt(4);
+            int from = -100 + random.nextInt(300);
+            int to = -100 + random.nextInt(300);
+
+            // When
+            coverage.mowRun(pack(from, y, E), pack(to, y, E));
+            for (int x = Math.min(from, to); x <= Math.max(from, to); x++) {
+                expected.mow(x, y);
+            }
+
+            // Then
+            assertThat(coverage.words).isEqualTo(expected.words);
+            assertThat(coverage.getMowedCount()).isEqualTo(expected.getMowedCount());
+        }
+    }
+
+    @Test public void should_find_unmowed_regions() throws Exception {
+        // Given
+        coverage.mowRun(pack(2, 0, N), pack(2, 3, N));
+        coverage.mowRun(pack(0, 2, E), pack(1, 2, E));
+
+        // When // Then
+        assertThat(coverage.findUnmowedRegions()).containsExactly(
+                new UnmowedRegion(0, 0, 1, 1, 4),
+                new UnmowedRegion(3, 0, 4, 3, 8),
+                new UnmowedRegion(0, 3, 1, 3, 2));
+    }
+
+    @Test public void should_find_no_region_when_complete() throws Exception {
+        // Given
+        for (int y = 0; y <= 3; y++) {
+            coverage.mowRun(pack(0, y, E), pack(4, y, E));
+        }
+
+        // When // Then
+        assertThat(coverage.isComplete()).isTrue();
+        assertThat(coverage.getCoveragePercentage()).isEqualTo(100.0);
+        assertThat(coverage.findUnmowedRegions()).isEmpty();
+    }
+
+    @Test public void should_find_whole_grid_when_nothing_is_mowed() throws Exception {
+        // When // Then
+        assertThat(new CoverageMap(new Grid(-5, -5, 94, 94)).findUnmowedRegions()).containsExactly(new UnmowedRegion(-5, -5, 94, 94, 10_000));
+    }
+
+    @Test public void should_not_count_obstacle_cells() throws Exception {
+        // Given
+        CoverageMap coverage = new CoverageMap(new Grid(0, 0, 4, 3, Collections.singletonList(new Obstacle(2, 0, 2, 3))));
+        for (int y = 0; y <= 3; y++) {
+            coverage.mowRun(pack(0, y, E), pack(1, y, E));
+        }
+
+        // When // Then
+        assertThat(coverage.getCellCount()).isEqualTo(16);
+        assertThat(coverage.getMowedCount()).isEqualTo(8);
+        assertThat(coverage.getCoveragePercentage()).isEqualTo(50.0);
+        assertThat(coverage.findUnmowedRegions()).containsExactly(new UnmowedRegion(3, 0, 4, 3, 8));
+    }
+}
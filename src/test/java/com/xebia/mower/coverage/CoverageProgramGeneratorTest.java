@@ -0,0 +1,157 @@
+package com.xebia.mower.coverage;
+
+import com.xebia.mower.engine.TickEngine;
+import com.xebia.mower.mediator.DefaultMediator;
+import com.xebia.mower.metrics.MediatorMetrics;
+import com.xebia.mower.model.CompiledProgram;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Obstacle;
+import com.xebia.mower.model.PackedPosition;
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.xebia.mower.model.Orientation.*;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CoverageProgramGeneratorTest {
+
+    @Test public void should_cover_lawn_with_single_mower() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 2, 1);
+
+        // When
+        List<InstructionProgram> programs = CoverageProgramGenerator.generate(grid, singletonList(new Position(0, 0, N)));
+
+        // Then
+        assertThat(programs).extracting(InstructionProgram::toString).containsExactly("DAAGAGAA");
+        assertThat(replay(grid, singletonList(new Position(0, 0, N)), programs).isComplete()).isTrue();
+    }
+
+    @Test public void should_drive_to_nearest_corner_first() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 2, 3);
+
+        // When
+        List<InstructionProgram> programs = CoverageProgramGenerator.generate(grid, singletonList(new Position(2, 2, W)));
+
+        // Then
+        assertThat(programs.get(0).toString()).isEqualTo("DADDAAADADAAAGAGAAA");
+        assertThat(replay(grid, singletonList(new Position(2, 2, W)), programs).isComplete()).isTrue();
+    }
+
+    @Test public void should_cover_lawn_with_fleet_without_collision() throws Exception {
+        // Given
+        Grid grid = new Grid(-3, 0, 20, 9);
+        List<Position> starts = asList(new Position(18, 2, S), new Position(-3, 9, E), new Position(5, 5, N), new Position(6, 0, W));
+        MediatorMetrics metrics = new MediatorMetrics();
+
+        // When
+        List<InstructionProgram> programs = CoverageProgramGenerator.generate(grid, starts);
+
+        // Then
+        CoverageMap coverage = replay(grid, starts, programs, metrics);
+        assertThat(coverage.isComplete()).isTrue();
+        assertThat(metrics.getCollisionCount()).isZero();
+        assertThat(metrics.getInvalidMoveCount()).isZero();
+    }
+
+    @Test public void should_split_in_rows_when_mowers_share_a_column() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 9, 9);
+        List<Position> starts = asList(new Position(4, 0, N), new Position(4, 9, S));
+        MediatorMetrics metrics = new MediatorMetrics();
+
+        // When
+        List<InstructionProgram> programs = CoverageProgramGenerator.generate(grid, starts);
+
+        // Then
+        assertThat(replay(grid, starts, programs, metrics).isComplete()).isTrue();
+        assertThat(metrics.getCollisionCount()).isZero();
+        assertThat(programs.get(0).length()).isLessThan(70);
+    }
+
+    @Test public void should_balance_strips_to_minimize_ticks() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 99, 99);
+        List<Position> starts = asList(new Position(0, 0, N), new Position(25, 0, N), new Position(50, 0, N), new Position(75, 0, N));
+        List<InstructionProgram> programs = CoverageProgramGenerator.generate(grid, starts);
+        TickEngine engine = new TickEngine(grid);
+        for (int i = 0; i < starts.size(); i++) {
+            engine.addMower(PackedPosition.of(starts.get(i)), programs.get(i));
+        }
+
+        // When
+        engine.run();
+
+        // Then
+        assertThat(engine.getTickCount()).isLessThan(100 * 100 / 4 + 100);
+    }
+
+    @Test public void should_generate_programs_for_millions_of_cells() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 1999, 1499);
+        List<Position> starts = asList(new Position(10, 10, N), new Position(600, 1400, E), new Position(1200, 700, S), new Position(1999, 0, W));
+        long start = System.nanoTime();
+
+        // When
+        List<InstructionProgram> programs = CoverageProgramGenerator.generate(grid, starts);
+
+        // Then
+        assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+        CoverageMap coverage = new CoverageMap(grid);
+        DefaultMediator mediator = new DefaultMediator(grid, MediatorMetrics.DISABLED, coverage);
+        for (int i = 0; i < starts.size(); i++) {
+            Mower mower = new Mower(String.valueOf(i + 1), starts.get(i));
+            mediator.register(mower).sendInstructions(CompiledProgram.compile(programs.get(i)), mower);
+        }
+        assertThat(coverage.isComplete()).isTrue();
+    }
+
+    @Test public void should_throw_exception_when_mowers_share_a_column_and_a_row() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> CoverageProgramGenerator.generate(new Grid(0, 0, 5, 5), asList(new Position(1, 1, N), new Position(1, 2, N), new Position(2, 2, N))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mowers should start on distinct columns or distinct rows.");
+    }
+
+    @Test public void should_throw_exception_when_position_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> CoverageProgramGenerator.generate(new Grid(0, 0, 5, 5), singletonList(new Position(6, 1, N))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 1 has invalid position.");
+    }
+
+    @Test public void should_throw_exception_when_lawn_has_obstacles() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 5, 5, singletonList(new Obstacle(3, 3, 3, 3)));
+
+        // When // Then
+        assertThatThrownBy(() -> CoverageProgramGenerator.generate(grid, singletonList(new Position(1, 1, N))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Lawns with obstacles are not supported.");
+    }
+
+    private static CoverageMap replay(Grid grid, List<Position> starts, List<InstructionProgram> programs) {
+        return replay(grid, starts, programs, MediatorMetrics.DISABLED);
+    }
+
+    private static CoverageMap replay(Grid grid, List<Position> starts, List<InstructionProgram> programs, MediatorMetrics metrics) {
+        CoverageMap coverage = new CoverageMap(grid);
+        DefaultMediator mediator = new DefaultMediator(grid, metrics, coverage);
+        List<Mower> mowers = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            Mower mower = new Mower(String.valueOf(i + 1), starts.get(i));
+            mediator.register(mower);
+            mowers.add(mower);
+        }
+        for (int i = 0; i < starts.size(); i++) {
+            mediator.sendInstructions(programs.get(i), mowers.get(i));
+        }
+        return coverage;
+    }
+}
@@ -0,0 +1,145 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.mediator.CasMediator;
+import com.xebia.mower.mediator.DefaultMediator;
+import com.xebia.mower.mediator.INonBlockingMediator;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConcurrentRunnerTest {
+
+    Grid grid = new Grid(0, 0, 5, 5);
+
+    @Test public void should_throw_exception_when_parallelism_is_not_positive() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new ConcurrentRunner(new DefaultMediator(grid), 0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_run_specification() throws Exception {
+        // Given
+        ConcurrentRunner runner = new ConcurrentRunner(new DefaultMediator(grid), 2, 8);
+
+        // When
+        List<Position> result = runner.run(
+                asList(new Mower("1", 1, 2, N), new Mower("2", 3, 3, E)),
+                asList(parseProgram("GAGAGAGAA"), parseProgram("AADAADADDA")));
+
+        // Then
+        assertThat(result).containsExactly(new Position(1, 3, N), new Position(5, 1, E));
+    }
+
+    @Test public void should_requeue_blocked_mower_until_cell_is_released() throws Exception {
+        // Given
+        ConcurrentRunner runner = new ConcurrentRunner(new CasMediator(grid), 1, 8);
+
+        // When
+        List<Position> result = runner.run(
+                asList(new Mower("1", 1, 1, E), new Mower("2", 2, 1, N)),
+                asList(parseProgram("A"), parseProgram("A")));
+
+        // Then
+        assertThat(result).containsExactly(new Position(2, 1, E), new Position(2, 2, N));
+    }
+
+    @Test public void should_skip_instruction_when_mower_is_blocked_too_many_times() throws Exception {
+        // Given
+        ConcurrentRunner runner = new ConcurrentRunner(new DefaultMediator(grid), 1, 3);
+
+        // When
+        List<Position> result = runner.run(
+                asList(new Mower("1", 1, 1, E), new Mower("2", 2, 1, N)),
+                asList(parseProgram("AGA"), parseProgram("")));
+
+        // Then
+        assertThat(result).containsExactly(new Position(1, 2, N), new Position(2, 1, N));
+    }
+
+    @Test public void should_run_mower_unregistered_when_its_cell_stays_occupied() throws Exception {
+        // Given
+        DefaultMediator mediator = new DefaultMediator(grid);
+        ConcurrentRunner runner = new ConcurrentRunner(mediator, 2, 2);
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 1, 1, N);
+
+        // When
+        List<Position> result = runner.run(asList(mower1, mower2), asList(parseProgram(""), parseProgram("A")));
+
+        // Then
+        assertThat(result).containsExactly(new Position(1, 1, E), new Position(1, 2, N));
+        assertThat(mediator.tryRegister(new Mower("3", 1, 2, S))).isTrue();
+    }
+
+    @Test public void should_not_deadlock_when_mowers_face_each_other() throws Exception {
+        // Given
+        ConcurrentRunner runner = new ConcurrentRunner(new CasMediator(grid), 2, 16);
+
+        // When
+        List<Position> result = runner.run(
+                asList(new Mower("1", 1, 1, E), new Mower("2", 2, 1, W)),
+                asList(parseProgram("A"), parseProgram("A")));
+
+        // Then
+        assertThat(result).containsExactly(new Position(1, 1, E), new Position(2, 1, W));
+    }
+
+    @Test public void should_throw_exception_when_mower_position_is_invalid() throws Exception {
+        // Given
+        ConcurrentRunner runner = new ConcurrentRunner(new CasMediator(grid), 2, 1);
+
+        // When // Then
+        assertThatThrownBy(() -> runner.run(
+                asList(new Mower("1", 1, 1, E), new Mower("2", 6, 1, W)),
+                asList(parseProgram("A"), parseProgram("A"))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 2 has invalid position.");
+    }
+
+    @Test(timeout = 10_000) public void should_rethrow_error_of_a_mower_task_without_blocking_the_run() throws Exception {
+        // Given
+        INonBlockingMediator mediator = mock(INonBlockingMediator.class);
+        when(mediator.tryRegister(any(Mower.class))).thenReturn(true);
+        when(mediator.tryMove(any(Mower.class))).thenThrow(new AssertionError("Mediator failure"));
+        ConcurrentRunner runner = new ConcurrentRunner(mediator, 2, 1);
+
+        // When // Then
+        assertThatThrownBy(() -> runner.run(
+                asList(new Mower("1", 1, 1, E), new Mower("2", 3, 3, N)),
+                asList(parseProgram("A"), parseProgram("DA"))))
+                .isInstanceOf(AssertionError.class).hasMessage("Mediator failure");
+    }
+
+    @Test public void should_run_many_mowers_on_few_threads() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 99, 99);
+        ConcurrentRunner runner = new ConcurrentRunner(new CasMediator(grid), 2, 4);
+        List<Mower> mowers = new ArrayList<>();
+        List<InstructionProgram> programs = new ArrayList<>();
+        for (int x = 0; x < 100; x++) {
+            for (int y = 0; y < 50; y++) {
+                mowers.add(new Mower(x + "-" + y, x, y, N));
+                programs.add(parseProgram("AAAA"));
+            }
+        }
+
+        // When
+        List<Position> result = runner.run(mowers, programs);
+
+        // Then
+        assertThat(result).hasSize(5000);
+        assertThat(result.stream().map(position -> position.getX() + "," + position.getY()).distinct()).hasSize(5000);
+    }
+}
@@ -0,0 +1,73 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.Grid;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConflictAnalysisTest {
+
+    Grid grid = new Grid(0, 0, 9, 9);
+
+    @Test public void should_find_independent_mowers() throws Exception {
+        // When
+        ConflictAnalysis analysis = ConflictAnalysis.analyze(grid,
+                new long[] { pack(0, 0, N), pack(5, 5, E) },
+                asList(parseProgram("AADAA"), parseProgram("AAGA")));
+
+        // Then
+        assertThat(analysis.getIndependentCount()).isEqualTo(2);
+        assertThat(analysis.getConflictGroupCount()).isZero();
+        assertThat(analysis.isIndependent(0)).isTrue();
+        assertThat(analysis.getFinalPackedPosition(0)).isEqualTo(pack(2, 2, E));
+        assertThat(analysis.getFinalPackedPosition(1)).isEqualTo(pack(7, 6, N));
+        assertThat(analysis.isIndependentCell(pack(1, 2, S))).isTrue();
+        assertThat(analysis.isIndependentCell(pack(1, 1, S))).isFalse();
+    }
+
+    @Test public void should_group_mowers_with_overlapping_trajectories_transitively() throws Exception {
+        // When
+        ConflictAnalysis analysis = ConflictAnalysis.analyze(grid,
+                new long[] { pack(0, 0, E), pack(3, 3, S), pack(3, 5, N), pack(9, 9, S) },
+                asList(parseProgram("AAA"), parseProgram("AAA"), parseProgram("GA"), parseProgram("")));
+
+        // Then
+        assertThat(analysis.groupOf(0)).isEqualTo(analysis.groupOf(1));
+        assertThat(analysis.groupOf(2)).isNotEqualTo(analysis.groupOf(1));
+        assertThat(analysis.isIndependent(2)).isTrue();
+        assertThat(analysis.isIndependent(3)).isTrue();
+        assertThat(analysis.getConflictGroupCount()).isEqualTo(1);
+        assertThat(analysis.getIndependentCount()).isEqualTo(2);
+        assertThat(analysis.isIndependentCell(pack(3, 0, N))).isFalse();
+    }
+
+    @Test public void should_group_chained_mowers() throws Exception {
+        // When
+        ConflictAnalysis analysis = ConflictAnalysis.analyze(grid,
+                new long[] { pack(0, 0, E), pack(2, 1, S), pack(4, 1, W) },
+                asList(parseProgram("AA"), parseProgram("A"), parseProgram("AA")));
+
+        // Then
+        assertThat(analysis.groupOf(0)).isEqualTo(analysis.groupOf(1)).isEqualTo(analysis.groupOf(2));
+        assertThat(analysis.getConflictGroupCount()).isEqualTo(1);
+    }
+
+    @Test public void should_ignore_moves_out_of_grid() throws Exception {
+        // When
+        ConflictAnalysis analysis = ConflictAnalysis.analyze(grid, new long[] { pack(0, 0, S) }, asList(parseProgram("AAGA")));
+
+        // Then
+        assertThat(analysis.getFinalPackedPosition(0)).isEqualTo(pack(1, 0, E));
+    }
+
+    @Test public void should_throw_exception_when_position_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> ConflictAnalysis.analyze(grid, new long[] { pack(0, 0, S), pack(10, 0, S) }, asList(parseProgram(""), parseProgram(""))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 2 has invalid position.");
+    }
+}
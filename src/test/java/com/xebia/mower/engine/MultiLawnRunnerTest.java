@@ -0,0 +1,114 @@
+package com.xebia.mower.engine;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MultiLawnRunnerTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    MultiLawnRunner runner = new MultiLawnRunner(2, false);
+
+    @Test public void should_throw_exception_when_threads_is_not_positive() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new MultiLawnRunner(0, false)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_run_lawns_of_directory_in_name_order() throws Exception {
+        // Given
+        Path b = mission("b.txt", "5 5\n3 3 E\nAADAADADDA\n");
+        Path a = mission("a.txt", "5 5\n1 2 N\nGAGAGAGAA\n3 3 E\nAADAADADDA\n");
+        StringWriter output = new StringWriter();
+
+        // When
+        MultiLawnStatistics statistics = runner.run(folder.getRoot().toPath(), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("# " + a + "\n1 3 N\n5 1 E\n# " + b + "\n5 1 E\n");
+        assertThat(statistics.getLawnCount()).isEqualTo(2);
+        assertThat(statistics.getFailedLawnCount()).isZero();
+        assertThat(statistics.getMowerCount()).isEqualTo(3);
+        assertThat(statistics.getInstructionCount()).isEqualTo(29);
+        assertThat(statistics.getLawnsPerSecond()).isPositive();
+        assertThat(statistics.getInstructionsPerSecond()).isPositive();
+    }
+
+    @Test public void should_run_lawns_of_manifest_in_manifest_order() throws Exception {
+        // Given
+        Path a = mission("a.txt", "2 2\n0 0 N\nAA\n");
+        Path b = mission("b.txt", "2 2\n0 0 E\nAA\n");
+        Path manifest = mission("manifest", "# lawns\nb.txt\n\n  a.txt  \nb.txt\n");
+        StringWriter output = new StringWriter();
+
+        // When
+        MultiLawnStatistics statistics = runner.run(manifest, output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("# " + b + "\n2 0 E\n# " + a + "\n0 2 N\n# " + b + "\n2 0 E\n");
+        assertThat(statistics.getLawnCount()).isEqualTo(3);
+    }
+
+    @Test public void should_report_failed_lawn_and_run_others() throws Exception {
+        // Given
+        Path a = mission("a.txt", "5 5\n6 6 N\nA\n");
+        Path b = mission("b.txt", "5 5\n1 1 N\nA\n");
+        StringWriter output = new StringWriter();
+
+        // When
+        MultiLawnStatistics statistics = runner.run(folder.getRoot().toPath(), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("# " + a + "\nERROR Mower 1 has invalid position.\n# " + b + "\n1 2 N\n");
+        assertThat(statistics.getFailedLawnCount()).isEqualTo(1);
+    }
+
+    @Test public void should_run_more_lawns_than_lawns_in_flight_in_order() throws Exception {
+        // Given
+        MultiLawnRunner runner = new MultiLawnRunner(1, false);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 3 * MultiLawnRunner.LAWNS_IN_FLIGHT_PER_THREAD; i++) {
+            Path lawn = mission(String.format("%02d.txt", i), "9 9\n" + (i % 9) + " 0 N\nAA\n");
+            expected.append("# ").append(lawn).append("\n").append(i % 9).append(" 2 N\n");
+        }
+        StringWriter output = new StringWriter();
+
+        // When
+        MultiLawnStatistics statistics = runner.run(folder.getRoot().toPath(), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo(expected.toString());
+        assertThat(statistics.getMowerCount()).isEqualTo(3 * MultiLawnRunner.LAWNS_IN_FLIGHT_PER_THREAD);
+    }
+
+    @Test public void should_write_error_on_a_single_line() throws Exception {
+        // When // Then
+        assertThat(MultiLawnRunner.errorLine(new NullPointerException())).isEqualTo("ERROR java.lang.NullPointerException\n");
+        assertThat(MultiLawnRunner.errorLine(new IllegalStateException("Line 1\r\n  Line 2\n")))
+                .isEqualTo("ERROR Line 1 Line 2\n");
+    }
+
+    @Test public void should_read_manifest() throws Exception {
+        // Given
+        Path manifest = mission("manifest", "x.txt\n# comment\n\nsub/y.txt\n");
+
+        // When
+        List<Path> result = MultiLawnRunner.readManifest(manifest);
+
+        // Then
+        assertThat(result).containsExactly(folder.getRoot().toPath().resolve("x.txt"), folder.getRoot().toPath().resolve("sub/y.txt"));
+    }
+
+    private Path mission(String name, String content) throws Exception {
+        return Files.write(folder.getRoot().toPath().resolve(name), content.getBytes(US_ASCII));
+    }
+}
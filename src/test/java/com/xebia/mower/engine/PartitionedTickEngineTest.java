@@ -0,0 +1,141 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Orientation;
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PartitionedTickEngineTest {
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Test public void should_run_specification() throws Exception {
+        // Given
+        PartitionedTickEngine engine = new PartitionedTickEngine(new Grid(0, 0, 5, 5), 2, 2, 2, pool);
+        int mower1 = engine.addMower(pack(1, 2, N), parseProgram("GAGAGAGAA"));
+        int mower2 = engine.addMower(pack(3, 3, E), parseProgram("AADAADADDA"));
+
+        // When
+        long ticks = engine.run();
+
+        // Then
+        assertThat(ticks).isEqualTo(10);
+        assertThat(engine.getPosition(mower1)).isEqualTo(new Position(1, 3, N));
+        assertThat(engine.getPosition(mower2)).isEqualTo(new Position(5, 1, E));
+    }
+
+    @Test public void should_throw_exception_when_tile_count_is_not_positive() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new PartitionedTickEngine(new Grid(0, 0, 5, 5), 0, 1, 2, pool)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_keep_tiles_at_least_two_cells_wide() throws Exception {
+        // When
+        PartitionedTickEngine engine = new PartitionedTickEngine(new Grid(0, 0, 6, 5), 10, 10, 2, pool);
+
+        // Then
+        assertThat(engine.getTileCount()).isEqualTo(9);
+        assertThat(engine.tileOf(pack(6, 5, N)).index).isEqualTo(8);
+    }
+
+    @Test public void should_throw_exception_when_mower_position_is_invalid_or_occupied() throws Exception {
+        // Given
+        PartitionedTickEngine engine = new PartitionedTickEngine(new Grid(0, 0, 5, 5), 2, 2, 2, pool);
+        engine.addMower(pack(4, 4, N), parseProgram("A"));
+
+        // When // Then
+        assertThatThrownBy(() -> engine.addMower(pack(6, 4, N), parseProgram("A")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 2 has invalid position.");
+        assertThatThrownBy(() -> engine.addMower(pack(4, 4, E), parseProgram("A")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 2 position is already occupied.");
+    }
+
+    @Test public void should_resolve_conflict_across_tile_border_by_priority() throws Exception {
+        // Given
+        PartitionedTickEngine engine = new PartitionedTickEngine(new Grid(0, 0, 5, 5), 2, 1, 2, pool);
+        int mower1 = engine.addMower(pack(4, 1, W), parseProgram("A"));
+        int mower2 = engine.addMower(pack(2, 1, E), parseProgram("A"));
+
+        // When
+        engine.run();
+
+        // Then
+        assertThat(engine.getPosition(mower1)).isEqualTo(new Position(3, 1, W));
+        assertThat(engine.getPosition(mower2)).isEqualTo(new Position(2, 1, E));
+    }
+
+    @Test public void should_hand_mower_over_to_neighbour_tiles() throws Exception {
+        // Given
+        PartitionedTickEngine engine = new PartitionedTickEngine(new Grid(0, 0, 5, 5), 6, 6, 2, pool);
+        int mower = engine.addMower(pack(0, 0, N), parseProgram("AAAAADAAAAADAAAAA"));
+        int blocker = engine.addMower(pack(5, 1, N), parseProgram(""));
+
+        // When
+        engine.run();
+
+        // Then
+        assertThat(engine.getPosition(mower)).isEqualTo(new Position(5, 2, S));
+        assertThat(engine.getPosition(blocker)).isEqualTo(new Position(5, 1, N));
+        assertThat(engine.tileOf(pack(5, 2, S)).occupancy.isOccupied(5, 2)).isTrue();
+        assertThat(engine.tileOf(pack(0, 0, N)).occupancy.isOccupied(0, 0)).isFalse();
+    }
+
+    @Test public void should_end_at_same_positions_as_tick_engine() throws Exception {
+        Random random = new Random(42);
+        Grid grid = new Grid(-3, -2, 12, 9);
+        int[][] tilings = {{1, 1}, {2, 2}, {3, 5}, {16, 12}, {7, 1}};
+
+        for (int mission = 0; mission < 20; mission++) {
+            // Given
+            TickEngine expected = new TickEngine(grid);
+            PartitionedTickEngine[] engines = new PartitionedTickEngine[tilings.length];
+            for (int i = 0; i < tilings.length; i++) {
+                engines[i] = new PartitionedTickEngine(grid, tilings[i][0], tilings[i][1], 2, pool);
+            }
+            for (int x = grid.getXMin(); x <= grid.getXMax(); x++) {
+                for (int y = grid.getYMin(); y <= grid.getYMax(); y++) {
+                    if (random.nextInt(4) != 0) continue;
+                    long position = pack(x, y, Orientation.values()[random.nextInt(4)]);
+                    InstructionProgram program = randomProgram(random, random.nextInt(30));
+                    expected.addMower(position, program);
+                    for (PartitionedTickEngine engine : engines) {
+                        engine.addMower(position, program);
+                    }
+                }
+            }
+
+            // When
+            expected.run();
+            for (PartitionedTickEngine engine : engines) {
+                engine.run();
+            }
+
+            // Then
+            for (PartitionedTickEngine engine : engines) {
+                assertThat(engine.getTickCount()).isEqualTo(expected.getTickCount());
+                for (int mower = 0; mower < expected.getMowerCount(); mower++) {
+                    assertThat(engine.getPosition(mower)).isEqualTo(expected.getPosition(mower));
+                }
+            }
+        }
+    }
+
+    private InstructionProgram randomProgram(Random random, int length) {
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        for (int i = 0; i < length; i++) {
+            builder.append(random.nextInt(3) == 0 ? Instruction.values()[random.nextInt(2)] : Instruction.A);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.mediator.DefaultMediator;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PredictiveRunnerTest {
+
+    Grid grid = new Grid(0, 0, 5, 5);
+
+    @Test public void should_run_specification_without_mediator() throws Exception {
+        // Given
+        PredictiveRunner runner = new PredictiveRunner(grid);
+
+        // When
+        List<Position> result = runner.run(
+                asList(new Mower("1", 1, 2, N), new Mower("2", 3, 3, E)),
+                asList(parseProgram("GAGAGAGAA"), parseProgram("AADAADADDA")));
+
+        // Then
+        assertThat(result).containsExactly(new Position(1, 3, N), new Position(5, 1, E));
+        assertThat(runner.hasFallenBack()).isFalse();
+    }
+
+    @Test public void should_run_conflict_groups_on_mediator() throws Exception {
+        // Given
+        PredictiveRunner runner = new PredictiveRunner(grid, () -> new DefaultMediator(grid), 1, 8);
+
+        // When
+        List<Position> result = runner.run(
+                asList(new Mower("1", 1, 1, E), new Mower("2", 2, 1, N), new Mower("3", 5, 5, S)),
+                asList(parseProgram("A"), parseProgram("A"), parseProgram("AA")));
+
+        // Then
+        assertThat(result).containsExactly(new Position(2, 1, E), new Position(2, 2, N), new Position(5, 3, S));
+        assertThat(runner.hasFallenBack()).isFalse();
+    }
+
+    @Test public void should_fall_back_to_mediator_when_mower_leaves_its_trajectory() throws Exception {
+        // Given
+        PredictiveRunner runner = new PredictiveRunner(grid, () -> new DefaultMediator(grid), 1, 0);
+        List<Mower> mowers = asList(new Mower("1", 0, 0, E), new Mower("2", 1, 0, N), new Mower("3", 0, 2, N));
+
+        // When
+        List<Position> result = runner.run(mowers, asList(parseProgram("AGAA"), parseProgram(""), parseProgram("A")));
+
+        // Then
+        assertThat(runner.hasFallenBack()).isTrue();
+        assertThat(result).containsExactly(new Position(0, 1, N), new Position(1, 0, N), new Position(0, 3, N));
+    }
+
+    @Test public void should_end_at_same_positions_as_concurrent_runner_when_nobody_is_blocked() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 99, 99);
+        Random random = new Random(18);
+        List<Mower> mowers = new ArrayList<>();
+        List<Mower> sameMowers = new ArrayList<>();
+        List<InstructionProgram> programs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int x = (i % 10) * 10;
+            int y = (i / 10) * 20;
+            mowers.add(new Mower(String.valueOf(i + 1), x, y, N));
+            sameMowers.add(new Mower(String.valueOf(i + 1), x, y, N));
+            StringBuilder program = new StringBuilder();
+            for (int j = 0; j < 6; j++) {
+                program.append("DGA".charAt(random.nextInt(3)));
+            }
+            programs.add(parseProgram(program.toString()));
+        }
+
+        // When
+        List<Position> result = new PredictiveRunner(grid, () -> new DefaultMediator(grid), 4, 8).run(mowers, programs);
+
+        // Then
+        assertThat(result).isEqualTo(new ConcurrentRunner(new DefaultMediator(grid), 1, 8).run(sameMowers, programs));
+    }
+}
@@ -0,0 +1,188 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.collision.FailFastCollisionPolicy;
+import com.xebia.mower.mediator.DefaultMediator;
+import com.xebia.mower.metrics.MediatorMetrics;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import com.xebia.mower.parser.StreamingMissionParser;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import static com.xebia.mower.model.Orientation.E;
+import static com.xebia.mower.model.Orientation.N;
+import static com.xebia.mower.model.Orientation.S;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SequentialBatchEngineTest {
+
+    SequentialBatchEngine engine = new SequentialBatchEngine();
+
+    @Test public void should_run_specification() throws Exception {
+        // Given
+        StringWriter output = new StringWriter();
+
+        // When
+        BatchStatistics statistics = engine.run(Paths.get(ClassLoader.getSystemResource("specs.txt").toURI()), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("1 3 N\n5 1 E\n");
+        assertThat(statistics).isEqualTo(new BatchStatistics(2, 19));
+    }
+
+    @Test public void should_run_specification_with_small_buffer_and_tracing() throws Exception {
+        // Given
+        StringWriter output = new StringWriter();
+        SequentialBatchEngine engine = new SequentialBatchEngine(new StreamingMissionParser(3), true, null);
+
+        // When
+        engine.run(channel("5 5\n1 2 N\nGAGAGAGAA\n3 3 E\nAADAADADDA\n"), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("1 3 N\n5 1 E\n");
+    }
+
+    @Test public void should_skip_move_when_new_position_is_occupied() throws Exception {
+        // Given
+        StringWriter output = new StringWriter();
+
+        // When
+        engine.run(channel("5 5\n2 1 N\n\n1 1 E\nAA\n"), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("2 1 N\n1 1 E\n");
+    }
+
+    @Test public void should_release_previous_cell_when_moving() throws Exception {
+        // Given
+        StringWriter output = new StringWriter();
+
+        // When
+        engine.run(channel("5 5\n1 1 E\nA\n0 1 E\nA\n"), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("2 1 E\n1 1 E\n");
+    }
+
+    @Test public void should_move_without_occupying_when_start_position_is_occupied() throws Exception {
+        // Given
+        StringWriter output = new StringWriter();
+
+        // When
+        engine.run(channel("5 5\n1 1 N\n\n1 1 E\nA\n0 1 E\nAA\n"), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("1 1 N\n2 1 E\n0 1 E\n");
+    }
+
+    @Test public void should_not_move_outside_grid() throws Exception {
+        // Given
+        StringWriter output = new StringWriter();
+
+        // When
+        engine.run(channel("2 2\n1 1 N\nAAAADAAAAA\n"), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("2 2 E\n");
+    }
+
+    @Test public void should_throw_exception_when_mower_position_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> engine.run(channel("5 5\n1 2 N\nA\n6 1 E\nA\n"), new StringWriter()))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 2 has invalid position.");
+    }
+
+    @Test public void should_write_negative_coordinates() throws Exception {
+        // Given
+        StringWriter output = new StringWriter();
+        SequentialBatchEngine.Handler handler = engine.new Handler(output);
+        handler.onGrid(new Grid(-5, -5, 5, 5));
+        handler.onMower(pack(-3, -1, N));
+
+        // When
+        handler.onMowerEnd();
+        handler.finish();
+
+        // Then
+        assertThat(output.toString()).isEqualTo("-3 -1 N\n");
+    }
+
+    @Test public void should_end_at_same_positions_as_default_mediator() throws Exception {
+        // Given
+        String mission = "5 5\n1 2 N\nGAGAGAGAA\n3 3 E\nAADAADADDA\n2 2 S\nAAAAGAAAAGAA\n";
+        Grid grid = new Grid(0, 0, 5, 5);
+        DefaultMediator mediator = new DefaultMediator(grid, MediatorMetrics.DISABLED, null, new FailFastCollisionPolicy());
+        Mower mower1 = new Mower("1", 1, 2, N);
+        mediator.register(mower1).sendInstructions(parseProgram("GAGAGAGAA"), mower1);
+        Mower mower2 = new Mower("2", 3, 3, E);
+        mediator.register(mower2).sendInstructions(parseProgram("AADAADADDA"), mower2);
+        Mower mower3 = new Mower("3", new Position(2, 2, S));
+        mediator.register(mower3).sendInstructions(parseProgram("AAAAGAAAAGAA"), mower3);
+        StringWriter output = new StringWriter();
+
+        // When
+        engine.run(channel(mission), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo(line(mower1) + line(mower2) + line(mower3));
+    }
+
+    @Test public void should_end_at_same_positions_with_trajectory_cache() throws Exception {
+        // Given
+        Random random = new Random(19);
+        String[] patterns = { "AAAADAAAAD", "GAGAGAGAA", "AADAADADDA", "DAAAGAAAGA" };
+        String[] starts = { "0 0 N", "3 3 E", "5 2 S", "9 9 W", "4 7 N", "1 8 E", "7 1 W", "2 5 S" };
+        StringBuilder mission = new StringBuilder("9 9\n");
+        for (int i = 0; i < 40; i++) {
+            mission.append(starts[random.nextInt(starts.length)]).append('\n');
+            mission.append(patterns[random.nextInt(patterns.length)]).append('\n');
+        }
+        StringWriter expected = new StringWriter();
+        engine.run(channel(mission.toString()), expected);
+        TrajectoryCache cache = new TrajectoryCache(64, true);
+        StringWriter output = new StringWriter();
+
+        // When
+        new SequentialBatchEngine(false, cache).run(channel(mission.toString()), output);
+        new SequentialBatchEngine(false, cache).run(channel(mission.toString()), new StringWriter());
+
+        // Then
+        assertThat(output.toString()).isEqualTo(expected.toString());
+        assertThat(cache.getStatistics().getHitCount() + cache.getStatistics().getMissCount()).isEqualTo(80);
+        assertThat(cache.getStatistics().getMissCount()).isLessThanOrEqualTo(starts.length * patterns.length);
+    }
+
+    @Test public void should_run_program_when_cached_trajectory_is_blocked() throws Exception {
+        // Given
+        TrajectoryCache cache = new TrajectoryCache(16, false);
+        SequentialBatchEngine engine = new SequentialBatchEngine(false, cache);
+        StringWriter output = new StringWriter();
+
+        // When
+        engine.run(channel("5 5\n1 1 E\nAA\n5 5 S\n\n1 1 E\nAA\n"), output);
+
+        // Then
+        assertThat(output.toString()).isEqualTo("3 1 E\n5 5 S\n2 1 E\n");
+        assertThat(cache.getStatistics()).isEqualTo(new TrajectoryCacheStatistics(1, 2, 0, 2));
+    }
+
+    private static String line(Mower mower) {
+        Position position = mower.getCurrentPosition();
+        return position.getX() + " " + position.getY() + " " + position.getOrientation() + "\n";
+    }
+
+    private static ReadableByteChannel channel(String content) {
+        return Channels.newChannel(new ByteArrayInputStream(content.getBytes(US_ASCII)));
+    }
+}
@@ -0,0 +1,183 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.journal.MoveJournal;
+import com.xebia.mower.journal.MoveJournalReader;
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Obstacle;
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static com.xebia.mower.engine.TickEngine.DEFAULT_MAX_WAIT_TICKS;
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TickEngineTest {
+
+    TickEngine engine = new TickEngine(new Grid(0, 0, 5, 5));
+
+    @Test public void should_run_specification() throws Exception {
+        // Given
+        int mower1 = engine.addMower(pack(1, 2, N), parseProgram("GAGAGAGAA"));
+        int mower2 = engine.addMower(pack(3, 3, E), parseProgram("AADAADADDA"));
+
+        // When
+        long ticks = engine.run();
+
+        // Then
+        assertThat(ticks).isEqualTo(10);
+        assertThat(engine.getPosition(mower1)).isEqualTo(new Position(1, 3, N));
+        assertThat(engine.getPosition(mower2)).isEqualTo(new Position(5, 1, E));
+    }
+
+    @Test public void should_throw_exception_when_mower_position_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> engine.addMower(pack(6, 1, E), parseProgram("A")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 1 has invalid position.");
+    }
+
+    @Test public void should_throw_exception_when_mower_position_is_occupied() throws Exception {
+        // Given
+        engine.addMower(pack(1, 1, E), parseProgram("A"));
+
+        // When // Then
+        assertThatThrownBy(() -> engine.addMower(pack(1, 1, N), parseProgram("A")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 2 position is already occupied.");
+    }
+
+    @Test public void should_give_priority_to_first_mower_when_both_target_same_cell() throws Exception {
+        // Given
+        int mower1 = engine.addMower(pack(1, 1, E), parseProgram("A"));
+        int mower2 = engine.addMower(pack(3, 1, W), parseProgram("A"));
+
+        // When
+        engine.run();
+
+        // Then
+        assertThat(engine.getPosition(mower1)).isEqualTo(new Position(2, 1, E));
+        assertThat(engine.getPosition(mower2)).isEqualTo(new Position(3, 1, W));
+    }
+
+    @Test public void should_not_swap_mowers() throws Exception {
+        // Given
+        int mower1 = engine.addMower(pack(1, 1, E), parseProgram("A"));
+        int mower2 = engine.addMower(pack(2, 1, W), parseProgram("A"));
+
+        // When
+        long ticks = engine.run();
+
+        // Then
+        assertThat(ticks).isEqualTo(TickEngine.DEFAULT_MAX_WAIT_TICKS + 1);
+        assertThat(engine.getPosition(mower1)).isEqualTo(new Position(1, 1, E));
+        assertThat(engine.getPosition(mower2)).isEqualTo(new Position(2, 1, W));
+    }
+
+    @Test public void should_not_follow_mower_in_same_tick_but_on_next_tick() throws Exception {
+        // Given
+        int mower1 = engine.addMower(pack(2, 1, E), parseProgram("A"));
+        int mower2 = engine.addMower(pack(1, 1, E), parseProgram("A"));
+
+        // When
+        engine.tick();
+
+        // Then
+        assertThat(engine.getPosition(mower1)).isEqualTo(new Position(3, 1, E));
+        assertThat(engine.getPosition(mower2)).isEqualTo(new Position(1, 1, E));
+
+        // When
+        boolean result = engine.tick();
+
+        // Then
+        assertThat(result).isFalse();
+        assertThat(engine.getPosition(mower2)).isEqualTo(new Position(2, 1, E));
+    }
+
+    @Test public void should_skip_move_after_max_wait_ticks() throws Exception {
+        // Given
+        TickEngine engine = new TickEngine(new Grid(0, 0, 5, 5), 0);
+        int mower1 = engine.addMower(pack(1, 1, E), parseProgram("AGA"));
+        engine.addMower(pack(2, 1, N), parseProgram(""));
+
+        // When
+        long ticks = engine.run();
+
+        // Then
+        assertThat(ticks).isEqualTo(3);
+        assertThat(engine.getPosition(mower1)).isEqualTo(new Position(1, 2, N));
+    }
+
+    @Test public void should_not_move_outside_grid() throws Exception {
+        // Given
+        int mower = engine.addMower(pack(5, 5, N), parseProgram("AAD"));
+
+        // When
+        engine.run();
+
+        // Then
+        assertThat(engine.getPosition(mower)).isEqualTo(new Position(5, 5, E));
+    }
+
+    @Test public void should_run_same_mission_with_same_result() throws Exception {
+        // Given
+        TickEngine other = new TickEngine(new Grid(0, 0, 5, 5));
+        for (TickEngine engine : new TickEngine[]{engine, other}) {
+            for (int x = 0; x < 6; x++) {
+                engine.addMower(pack(x, x % 3, N), parseProgram("AADAGAAGADAAA"));
+                engine.addMower(pack(x, 5 - x % 3, S), parseProgram("AAGAADAAADGAA"));
+            }
+        }
+
+        // When
+        engine.run();
+        other.run();
+
+        // Then
+        assertThat(engine.getMowerCount()).isEqualTo(12);
+        for (int mower = 0; mower < engine.getMowerCount(); mower++) {
+            assertThat(engine.getPackedPosition(mower)).isEqualTo(other.getPackedPosition(mower));
+        }
+        assertThat(engine.getTickCount()).isEqualTo(other.getTickCount());
+    }
+
+    @Test public void should_not_move_onto_obstacle() throws Exception {
+        // Given
+        TickEngine engine = new TickEngine(new Grid(0, 0, 5, 5, Collections.singletonList(new Obstacle(2, 0, 2, 5))));
+        int mower = engine.addMower(pack(0, 1, E), parseProgram("AAAGA"));
+
+        // When
+        engine.run();
+
+        // Then
+        assertThat(engine.getPosition(mower)).isEqualTo(new Position(1, 2, N));
+        assertThatThrownBy(() -> engine.addMower(pack(2, 3, E), parseProgram("A")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 2 has invalid position.");
+    }
+
+    @Test public void should_journal_changes_with_their_tick() throws Exception {
+        // Given
+        Path file = Files.createTempFile("journal", ".bin");
+        TickEngine engine;
+        try (MoveJournal journal = new MoveJournal(file)) {
+            engine = new TickEngine(new Grid(0, 0, 5, 5), DEFAULT_MAX_WAIT_TICKS, journal);
+            engine.addMower(pack(1, 2, N), parseProgram("GAGAGAGAA"));
+            engine.addMower(pack(3, 3, E), parseProgram("AADAADADDA"));
+
+            // When
+            engine.run();
+        }
+
+        // Then
+        MoveJournalReader reader = new MoveJournalReader(file);
+        Files.delete(file);
+        assertThat(reader.replay(0).getPosition(1)).isEqualTo(new Position(3, 3, E));
+        assertThat(reader.replay(2).getPosition(0)).isEqualTo(new Position(0, 2, W));
+        assertThat(reader.replay().getPosition(0)).isEqualTo(engine.getPosition(0));
+        assertThat(reader.replay().getPosition(1)).isEqualTo(engine.getPosition(1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Obstacle;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TrajectoryCacheTest {
+
+    Grid grid = new Grid(0, 0, 5, 5);
+    TrajectoryCache cache = new TrajectoryCache(2, true);
+
+    @Test public void should_throw_exception_when_max_entries_is_not_positive() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new TrajectoryCache(0, true)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_hit_identical_program_from_same_position_on_same_grid() throws Exception {
+        // Given
+        Trajectory trajectory = cache.get(grid, pack(1, 2, N), parseProgram("GAGAGAGAA"));
+
+        // When
+        Trajectory cached = cache.get(new Grid(0, 0, 5, 5), pack(1, 2, N), parseProgram("GAGAGAGAA"));
+
+        // Then
+        assertThat(cached).isSameAs(trajectory);
+        assertThat(cached.getFinalPackedPosition()).isEqualTo(pack(1, 3, N));
+        assertThat(cache.getStatistics()).isEqualTo(new TrajectoryCacheStatistics(1, 1, 0, 1));
+        assertThat(cache.getStatistics().getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test public void should_miss_when_grid_position_or_program_differs() throws Exception {
+        // Given
+        cache = new TrajectoryCache(8, true);
+        cache.get(grid, pack(1, 2, N), parseProgram("AA"));
+
+        // When
+        cache.get(new Grid(0, 0, 6, 6), pack(1, 2, N), parseProgram("AA"));
+        cache.get(grid, pack(1, 2, E), parseProgram("AA"));
+        cache.get(grid, pack(1, 2, N), parseProgram("AAA"));
+
+        // Then
+        assertThat(cache.getStatistics()).isEqualTo(new TrajectoryCacheStatistics(0, 4, 0, 4));
+    }
+
+    @Test public void should_hit_equal_grid_with_obstacles_and_miss_other_obstacles() throws Exception {
+        // Given
+        cache = new TrajectoryCache(8, true);
+        cache.get(new Grid(0, 0, 5, 5, singletonList(new Obstacle(1, 4, 2, 4))), pack(1, 2, N), parseProgram("AA"));
+
+        // When
+        cache.get(new Grid(0, 0, 5, 5, singletonList(new Obstacle(1, 4, 2, 4))), pack(1, 2, N), parseProgram("AA"));
+        cache.get(new Grid(0, 0, 5, 5, singletonList(new Obstacle(3, 4, 4, 4))), pack(1, 2, N), parseProgram("AA"));
+
+        // Then
+        assertThat(cache.getStatistics()).isEqualTo(new TrajectoryCacheStatistics(1, 2, 0, 2));
+    }
+
+    @Test public void should_evict_least_recently_used_trajectory() throws Exception {
+        // Given
+        cache.get(grid, pack(0, 0, N), parseProgram("A"));
+        cache.get(grid, pack(1, 1, N), parseProgram("A"));
+        cache.get(grid, pack(0, 0, N), parseProgram("A"));
+
+        // When
+        cache.get(grid, pack(2, 2, N), parseProgram("A"));
+        cache.get(grid, pack(0, 0, N), parseProgram("A"));
+        cache.get(grid, pack(1, 1, N), parseProgram("A"));
+
+        // Then
+        assertThat(cache.getStatistics()).isEqualTo(new TrajectoryCacheStatistics(2, 4, 2, 2));
+    }
+
+    @Test public void should_clear() throws Exception {
+        // Given
+        cache.get(grid, pack(0, 0, N), parseProgram("A"));
+
+        // When
+        cache.clear();
+
+        // Then
+        assertThat(cache.getStatistics().getSize()).isZero();
+    }
+}
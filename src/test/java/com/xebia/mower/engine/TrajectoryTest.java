@@ -0,0 +1,35 @@
+package com.xebia.mower.engine;
+
+import com.xebia.mower.model.Grid;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static com.xebia.mower.parser.FileLineParser.parseProgram;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrajectoryTest {
+
+    Grid grid = new Grid(0, 0, 2, 2);
+
+    @Test public void should_simulate_program_with_path() throws Exception {
+        // When
+        Trajectory trajectory = Trajectory.simulate(grid, pack(1, 1, N), parseProgram("AAADAA"), true);
+
+        // Then
+        assertThat(trajectory.getFinalPackedPosition()).isEqualTo(pack(2, 2, E));
+        assertThat(trajectory.hasPath()).isTrue();
+        assertThat(trajectory.getPathLength()).isEqualTo(2);
+        assertThat(trajectory.getPathPosition(0)).isEqualTo(pack(1, 2, N));
+        assertThat(trajectory.getPathPosition(1)).isEqualTo(pack(2, 2, E));
+    }
+
+    @Test public void should_simulate_program_without_path() throws Exception {
+        // When
+        Trajectory trajectory = Trajectory.simulate(grid, pack(0, 0, S), parseProgram("AGAGA"), false);
+
+        // Then
+        assertThat(trajectory.getFinalPackedPosition()).isEqualTo(pack(1, 1, N));
+        assertThat(trajectory.hasPath()).isFalse();
+    }
+}
@@ -0,0 +1,62 @@
+package com.xebia.mower.fleet;
+
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FleetStoreTest {
+
+    FleetStore fleet = new FleetStore(1);
+
+    @Test public void should_throw_exception_when_capacity_is_negative() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new FleetStore(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_add_mowers_and_grow() throws Exception {
+        // When
+        int mower1 = fleet.add(pack(1, 2, N));
+        int mower2 = fleet.add(pack(-3, 4, W));
+        int mower3 = fleet.add(pack(5, -6, S));
+
+        // Then
+        assertThat(new int[]{mower1, mower2, mower3}).containsExactly(0, 1, 2);
+        assertThat(fleet.size()).isEqualTo(3);
+        assertThat(fleet.capacity()).isGreaterThanOrEqualTo(3);
+        assertThat(fleet.getPosition(mower1)).isEqualTo(new Position(1, 2, N));
+        assertThat(fleet.getPosition(mower2)).isEqualTo(new Position(-3, 4, W));
+        assertThat(fleet.getPosition(mower3)).isEqualTo(new Position(5, -6, S));
+        assertThat(fleet.getCursor(mower3)).isZero();
+    }
+
+    @Test public void should_read_and_write_fields() throws Exception {
+        // Given
+        int mower = fleet.add(pack(1, 2, N));
+
+        // When
+        fleet.setPackedPosition(mower, pack(3, 4, E));
+
+        // Then
+        assertThat(fleet.getX(mower)).isEqualTo(3);
+        assertThat(fleet.getY(mower)).isEqualTo(4);
+        assertThat(fleet.getOrientation(mower)).isEqualTo(E);
+        assertThat(fleet.getPackedPosition(mower)).isEqualTo(pack(3, 4, E));
+    }
+
+    @Test public void should_advance_cursor() throws Exception {
+        // Given
+        int mower = fleet.add(pack(1, 2, N));
+        fleet.setCursor(mower, 5);
+
+        // When
+        int result = fleet.advanceCursor(mower);
+
+        // Then
+        assertThat(result).isEqualTo(6);
+        assertThat(fleet.getCursor(mower)).isEqualTo(6);
+    }
+}
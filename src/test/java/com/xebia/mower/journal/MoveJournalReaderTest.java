@@ -0,0 +1,102 @@
+package com.xebia.mower.journal;
+
+import com.xebia.mower.fleet.FleetStore;
+import com.xebia.mower.model.Position;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MoveJournalReaderTest {
+
+    Path file;
+
+    @Before
+    public void onSetUp() throws Exception {
+        file = Files.createTempFile("journal", ".bin");
+        try (MoveJournal journal = new MoveJournal(file)) {
+            journal.append(0, 0, pack(1, 2, N));
+            journal.append(1, 0, pack(3, 3, E));
+            journal.append(0, 1, pack(1, 2, W));
+            journal.append(1, 1, pack(4, 3, E));
+            journal.append(0, 2, pack(0, 2, W));
+        }
+    }
+
+    @After
+    public void onTearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test public void should_read_records_in_place() throws Exception {
+        // When
+        MoveJournalReader reader = new MoveJournalReader(file);
+
+        // Then
+        assertThat(reader.getRecordCount()).isEqualTo(5);
+        assertThat(reader.getMower(3)).isEqualTo(1);
+        assertThat(reader.getSequence(3)).isEqualTo(1);
+        assertThat(reader.getPackedPosition(3)).isEqualTo(pack(4, 3, E));
+        assertThatThrownBy(() -> reader.getMower(5)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test public void should_rebuild_fleet_at_any_sequence() throws Exception {
+        // Given
+        MoveJournalReader reader = new MoveJournalReader(file);
+
+        // When
+        FleetStore initial = reader.replay(0);
+        FleetStore middle = reader.replay(1);
+        FleetStore last = reader.replay();
+
+        // Then
+        assertThat(initial.size()).isEqualTo(2);
+        assertThat(initial.getPosition(0)).isEqualTo(new Position(1, 2, N));
+        assertThat(middle.getPosition(0)).isEqualTo(new Position(1, 2, W));
+        assertThat(middle.getPosition(1)).isEqualTo(new Position(4, 3, E));
+        assertThat(last.getPosition(0)).isEqualTo(new Position(0, 2, W));
+    }
+
+    @Test public void should_read_records_across_chunks() throws Exception {
+        // When
+        MoveJournalReader reader = new MoveJournalReader(file, 2);
+
+        // Then
+        assertThat(reader.chunks).hasSize(3);
+        assertThat(reader.getPackedPosition(4)).isEqualTo(pack(0, 2, W));
+        assertThat(reader.replay(1).getPosition(1)).isEqualTo(new Position(4, 3, E));
+        assertThat(reader.replay().getPosition(0)).isEqualTo(new Position(0, 2, W));
+    }
+
+    @Test public void should_ignore_partly_written_record() throws Exception {
+        // Given
+        try (FileChannel channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+
+        // When
+        MoveJournalReader reader = new MoveJournalReader(file);
+
+        // Then
+        assertThat(reader.getRecordCount()).isEqualTo(4);
+        assertThat(reader.replay().getPosition(0)).isEqualTo(new Position(1, 2, W));
+    }
+
+    @Test public void should_throw_exception_when_file_is_not_a_journal() throws Exception {
+        // Given
+        Files.write(file, "5 5\n1 2 N\n".getBytes(US_ASCII));
+
+        // When // Then
+        assertThatThrownBy(() -> new MoveJournalReader(file)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.xebia.mower.journal;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MoveJournalTest {
+
+    Path file;
+
+    @After
+    public void onTearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test public void should_write_header_and_fixed_size_records() throws Exception {
+        // Given
+        file = Files.createTempFile("journal", ".bin");
+
+        // When
+        try (MoveJournal journal = new MoveJournal(file)) {
+            journal.append(0, 0, pack(1, 2, N));
+            journal.append(0, 1, pack(1, 3, N));
+            assertThat(journal.getRecordCount()).isEqualTo(2);
+        }
+
+        // Then
+        assertThat(Files.size(file)).isEqualTo(MoveJournal.HEADER_SIZE + 2 * MoveJournal.RECORD_SIZE);
+    }
+
+    @Test public void should_write_batches_when_buffer_is_full() throws Exception {
+        // Given
+        file = Files.createTempFile("journal", ".bin");
+        MoveJournal journal = new MoveJournal(file, 2 * MoveJournal.RECORD_SIZE + 5);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            journal.append(i, i, pack(i, 0, E));
+        }
+        long writtenBeforeFlush = Files.size(file);
+        journal.flush();
+
+        // Then
+        assertThat(writtenBeforeFlush).isEqualTo(MoveJournal.HEADER_SIZE + 3 * MoveJournal.RECORD_SIZE);
+        assertThat(Files.size(file)).isEqualTo(MoveJournal.HEADER_SIZE + 5 * MoveJournal.RECORD_SIZE);
+        journal.close();
+        journal.close();
+    }
+
+    @Test public void should_throw_exception_when_buffer_cannot_hold_a_record() throws Exception {
+        // Given
+        file = Files.createTempFile("journal", ".bin");
+
+        // When // Then
+        assertThatThrownBy(() -> new MoveJournal(file, MoveJournal.RECORD_SIZE - 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
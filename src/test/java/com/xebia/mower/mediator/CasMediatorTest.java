@@ -0,0 +1,167 @@
+package com.xebia.mower.mediator;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.PackedPosition;
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.xebia.mower.mediator.CasMediator.FREE;
+import static com.xebia.mower.mediator.CasMediator.OCCUPIED;
+import static com.xebia.mower.model.Instruction.A;
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.parser.FileLineParser.parseInstructions;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CasMediatorTest {
+
+    CasMediator mediator = new CasMediator(new Grid(0, 0, 5, 5), new SpinBackoff(2, 2));
+
+    @Test public void should_throw_exception_when_grid_is_too_large() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new CasMediator(new Grid(0, 0, 100_000, 100_000))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_register_mower() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 1, E);
+
+        // When
+        mediator.register(mower);
+
+        // Then
+        assertThat(mediator.registeredMowers).containsExactly(mower);
+        assertThat(mediator.cells.get(mediator.cellOf(mower.getPackedPosition()))).isEqualTo(OCCUPIED);
+    }
+
+    @Test public void should_not_register_mower_when_position_is_locked() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 1, 1, N);
+        mediator.register(mower1);
+
+        // When
+        mediator.register(mower2);
+
+        // Then
+        assertThat(mediator.registeredMowers).containsExactly(mower1);
+    }
+
+    @Test public void should_throw_exception_when_mower_position_is_invalid() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 6, E);
+
+        // When // Then
+        assertThatThrownBy(() -> mediator.register(mower)).isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 1 has invalid position.");
+    }
+
+    @Test public void should_move_and_release_previous_cell() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 1, N);
+        mediator.register(mower);
+
+        // When
+        Position result = mediator.sendInstruction(A, mower);
+
+        // Then
+        assertThat(result).isEqualTo(new Position(1, 2, N));
+        assertThat(mediator.cells.get(mediator.cellOf(PackedPosition.pack(1, 1, N)))).isEqualTo(FREE);
+        assertThat(mediator.cells.get(mediator.cellOf(PackedPosition.of(result)))).isEqualTo(OCCUPIED);
+    }
+
+    @Test public void should_not_move_when_new_position_is_invalid() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 5, 5, N);
+        mediator.register(mower);
+
+        // When
+        Position result = mediator.sendInstruction(A, mower);
+
+        // Then
+        assertThat(result).isEqualTo(new Position(5, 5, N));
+    }
+
+    @Test public void should_not_move_when_new_position_is_locked() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 2, 1, N);
+        mediator.register(mower1).register(mower2);
+
+        // When
+        Position result = mediator.sendInstruction(A, mower1);
+
+        // Then
+        assertThat(result).isEqualTo(new Position(1, 1, E));
+        assertThat(mediator.cells.get(mediator.cellOf(PackedPosition.of(result)))).isEqualTo(OCCUPIED);
+    }
+
+    @Test public void should_try_to_register_mower() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 1, 1, N);
+
+        // When
+        boolean result1 = mediator.tryRegister(mower1);
+        boolean result2 = mediator.tryRegister(mower2);
+
+        // Then
+        assertThat(result1).isTrue();
+        assertThat(result2).isFalse();
+        assertThat(mediator.registeredMowers).containsExactly(mower1);
+    }
+
+    @Test public void should_try_to_move() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 3, 1, N);
+        Mower mower3 = new Mower("3", 5, 5, N);
+        mediator.register(mower1).register(mower2).register(mower3);
+
+        // When
+        MoveResult moved = mediator.tryMove(mower1);
+        MoveResult blocked = mediator.tryMove(mower1);
+        MoveResult invalid = mediator.tryMove(mower3);
+
+        // Then
+        assertThat(moved).isEqualTo(MoveResult.MOVED);
+        assertThat(blocked).isEqualTo(MoveResult.BLOCKED);
+        assertThat(invalid).isEqualTo(MoveResult.INVALID);
+        assertThat(mower1.getCurrentPosition()).isEqualTo(new Position(2, 1, E));
+        assertThat(mediator.cells.get(mediator.cellOf(PackedPosition.pack(1, 1, E)))).isEqualTo(FREE);
+        assertThat(mediator.cells.get(mediator.cellOf(PackedPosition.pack(2, 1, E)))).isEqualTo(OCCUPIED);
+    }
+
+    @Test public void should_run_specification_concurrently() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 2, N);
+        Mower mower2 = new Mower("2", 3, 3, E);
+        mediator.register(mower1).register(mower2);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        List<Callable<Position>> callables = new ArrayList<>();
+        callables.add(run(parseInstructions("GAGAGAGAA"), mower1));
+        callables.add(run(parseInstructions("AADAADADDA"), mower2));
+
+        // When
+        executorService.invokeAll(callables);
+        executorService.shutdown();
+
+        // Then
+        assertThat(mower1.getCurrentPosition()).isEqualTo(new Position(1, 3, N));
+        assertThat(mower2.getCurrentPosition()).isEqualTo(new Position(5, 1, E));
+    }
+
+    private Callable<Position> run(List<Instruction> instructions, Mower mower) {
+        return () -> {
+            instructions.forEach(instruction -> mediator.sendInstruction(instruction, mower));
+            return mower.getCurrentPosition();
+        };
+    }
+}
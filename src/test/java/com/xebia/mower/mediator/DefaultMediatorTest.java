@@ -1,8 +1,23 @@
 package com.xebia.mower.mediator;
 
+import com.xebia.mower.collision.CollisionPolicyStatistics;
+import com.xebia.mower.collision.FailFastCollisionPolicy;
+import com.xebia.mower.collision.FifoCollisionPolicy;
+import com.xebia.mower.collision.TimedWaitCollisionPolicy;
+import com.xebia.mower.coverage.CoverageMap;
+import com.xebia.mower.journal.MoveJournal;
+import com.xebia.mower.journal.MoveJournalReader;
+import com.xebia.mower.metrics.MediatorMetrics;
+import com.xebia.mower.metrics.MediatorMetricsSnapshot;
+import com.xebia.mower.model.CompiledProgram;
 import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
 import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Obstacle;
+import com.xebia.mower.model.Orientation;
 import com.xebia.mower.model.Position;
+import com.xebia.mower.occupancy.DenseOccupancy;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -12,13 +27,25 @@ import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.xebia.mower.mediator.DefaultMediator.DEFAULT_WAIT_TIMEOUT;
+import static com.xebia.mower.mediator.DefaultMediator.MAX_WAITING_TIMES;
 import static com.xebia.mower.model.Instruction.*;
 import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.pack;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -35,9 +62,12 @@ public class DefaultMediatorTest {
     @Before
     public void onSetUp() throws Exception {
         mediator.grid = new Grid(0, 0, 5, 5);
-        mediator.mowerList = new ArrayList<>();
+        mediator.registeredMowers = Collections.newSetFromMap(new IdentityHashMap<>());
+        mediator.occupancy = new DenseOccupancy(mediator.grid);
         mediator.positionLock = positionLockMock;
         mediator.positionUnlocked = positionUnlocked;
+        mediator.metrics = MediatorMetrics.DISABLED;
+        mediator.collisionPolicy = new TimedWaitCollisionPolicy();
         doNothing().when(positionLockMock).lock();
         doNothing().when(positionLockMock).unlock();
         doReturn(true).when(positionUnlocked).await(DEFAULT_WAIT_TIMEOUT, MILLISECONDS);
@@ -54,9 +84,9 @@ public class DefaultMediatorTest {
 
     @Test public void should_register_mower() throws Exception {
         // Given
-        Position currentPosition = new Position(1, 1, E);
+        long currentPosition = pack(1, 1, E);
         when(mowerMock.getId()).thenReturn("1");
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
         doReturn(true).when(mediator).isPositionValid(currentPosition);
         doReturn(false).when(mediator).isPositionLocked(currentPosition);
 
@@ -66,7 +96,7 @@ public class DefaultMediatorTest {
         // Then
         InOrder inOrder = Mockito.inOrder(mowerMock, mediator, positionLockMock, positionUnlocked);
 
-        inOrder.verify(mowerMock).getCurrentPosition();
+        inOrder.verify(mowerMock).getPackedPosition();
         inOrder.verify(mediator).isPositionValid(currentPosition);
         inOrder.verify(positionLockMock).lock();
         inOrder.verify(mediator).isPositionLocked(currentPosition);
@@ -76,14 +106,15 @@ public class DefaultMediatorTest {
         inOrder.verify(positionUnlocked, never()).await(DEFAULT_WAIT_TIMEOUT, MILLISECONDS);
 
         assertThat(result).isEqualTo(mediator);
-        assertThat(result.mowerList).containsExactly(mowerMock);
+        assertThat(result.registeredMowers).containsExactly(mowerMock);
+        assertThat(result.occupancy.isOccupied(1, 1)).isTrue();
     }
 
     @Test public void should_register_mower_when_position_is_locked_only_once() throws Exception {
         // Given
-        Position currentPosition = new Position(1, 1, E);
+        long currentPosition = pack(1, 1, E);
         when(mowerMock.getId()).thenReturn("1");
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
         doReturn(true).when(mediator).isPositionValid(currentPosition);
         doReturn(true, false).when(mediator).isPositionLocked(currentPosition);
 
@@ -93,7 +124,7 @@ public class DefaultMediatorTest {
         // Then
         InOrder inOrder = Mockito.inOrder(mowerMock, mediator, positionLockMock, positionUnlocked);
 
-        inOrder.verify(mowerMock).getCurrentPosition();
+        inOrder.verify(mowerMock).getPackedPosition();
         inOrder.verify(mediator).isPositionValid(currentPosition);
         inOrder.verify(positionLockMock).lock();
         inOrder.verify(mediator).isPositionLocked(currentPosition);
@@ -104,13 +135,13 @@ public class DefaultMediatorTest {
         inOrder.verify(positionLockMock).unlock();
 
         assertThat(result).isEqualTo(mediator);
-        assertThat(result.mowerList).containsExactly(mowerMock);
+        assertThat(result.registeredMowers).containsExactly(mowerMock);
     }
 
     @Test public void should_not_register_mower_when_position_is_locked_twice() throws Exception {
         // Given
-        Position currentPosition = new Position(1, 1, E);
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        long currentPosition = pack(1, 1, E);
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
         doReturn(true).when(mediator).isPositionValid(currentPosition);
         doReturn(true, true).when(mediator).isPositionLocked(currentPosition);
 
@@ -120,7 +151,7 @@ public class DefaultMediatorTest {
         // Then
         InOrder inOrder = Mockito.inOrder(mowerMock, mediator, positionLockMock, positionUnlocked);
 
-        inOrder.verify(mowerMock).getCurrentPosition();
+        inOrder.verify(mowerMock).getPackedPosition();
         inOrder.verify(mediator).isPositionValid(currentPosition);
         inOrder.verify(positionLockMock).lock();
         inOrder.verify(mediator).isPositionLocked(currentPosition);
@@ -131,13 +162,14 @@ public class DefaultMediatorTest {
         inOrder.verify(positionLockMock).unlock();
 
         assertThat(result).isEqualTo(mediator);
-        assertThat(result.mowerList).isEmpty();
+        assertThat(result.registeredMowers).isEmpty();
+        assertThat(result.occupancy.isOccupied(1, 1)).isFalse();
     }
 
     @Test public void should_throw_exception_when_mower_position_is_invalid() throws Exception {
         // Given
-        Position currentPosition = new Position(-1, 1, E);
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        long currentPosition = pack(-1, 1, E);
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
         when(mowerMock.getId()).thenReturn("1");
         doReturn(false).when(mediator).isPositionValid(currentPosition);
 
@@ -147,37 +179,35 @@ public class DefaultMediatorTest {
 
     @Test public void should_send_instruction_to_turn_right() throws Exception {
         // Given
-        Position expectedPosition = new Position(0, 0, E);
-        when(mowerMock.turnRight()).thenReturn(expectedPosition);
+        when(mowerMock.turnRightPacked()).thenReturn(pack(0, 0, E));
 
         // When
         Position result = mediator.sendInstruction(D, mowerMock);
 
         // Then
-        verify(mowerMock).turnRight();
-        assertThat(result).isEqualTo(expectedPosition);
+        verify(mowerMock).turnRightPacked();
+        assertThat(result).isEqualTo(new Position(0, 0, E));
     }
 
     @Test public void should_send_instruction_to_turn_left() throws Exception {
         // Given
-        Position expectedPosition = new Position(0, 0, S);
-        when(mowerMock.turnLeft()).thenReturn(expectedPosition);
+        when(mowerMock.turnLeftPacked()).thenReturn(pack(0, 0, S));
 
         // When
         Position result = mediator.sendInstruction(G, mowerMock);
 
         // Then
-        verify(mowerMock).turnLeft();
-        assertThat(result).isEqualTo(expectedPosition);
+        verify(mowerMock).turnLeftPacked();
+        assertThat(result).isEqualTo(new Position(0, 0, S));
     }
 
     @Test public void should_send_instruction_to_move() throws Exception {
         // Given
-        Position expectedPosition = new Position(1, 4, S);
+        long expectedPosition = pack(1, 4, S);
         doReturn(expectedPosition).when(mediator).handleMove(mowerMock);
 
         // When
-        Position result = mediator.sendInstruction(A, mowerMock);
+        long result = mediator.sendPackedInstruction(A, mowerMock);
 
         // Then
         verify(mediator).handleMove(mowerMock);
@@ -186,25 +216,25 @@ public class DefaultMediatorTest {
 
     @Test public void should_move_when_all_conditions_resolved() throws Exception {
         // Given
-        Position nextPosition = new Position(1, 3, N);
+        long nextPosition = pack(1, 3, N);
 
-        when(mowerMock.shouldMove()).thenReturn(nextPosition);
-        when(mowerMock.move()).thenReturn(nextPosition);
+        when(mowerMock.shouldMovePacked()).thenReturn(nextPosition);
+        when(mowerMock.moveTo(nextPosition)).thenReturn(nextPosition);
         doReturn(true).when(mediator).isPositionValid(nextPosition);
         doReturn(false).when(mediator).isPositionLocked(nextPosition);
 
         // When
-        Position result = mediator.handleMove(mowerMock);
+        long result = mediator.handleMove(mowerMock);
 
         // Then
         InOrder inOrder = Mockito.inOrder(mediator, mowerMock, positionLockMock, positionUnlocked);
 
-        inOrder.verify(mowerMock).getCurrentPosition();
-        inOrder.verify(mowerMock).shouldMove();
+        inOrder.verify(mowerMock).getPackedPosition();
+        inOrder.verify(mowerMock).shouldMovePacked();
         inOrder.verify(mediator).isPositionValid(nextPosition);
         inOrder.verify(positionLockMock).lock();
         inOrder.verify(mediator).isPositionLocked(nextPosition);
-        inOrder.verify(mowerMock).move();
+        inOrder.verify(mowerMock).moveTo(nextPosition);
         inOrder.verify(positionUnlocked).signalAll();
         inOrder.verify(positionLockMock).unlock();
         inOrder.verify(positionUnlocked, never()).await(DEFAULT_WAIT_TIMEOUT, MILLISECONDS);
@@ -214,22 +244,22 @@ public class DefaultMediatorTest {
 
     @Test public void should_not_move_when_new_position_is_invalid() throws Exception {
         // Given
-        Position currentPosition = new Position(0, 0, W);
-        Position nextPosition = new Position(-1, 0, W);
+        long currentPosition = pack(0, 0, W);
+        long nextPosition = pack(-1, 0, W);
 
-        when(mowerMock.shouldMove()).thenReturn(nextPosition);
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        when(mowerMock.shouldMovePacked()).thenReturn(nextPosition);
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
         doReturn(false).when(mediator).isPositionValid(nextPosition);
 
         // When
-        Position result = mediator.handleMove(mowerMock);
+        long result = mediator.handleMove(mowerMock);
 
         // Then
         InOrder inOrder = Mockito.inOrder(mediator, mowerMock, positionLockMock, positionUnlocked);
 
-        inOrder.verify(mowerMock).getCurrentPosition();
-        inOrder.verify(mowerMock).shouldMove();
-        inOrder.verify(mowerMock, never()).move();
+        inOrder.verify(mowerMock).getPackedPosition();
+        inOrder.verify(mowerMock).shouldMovePacked();
+        inOrder.verify(mowerMock, never()).moveTo(nextPosition);
         inOrder.verify(mediator).isPositionValid(nextPosition);
         inOrder.verify(mediator, never()).isPositionLocked(nextPosition);
         inOrder.verify(positionLockMock, never()).lock();
@@ -242,22 +272,22 @@ public class DefaultMediatorTest {
 
     @Test public void should_not_move_when_new_position_is_locked() throws Exception {
         // Given
-        Position currentPosition = new Position(1, 0, W);
-        Position nextPosition = new Position(0, 0, W);
+        long currentPosition = pack(1, 0, W);
+        long nextPosition = pack(0, 0, W);
 
-        when(mowerMock.shouldMove()).thenReturn(nextPosition);
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        when(mowerMock.shouldMovePacked()).thenReturn(nextPosition);
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
         doReturn(true).when(mediator).isPositionValid(nextPosition);
         doReturn(true, true).when(mediator).isPositionLocked(nextPosition);
 
         // When
-        Position result = mediator.handleMove(mowerMock);
+        long result = mediator.handleMove(mowerMock);
 
         InOrder inOrder = Mockito.inOrder(mediator, mowerMock, positionLockMock, positionUnlocked);
 
         // Then
-        inOrder.verify(mowerMock).getCurrentPosition();
-        inOrder.verify(mowerMock).shouldMove();
+        inOrder.verify(mowerMock).getPackedPosition();
+        inOrder.verify(mowerMock).shouldMovePacked();
         inOrder.verify(mediator).isPositionValid(nextPosition);
         inOrder.verify(positionLockMock).lock();
         inOrder.verify(mediator).isPositionLocked(nextPosition);
@@ -266,36 +296,36 @@ public class DefaultMediatorTest {
         inOrder.verify(positionUnlocked).await(DEFAULT_WAIT_TIMEOUT, MILLISECONDS);
         inOrder.verify(positionUnlocked).signalAll();
         inOrder.verify(positionLockMock).unlock();
-        inOrder.verify(mowerMock, never()).move();
+        inOrder.verify(mowerMock, never()).moveTo(nextPosition);
 
         assertThat(result).isEqualTo(currentPosition);
     }
 
     @Test public void should_move_when_position_is_locked_only_once() throws Exception {
         // Given
-        Position currentPosition = new Position(1, 0, W);
-        Position nextPosition = new Position(0, 0, W);
+        long currentPosition = pack(1, 0, W);
+        long nextPosition = pack(0, 0, W);
 
-        when(mowerMock.shouldMove()).thenReturn(nextPosition);
-        when(mowerMock.move()).thenReturn(nextPosition);
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        when(mowerMock.shouldMovePacked()).thenReturn(nextPosition);
+        when(mowerMock.moveTo(nextPosition)).thenReturn(nextPosition);
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
         doReturn(true).when(mediator).isPositionValid(nextPosition);
         doReturn(true, false).when(mediator).isPositionLocked(nextPosition);
 
         // When
-        Position result = mediator.handleMove(mowerMock);
+        long result = mediator.handleMove(mowerMock);
 
         InOrder inOrder = Mockito.inOrder(mowerMock, positionLockMock, positionUnlocked, mediator);
 
         // Then
-        inOrder.verify(mowerMock).getCurrentPosition();
-        inOrder.verify(mowerMock).shouldMove();
+        inOrder.verify(mowerMock).getPackedPosition();
+        inOrder.verify(mowerMock).shouldMovePacked();
         inOrder.verify(mediator).isPositionValid(nextPosition);
         inOrder.verify(positionLockMock).lock();
         inOrder.verify(mediator).isPositionLocked(nextPosition);
         inOrder.verify(positionUnlocked).await(DEFAULT_WAIT_TIMEOUT, MILLISECONDS);
         inOrder.verify(mediator).isPositionLocked(nextPosition);
-        inOrder.verify(mowerMock).move();
+        inOrder.verify(mowerMock).moveTo(nextPosition);
         inOrder.verify(positionUnlocked).signalAll();
         inOrder.verify(positionLockMock).unlock();
 
@@ -304,7 +334,7 @@ public class DefaultMediatorTest {
 
     @Test public void position_should_be_valid() throws Exception {
         // Given
-        Position currentPosition = new Position(1, 0, S);
+        long currentPosition = pack(1, 0, S);
 
         // When
         boolean result = mediator.isPositionValid(currentPosition);
@@ -314,7 +344,7 @@ public class DefaultMediatorTest {
     }
 
     @Test public void position_should_be_invalid() throws Exception {
-        Position currentPosition = new Position(-1, 0, S);
+        long currentPosition = pack(-1, 0, S);
 
         // When
         boolean result = mediator.isPositionValid(currentPosition);
@@ -323,34 +353,415 @@ public class DefaultMediatorTest {
         assertThat(result).isFalse();
     }
 
+    @Test public void should_move_occupancy_with_registered_mower() throws Exception {
+        // Given
+        long currentPosition = pack(1, 2, N);
+        long nextPosition = pack(1, 3, N);
+        mediator.registeredMowers.add(mowerMock);
+        mediator.occupancy.occupy(1, 2);
+
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
+        when(mowerMock.shouldMovePacked()).thenReturn(nextPosition);
+        when(mowerMock.moveTo(nextPosition)).thenReturn(nextPosition);
+
+        // When
+        mediator.handleMove(mowerMock);
+
+        // Then
+        assertThat(mediator.occupancy.isOccupied(1, 2)).isFalse();
+        assertThat(mediator.occupancy.isOccupied(1, 3)).isTrue();
+    }
+
+    @Test public void should_not_move_occupancy_with_unregistered_mower() throws Exception {
+        // Given
+        long currentPosition = pack(1, 2, N);
+        long nextPosition = pack(1, 3, N);
+        mediator.occupancy.occupy(1, 2);
+
+        when(mowerMock.getPackedPosition()).thenReturn(currentPosition);
+        when(mowerMock.shouldMovePacked()).thenReturn(nextPosition);
+        when(mowerMock.moveTo(nextPosition)).thenReturn(nextPosition);
+
+        // When
+        mediator.handleMove(mowerMock);
+
+        // Then
+        assertThat(mediator.occupancy.isOccupied(1, 2)).isTrue();
+        assertThat(mediator.occupancy.isOccupied(1, 3)).isFalse();
+    }
+
     @Test public void position_should_not_be_locked() throws Exception {
         // Given
-        Position currentPosition = new Position(2, 1, N);
-        Position positionToCompare = new Position(1, 1, N);
-        mediator.mowerList.add(mowerMock);
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        long positionToCompare = pack(1, 1, N);
+        mediator.occupancy.occupy(2, 1);
 
         // When
         boolean result = mediator.isPositionLocked(positionToCompare);
 
         // Then
-        verify(mowerMock).getCurrentPosition();
         assertThat(result).isFalse();
     }
 
     @Test public void position_should_be_locked() throws Exception {
         // Given
-        Position currentPosition = new Position(1, 1, S);
-        Position positionToCompare = new Position(1, 1, S);
-        mediator.mowerList.add(mowerMock);
-        when(mowerMock.getCurrentPosition()).thenReturn(currentPosition);
+        long positionToCompare = pack(1, 1, S);
+        mediator.occupancy.occupy(1, 1);
 
         // When
         boolean result = mediator.isPositionLocked(positionToCompare);
 
         // Then
-        verify(mowerMock).getCurrentPosition();
         assertThat(result).isTrue();
     }
 
+    @Test public void should_advance_until_grid_border() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 0, 4, N);
+
+        // When
+        long result = mediator.sendPackedAdvance(mower, 3);
+
+        // Then
+        verify(mediator, never()).handleMove(mower);
+        assertThat(result).isEqualTo(pack(0, 5, N));
+        assertThat(mower.getCurrentPosition()).isEqualTo(new Position(0, 5, N));
+    }
+
+    @Test public void should_advance_until_obstacle() throws Exception {
+        // Given
+        DefaultMediator mediator = new DefaultMediator(new Grid(0, 0, 5, 5, Collections.singletonList(new Obstacle(0, 3, 1, 3))));
+        Mower mower = new Mower("1", 0, 0, N);
+        mediator.register(mower);
+
+        // When
+        long result = mediator.sendPackedAdvance(mower, 5);
+
+        // Then
+        assertThat(result).isEqualTo(pack(0, 2, N));
+        assertThat(mediator.occupancy.isOccupied(0, 2)).isTrue();
+        assertThat(mediator.occupancy.isOccupied(0, 3)).isFalse();
+    }
+
+    @Test public void should_advance_until_occupied_cell_then_move_step_by_step() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 0, 0, N);
+        mediator.registeredMowers.add(mower);
+        mediator.occupancy.occupy(0, 0);
+        mediator.occupancy.occupy(0, 3);
+
+        // When
+        long result = mediator.sendPackedAdvance(mower, 5);
+
+        // Then
+        verify(mediator, times(3)).handleMove(mower);
+        assertThat(result).isEqualTo(pack(0, 2, N));
+        assertThat(mediator.occupancy.isOccupied(0, 0)).isFalse();
+        assertThat(mediator.occupancy.isOccupied(0, 2)).isTrue();
+    }
+
+    @Test public void compiled_programs_should_end_at_same_positions_as_single_instructions() throws Exception {
+        // Given
+        Random random = new Random(42);
+        Grid grid = new Grid(0, 0, 5, 5);
+
+        for (int run = 0; run < 200; run++) {
+            DefaultMediator singleMediator = withoutWait(new DefaultMediator(grid));
+            DefaultMediator compiledMediator = withoutWait(new DefaultMediator(grid));
+
+            for (int id = 0; id < 4; id++) {
+                Position initialPosition = new Position(random.nextInt(6), random.nextInt(6), Orientation.values()[random.nextInt(4)]);
+                InstructionProgram program = randomProgram(random, 40);
+                Mower singleMower = new Mower(String.valueOf(id), initialPosition);
+                Mower compiledMower = new Mower(String.valueOf(id), initialPosition);
+
+                // When
+                singleMediator.register(singleMower);
+                compiledMediator.register(compiledMower);
+                Position singleResult = singleMediator.sendInstructions(program, singleMower);
+                Position compiledResult = compiledMediator.sendInstructions(CompiledProgram.compile(program), compiledMower);
+
+                // Then
+                assertThat(compiledResult).isEqualTo(singleResult);
+            }
+        }
+    }
+
+    @Test public void should_try_to_register_mower_without_waiting() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 1, 1, N);
+
+        // When
+        boolean result1 = mediator.tryRegister(mower1);
+        boolean result2 = mediator.tryRegister(mower2);
+
+        // Then
+        assertThat(result1).isTrue();
+        assertThat(result2).isFalse();
+        assertThat(mediator.registeredMowers).containsExactly(mower1);
+        verify(positionUnlocked, never()).await(anyLong(), any());
+    }
+
+    @Test public void should_throw_exception_when_trying_to_register_mower_with_invalid_position() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 6, 1, E);
+
+        // When // Then
+        assertThatThrownBy(() -> mediator.tryRegister(mower)).isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 1 has invalid position.");
+    }
+
+    @Test public void should_try_to_move_without_waiting() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 3, 1, N);
+        Mower mower3 = new Mower("3", 5, 5, N);
+        mediator.register(mower1).register(mower2).register(mower3);
+
+        // When
+        MoveResult moved = mediator.tryMove(mower1);
+        MoveResult blocked = mediator.tryMove(mower1);
+        MoveResult invalid = mediator.tryMove(mower3);
+
+        // Then
+        assertThat(moved).isEqualTo(MoveResult.MOVED);
+        assertThat(blocked).isEqualTo(MoveResult.BLOCKED);
+        assertThat(invalid).isEqualTo(MoveResult.INVALID);
+        assertThat(mower1.getCurrentPosition()).isEqualTo(new Position(2, 1, E));
+        assertThat(mediator.occupancy.isOccupied(1, 1)).isFalse();
+        assertThat(mediator.occupancy.isOccupied(2, 1)).isTrue();
+        verify(positionUnlocked, never()).await(anyLong(), any());
+    }
+
+    @Test public void should_send_instruction_range_in_a_single_lock_scope() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 2, N);
+        mediator.register(mower);
+        clearInvocations(positionLockMock);
+
+        // When
+        Position result = mediator.sendInstructions(InstructionProgram.parse("DGAGAGAGAAD"), 1, 10, mower);
+
+        // Then
+        assertThat(result).isEqualTo(new Position(1, 3, N));
+        verify(positionLockMock, times(1 + 5)).lock(); // the range scope, then a reentrant acquisition per move
+        verify(positionLockMock, times(1 + 5)).unlock();
+    }
+
+    @Test public void should_throw_exception_when_instruction_range_is_out_of_program() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 2, N);
+
+        // When // Then
+        assertThatThrownBy(() -> mediator.sendInstructions(InstructionProgram.parse("GA"), 1, 3, mower)).isInstanceOf(IndexOutOfBoundsException.class);
+        verify(positionLockMock, never()).lock();
+    }
+
+    @Test public void should_release_lock_after_sending_instructions() throws Exception {
+        // Given
+        DefaultMediator mediator = new DefaultMediator(new Grid(0, 0, 5, 5));
+        Mower mower1 = new Mower("1", 1, 2, N);
+        Mower mower2 = new Mower("2", 3, 3, E);
+        mediator.register(mower1).register(mower2);
+
+        // When
+        Position result1 = mediator.sendInstructions(InstructionProgram.parse("GAGAGAGAA"), mower1);
+        Position result2 = mediator.sendInstructions(InstructionProgram.parse("AADAADADDA"), 0, 4, mower2);
+
+        // Then
+        assertThat(result1).isEqualTo(new Position(1, 3, N));
+        assertThat(result2).isEqualTo(new Position(5, 2, S));
+        assertThat(((ReentrantLock) mediator.positionLock).isLocked()).isFalse();
+    }
+
+    @Test public void should_hand_lock_over_to_mower_moving_while_instruction_range_runs() throws Exception {
+        // Given
+        DefaultMediator mediator = new DefaultMediator(new Grid(0, 0, 5, 5));
+        ReentrantLock lock = (ReentrantLock) mediator.positionLock;
+        CountDownLatch rangeStarted = new CountDownLatch(1);
+        AtomicInteger turns = new AtomicInteger();
+        AtomicInteger turnsWhenMoved = new AtomicInteger(-1);
+        Mower turning = new Mower("1", 1, 1, N) {
+            @Override
+            public long turnRightPacked() {
+                if (turns.incrementAndGet() == 1) {
+                    rangeStarted.countDown();
+                    while (!lock.hasQueuedThreads()) Thread.yield();
+                }
+                return super.turnRightPacked();
+            }
+        };
+        Mower moving = new Mower("2", 3, 3, E) {
+            @Override
+            public long moveTo(long newPackedPosition) {
+                turnsWhenMoved.set(turns.get());
+                return super.moveTo(newPackedPosition);
+            }
+        };
+        mediator.register(turning).register(moving);
+        InstructionProgram.Builder program = InstructionProgram.builder();
+        for (int i = 0; i < 1000; i++) {
+            program.append(D);
+        }
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Position> range = executorService.submit(() -> mediator.sendInstructions(program.build(), turning));
+        rangeStarted.await();
+
+        // When
+        long moved = mediator.sendPackedInstruction(A, moving);
+
+        // Then
+        assertThat(moved).isEqualTo(pack(4, 3, E));
+        assertThat(turnsWhenMoved.get()).isEqualTo(1); // queued during the first turn, entered before the second
+        assertThat(range.get()).isEqualTo(new Position(1, 1, N));
+        executorService.shutdown();
+    }
+
+    @Test public void should_record_metrics_when_enabled() throws Exception {
+        // Given
+        MediatorMetrics metrics = new MediatorMetrics();
+        DefaultMediator mediator = withoutWait(new DefaultMediator(new Grid(0, 0, 5, 5), metrics));
+        Mower mower1 = new Mower("1", 0, 0, W);
+        Mower mower2 = new Mower("2", 0, 1, S);
+        mediator.register(mower1).register(mower2);
+
+        // When
+        mediator.sendInstructions(InstructionProgram.parse("ADGA"), mower1);
+        mediator.sendInstruction(A, mower2);
+
+        // Then
+        MediatorMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getInstructionCounts()).containsEntry("A", 3L).containsEntry("D", 1L).containsEntry("G", 1L);
+        assertThat(snapshot.getInvalidMoveCount()).isEqualTo(2);
+        assertThat(snapshot.getCollisionCount()).isEqualTo(MAX_WAITING_TIMES);
+        assertThat(snapshot.getTimeoutCount()).isEqualTo(1);
+        assertThat(snapshot.getAwaits().getCount()).isEqualTo(MAX_WAITING_TIMES);
+        assertThat(snapshot.getLockWaits().getCount()).isEqualTo(snapshot.getLockHolds().getCount()).isPositive();
+    }
+
+    @Test public void should_record_outermost_lock_acquisitions_only() throws Exception {
+        // Given
+        MediatorMetrics metrics = new MediatorMetrics();
+        DefaultMediator mediator = new DefaultMediator(new Grid(0, 0, 5, 5), metrics);
+        Mower mower = new Mower("1", 0, 0, N);
+        mediator.register(mower);
+
+        // When
+        mediator.sendInstructions(InstructionProgram.parse("AAADAA"), mower);
+
+        // Then
+        MediatorMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getLockWaits().getCount()).isEqualTo(2);
+        assertThat(snapshot.getLockHolds().getCount()).isEqualTo(2);
+    }
+
+    @Test public void should_not_read_clock_when_metrics_are_disabled() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 1, N);
+        mediator.register(mower);
+
+        // When
+        mediator.sendInstructions(InstructionProgram.parse("AA"), mower);
+
+        // Then
+        assertThat(MediatorMetrics.DISABLED.snapshot().getInstructionCounts()).containsEntry("A", 0L);
+        assertThat(MediatorMetrics.DISABLED.snapshot().getLockHolds().getCount()).isZero();
+    }
+
+    @Test public void should_mark_mowed_cells_when_coverage_is_tracked() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 5, 5);
+        CoverageMap coverage = new CoverageMap(grid);
+        DefaultMediator mediator = new DefaultMediator(grid, MediatorMetrics.DISABLED, coverage);
+        Mower mower = new Mower("1", 0, 0, E);
+        mediator.register(mower);
+
+        // When
+        mediator.sendInstructions(CompiledProgram.compile(InstructionProgram.parse("AAAGA")), mower);
+        mediator.tryMove(mower);
+        mediator.sendInstruction(A, mower);
+
+        // Then
+        assertThat(coverage.getMowedCount()).isEqualTo(7);
+        assertThat(coverage.isMowed(3, 0)).isTrue();
+        assertThat(coverage.isMowed(3, 3)).isTrue();
+        assertThat(coverage.isMowed(4, 0)).isFalse();
+    }
+
+    @Test public void should_skip_instruction_without_waiting_when_policy_fails_fast() throws Exception {
+        // Given
+        MediatorMetrics metrics = new MediatorMetrics();
+        FailFastCollisionPolicy policy = new FailFastCollisionPolicy();
+        DefaultMediator mediator = withoutWait(new DefaultMediator(new Grid(0, 0, 5, 5), metrics, null, policy));
+        Mower mower1 = new Mower("1", 0, 0, N);
+        Mower mower2 = new Mower("2", 0, 1, S);
+        mediator.register(mower1).register(mower2);
+
+        // When
+        long result = mediator.sendPackedInstruction(A, mower2);
+
+        // Then
+        verify(positionUnlocked, never()).await(anyLong(), any());
+        assertThat(result).isEqualTo(pack(0, 1, S));
+        assertThat(policy.getStatistics()).isEqualTo(new CollisionPolicyStatistics(1, 0, 0, 1, 0));
+        assertThat(metrics.snapshot().getCollisionCount()).isEqualTo(1);
+        assertThat(metrics.snapshot().getTimeoutCount()).isEqualTo(1);
+    }
+
+    @Test public void should_not_let_mower_overtake_queued_mower() throws Exception {
+        // Given
+        FifoCollisionPolicy policy = new FifoCollisionPolicy(0);
+        DefaultMediator mediator = new DefaultMediator(new Grid(0, 0, 5, 5), MediatorMetrics.DISABLED, null, policy);
+        Mower waiting = new Mower("1", 2, 0, N);
+        Mower mower = new Mower("2", 0, 1, E);
+        mediator.register(waiting).register(mower);
+        policy.onCollision(pack(2, 1, N), waiting, 0);
+
+        // When
+        MoveResult tried = mediator.tryMove(new Mower("3", 2, 2, S));
+        long advanced = mediator.sendPackedAdvance(mower, 3);
+
+        // Then
+        assertThat(tried).isEqualTo(MoveResult.BLOCKED);
+        assertThat(advanced).isEqualTo(pack(1, 1, E));
+        assertThat(policy.getStatistics().getDeferredCount()).isPositive();
+    }
+
+    @Test public void should_journal_registered_mowers_changes() throws Exception {
+        // Given
+        Path file = Files.createTempFile("journal", ".bin");
+        Mower mower1 = new Mower("1", 1, 2, N);
+        Mower mower2 = new Mower("2", 3, 3, E);
+        try (MoveJournal journal = new MoveJournal(file)) {
+            DefaultMediator mediator = new DefaultMediator(new Grid(0, 0, 5, 5), MediatorMetrics.DISABLED, null, new TimedWaitCollisionPolicy(), journal);
+            mediator.register(mower1).register(mower2);
+
+            // When
+            mediator.sendInstructions(InstructionProgram.parse("GAGAGAGAA"), mower1);
+            mediator.sendInstructions(CompiledProgram.compile(InstructionProgram.parse("AADAADADDA")), mower2);
+            mediator.tryMove(new Mower("3", 0, 0, N));
+        }
+
+        // Then
+        MoveJournalReader reader = new MoveJournalReader(file);
+        Files.delete(file);
+        assertThat(reader.replay(2).getPosition(0)).isEqualTo(new Position(1, 2, N));
+        assertThat(reader.replay(3).getPosition(0)).isEqualTo(new Position(1, 2, W));
+        assertThat(reader.replay().size()).isEqualTo(2);
+        assertThat(reader.replay().getPosition(0)).isEqualTo(mower1.getCurrentPosition());
+        assertThat(reader.replay().getPosition(1)).isEqualTo(mower2.getCurrentPosition());
+    }
+
+    private DefaultMediator withoutWait(DefaultMediator mediator) {
+        mediator.positionUnlocked = positionUnlocked;
+        return mediator;
+    }
+
+    private InstructionProgram randomProgram(Random random, int length) {
+        InstructionProgram.Builder builder = InstructionProgram.builder();
+        for (int i = 0; i < length; i++) {
+            builder.append(random.nextInt(3) == 0 ? Instruction.values()[random.nextInt(2)] : Instruction.A);
+        }
+        return builder.build();
+    }
+
 }
@@ -0,0 +1,31 @@
+package com.xebia.mower.mediator;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SpinBackoffTest {
+
+    SpinBackoff backoff = new SpinBackoff(3, 2);
+
+    @Test public void should_retry_while_attempts_are_not_exhausted() throws Exception {
+        // When // Then
+        for (int attempt = 0; attempt < 5; attempt++) {
+            assertThat(backoff.backoff(attempt)).isTrue();
+        }
+    }
+
+    @Test public void should_give_up_when_attempts_are_exhausted() throws Exception {
+        // When
+        boolean result = backoff.backoff(5);
+
+        // Then
+        assertThat(result).isFalse();
+    }
+
+    @Test public void should_throw_exception_when_spin_attempts_overflow() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new SpinBackoff(31, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,162 @@
+package com.xebia.mower.mediator;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.Mower;
+import com.xebia.mower.model.Position;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.xebia.mower.model.Instruction.A;
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.parser.FileLineParser.parseInstructions;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StripedMediatorTest {
+
+    StripedMediator mediator = new StripedMediator(new Grid(0, 0, 5, 5), 8);
+
+    @Test public void should_throw_exception_when_stripe_count_is_not_a_power_of_two() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new StripedMediator(new Grid(0, 0, 5, 5), 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_register_mower() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 1, E);
+
+        // When
+        mediator.register(mower);
+
+        // Then
+        assertThat(mediator.registeredMowers).containsExactly(mower);
+        assertThat(mediator.stripeOf(1, 1).occupancy.isOccupied(1, 1)).isTrue();
+    }
+
+    @Test public void should_not_register_mower_when_position_is_locked() throws Exception {
+        // Given
+        mediator.waitTimeout = 10;
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 1, 1, N);
+        mediator.register(mower1);
+
+        // When
+        mediator.register(mower2);
+
+        // Then
+        assertThat(mediator.registeredMowers).containsExactly(mower1);
+    }
+
+    @Test public void should_throw_exception_when_mower_position_is_invalid() throws Exception {
+        // Given
+        Mower mower = new Mower("1", -1, 1, E);
+
+        // When // Then
+        assertThatThrownBy(() -> mediator.register(mower)).isInstanceOf(IllegalArgumentException.class).hasMessage("Mower 1 has invalid position.");
+    }
+
+    @Test public void should_move_and_release_previous_cell() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 1, 1, E);
+        mediator.register(mower);
+
+        // When
+        Position result = mediator.sendInstruction(A, mower);
+
+        // Then
+        assertThat(result).isEqualTo(new Position(2, 1, E));
+        assertThat(mediator.stripeOf(1, 1).occupancy.isOccupied(1, 1)).isFalse();
+        assertThat(mediator.stripeOf(2, 1).occupancy.isOccupied(2, 1)).isTrue();
+    }
+
+    @Test public void should_not_move_when_new_position_is_invalid() throws Exception {
+        // Given
+        Mower mower = new Mower("1", 0, 0, W);
+        mediator.register(mower);
+
+        // When
+        Position result = mediator.sendInstruction(A, mower);
+
+        // Then
+        assertThat(result).isEqualTo(new Position(0, 0, W));
+    }
+
+    @Test public void should_not_move_when_new_position_is_locked() throws Exception {
+        // Given
+        mediator.waitTimeout = 10;
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 2, 1, N);
+        mediator.register(mower1).register(mower2);
+
+        // When
+        Position result = mediator.sendInstruction(A, mower1);
+
+        // Then
+        assertThat(result).isEqualTo(new Position(1, 1, E));
+    }
+
+    @Test public void should_keep_waiting_when_another_cell_of_the_stripe_is_released() throws Exception {
+        // Given
+        mediator = new StripedMediator(new Grid(0, 0, 5, 5), 1);
+        StripedMediator.Stripe stripe = mediator.stripes[0];
+        Mower mower1 = new Mower("1", 1, 1, E);
+        Mower mower2 = new Mower("2", 2, 1, N);
+        Mower mower3 = new Mower("3", 4, 4, S);
+        mediator.register(mower1).register(mower2).register(mower3);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Position> move = executorService.submit(() -> mediator.sendInstruction(A, mower1));
+        while (!hasWaiters(stripe)) Thread.yield();
+
+        // When
+        mediator.sendInstruction(A, mower3);
+        mediator.sendInstruction(A, mower3);
+        mediator.sendInstruction(A, mower3);
+        mediator.sendInstruction(A, mower2);
+
+        // Then
+        assertThat(move.get()).isEqualTo(new Position(2, 1, E));
+        executorService.shutdown();
+    }
+
+    @Test public void should_run_specification_concurrently() throws Exception {
+        // Given
+        Mower mower1 = new Mower("1", 1, 2, N);
+        Mower mower2 = new Mower("2", 3, 3, E);
+        mediator.register(mower1).register(mower2);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        List<Callable<Position>> callables = new ArrayList<>();
+        callables.add(run(parseInstructions("GAGAGAGAA"), mower1));
+        callables.add(run(parseInstructions("AADAADADDA"), mower2));
+
+        // When
+        executorService.invokeAll(callables);
+        executorService.shutdown();
+
+        // Then
+        assertThat(mower1.getCurrentPosition()).isEqualTo(new Position(1, 3, N));
+        assertThat(mower2.getCurrentPosition()).isEqualTo(new Position(5, 1, E));
+    }
+
+    private static boolean hasWaiters(StripedMediator.Stripe stripe) {
+        stripe.lock.lock();
+        try {
+            return stripe.lock.hasWaiters(stripe.released);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Callable<Position> run(List<Instruction> instructions, Mower mower) {
+        return () -> {
+            instructions.forEach(instruction -> mediator.sendInstruction(instruction, mower));
+            return mower.getCurrentPosition();
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.xebia.mower.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+public class LatencyHistogramTest {
+
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test public void should_put_values_in_power_of_two_buckets() throws Exception {
+        // When // Then
+        assertThat(LatencyHistogram.bucketOf(0)).isEqualTo(0);
+        assertThat(LatencyHistogram.bucketOf(1)).isEqualTo(1);
+        assertThat(LatencyHistogram.bucketOf(2)).isEqualTo(2);
+        assertThat(LatencyHistogram.bucketOf(3)).isEqualTo(2);
+        assertThat(LatencyHistogram.bucketOf(1024)).isEqualTo(11);
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(63);
+    }
+
+    @Test public void should_take_snapshot() throws Exception {
+        // Given
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+
+        // When
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Then
+        assertThat(snapshot.getCount()).isEqualTo(101);
+        assertThat(snapshot.getSum()).isEqualTo(5050);
+        assertThat(snapshot.getMax()).isEqualTo(100);
+        assertThat(snapshot.getMean()).isCloseTo(50, offset(0.1));
+        assertThat(snapshot.getPercentile(50)).isEqualTo(63);
+        assertThat(snapshot.getPercentile(99)).isEqualTo(100);
+        assertThat(snapshot.getPercentile(0)).isEqualTo(0);
+        assertThat(snapshot.getBuckets()[7]).isEqualTo(37);
+    }
+
+    @Test public void should_reset() throws Exception {
+        // Given
+        histogram.record(10);
+
+        // When
+        histogram.reset();
+
+        // Then
+        assertThat(histogram.snapshot().getCount()).isZero();
+        assertThat(histogram.snapshot().getMax()).isZero();
+        assertThat(histogram.snapshot().getPercentile(99)).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package com.xebia.mower.metrics;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static com.xebia.mower.model.Instruction.A;
+import static com.xebia.mower.model.Instruction.D;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MediatorMetricsTest {
+
+    MediatorMetrics metrics = new MediatorMetrics();
+
+    @Test public void should_record_metrics() throws Exception {
+        // When
+        metrics.onInstruction(A);
+        metrics.onInstructions(D, 3);
+        metrics.onInvalidMoves(2);
+        metrics.onCollision();
+        metrics.onTimeout();
+        metrics.onAwait(1000);
+        metrics.onLockWait(10);
+        metrics.onLockHold(20);
+
+        // Then
+        MediatorMetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getInstructionCounts()).containsEntry("A", 1L).containsEntry("D", 3L).containsEntry("G", 0L);
+        assertThat(snapshot.getInvalidMoveCount()).isEqualTo(2);
+        assertThat(snapshot.getCollisionCount()).isEqualTo(1);
+        assertThat(snapshot.getTimeoutCount()).isEqualTo(1);
+        assertThat(snapshot.getAwaits().getMax()).isEqualTo(1000);
+        assertThat(snapshot.getLockWaits().getSum()).isEqualTo(10);
+        assertThat(snapshot.getLockHolds().getSum()).isEqualTo(20);
+    }
+
+    @Test public void should_not_record_when_disabled() throws Exception {
+        // When
+        MediatorMetrics.DISABLED.onInstruction(A);
+        MediatorMetrics.DISABLED.onCollision();
+        MediatorMetrics.DISABLED.onLockHold(20);
+
+        // Then
+        assertThat(MediatorMetrics.DISABLED.isEnabled()).isFalse();
+        assertThat(MediatorMetrics.DISABLED.getInstructionCounts()).containsEntry("A", 0L);
+        assertThat(MediatorMetrics.DISABLED.getCollisionCount()).isZero();
+        assertThat(MediatorMetrics.DISABLED.getLockHoldCount()).isZero();
+    }
+
+    @Test public void should_reset() throws Exception {
+        // Given
+        metrics.onInstruction(A);
+        metrics.onAwait(1000);
+
+        // When
+        metrics.reset();
+
+        // Then
+        assertThat(metrics.getInstructionCounts()).containsEntry("A", 0L);
+        assertThat(metrics.getAwaitCount()).isZero();
+    }
+
+    @Test public void should_expose_metrics_through_jmx() throws Exception {
+        // Given
+        metrics.onCollision();
+        metrics.onLockWait(10);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        // When
+        ObjectName name = metrics.registerMBean("test");
+
+        // Then
+        try {
+            assertThat(server.getAttribute(name, "CollisionCount")).isEqualTo(1L);
+            assertThat(server.getAttribute(name, "LockWaitMax")).isEqualTo(10L);
+            assertThat(server.getAttribute(name, "Enabled")).isEqualTo(true);
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.xebia.mower.model;
+
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CellKeyTest {
+
+    @Test public void should_pack_and_unpack_coordinates() throws Exception {
+        // When
+        long key = CellKey.of(-3, Integer.MIN_VALUE);
+
+        // Then
+        assertThat(CellKey.getX(key)).isEqualTo(-3);
+        assertThat(CellKey.getY(key)).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @Test public void should_ignore_orientation() throws Exception {
+        // When // Then
+        assertThat(CellKey.of(new Position(1, 2, N))).isEqualTo(CellKey.of(new Position(1, 2, S)));
+        assertThat(CellKey.ofPacked(PackedPosition.pack(1, 2, E))).isEqualTo(CellKey.of(1, 2));
+        assertThat(CellKey.of(1, 2)).isNotEqualTo(CellKey.of(2, 1));
+        assertThat(CellKey.of(0, -1)).isNotEqualTo(CellKey.of(-1, -1));
+    }
+}
@@ -0,0 +1,43 @@
+package com.xebia.mower.model;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledProgramTest {
+
+    @Test public void should_fold_turns_and_moves() throws Exception {
+        // When
+        CompiledProgram result = CompiledProgram.compile(InstructionProgram.parse("GGGGDDAAAGADG"));
+
+        // Then
+        assertThat(result.size()).isEqualTo(4);
+        assertThat(result.operation(0)).isEqualTo(-2);
+        assertThat(result.operation(1)).isEqualTo(3);
+        assertThat(result.operation(2)).isEqualTo(-3);
+        assertThat(result.operation(3)).isEqualTo(1);
+        assertThat(result.instructionCount()).isEqualTo(13);
+    }
+
+    @Test public void should_keep_trailing_rotation() throws Exception {
+        // When
+        CompiledProgram result = CompiledProgram.compile(InstructionProgram.parse("AADDD"));
+
+        // Then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.operation(0)).isEqualTo(2);
+        assertThat(result.operation(1)).isEqualTo(-3);
+        assertThat(CompiledProgram.isAdvance(result.operation(0))).isTrue();
+        assertThat(CompiledProgram.isAdvance(result.operation(1))).isFalse();
+        assertThat(CompiledProgram.isTurn(result.operation(1))).isTrue();
+        assertThat(CompiledProgram.rightTurns(result.operation(1))).isEqualTo(3);
+    }
+
+    @Test public void should_compile_empty_program() throws Exception {
+        // When
+        CompiledProgram result = CompiledProgram.compile(InstructionProgram.parse("DGGD"));
+
+        // Then
+        assertThat(result.size()).isZero();
+    }
+}
@@ -2,8 +2,12 @@ package com.xebia.mower.model;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static com.xebia.mower.model.Orientation.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class GridTest {
 
@@ -29,4 +33,77 @@ public class GridTest {
         assertThat(result).isFalse();
     }
 
-}
\ No newline at end of file
+    @Test public void should_compute_steps_to_border() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 5, 4);
+
+        // When // Then
+        assertThat(grid.stepsToBorder(PackedPosition.pack(1, 2, N))).isEqualTo(2);
+        assertThat(grid.stepsToBorder(PackedPosition.pack(1, 2, S))).isEqualTo(2);
+        assertThat(grid.stepsToBorder(PackedPosition.pack(1, 2, E))).isEqualTo(4);
+        assertThat(grid.stepsToBorder(PackedPosition.pack(1, 2, W))).isEqualTo(1);
+    }
+
+    @Test public void position_on_obstacle_is_invalid() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 5, 5, Collections.singletonList(new Obstacle(2, 1, 3, 2)));
+
+        // When // Then
+        assertThat(grid.isPositionValid(new Position(3, 2, S))).isFalse();
+        assertThat(grid.isPositionValid(new Position(4, 2, S))).isTrue();
+        assertThat(grid.isWithinBounds(3, 2)).isTrue();
+        assertThat(grid.getObstacleCellCount()).isEqualTo(4);
+    }
+
+    @Test public void should_count_overlapping_obstacle_cells_once() throws Exception {
+        // When
+        Grid grid = new Grid(0, 0, 5, 5, Arrays.asList(new Obstacle(0, 0, 1, 1), new Obstacle(1, 1, 2, 2)));
+
+        // Then
+        assertThat(grid.getObstacleCellCount()).isEqualTo(7);
+        assertThat(grid.hasObstacles()).isTrue();
+        assertThat(new Grid(0, 0, 5, 5).hasObstacles()).isFalse();
+    }
+
+    @Test public void should_compute_steps_to_obstacle() throws Exception {
+        // Given
+        Grid grid = new Grid(0, 0, 5, 4, Collections.singletonList(new Obstacle(3, 2, 3, 2)));
+
+        // When // Then
+        assertThat(grid.stepsToBorder(PackedPosition.pack(1, 2, E))).isEqualTo(1);
+        assertThat(grid.stepsToBorder(PackedPosition.pack(5, 2, W))).isEqualTo(1);
+        assertThat(grid.stepsToBorder(PackedPosition.pack(3, 0, N))).isEqualTo(1);
+        assertThat(grid.stepsToBorder(PackedPosition.pack(1, 2, N))).isEqualTo(2);
+    }
+
+    @Test public void grids_should_be_equal_with_same_obstacles() throws Exception {
+        // When // Then
+        assertThat(new Grid(0, 0, 5, 5, Collections.singletonList(new Obstacle(1, 1, 2, 2))))
+                .isEqualTo(new Grid(0, 0, 5, 5, Collections.singletonList(new Obstacle(1, 1, 2, 2))))
+                .isNotEqualTo(new Grid(0, 0, 5, 5));
+    }
+
+    @Test public void should_throw_exception_when_obstacle_is_out_of_grid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new Grid(0, 0, 5, 5, Collections.singletonList(new Obstacle(4, 4, 6, 5))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_accept_bounds_at_the_limits() throws Exception {
+        // Given
+        Grid grid = new Grid(Grid.MIN_BOUND, 0, Grid.MAX_BOUND, 5);
+
+        // When // Then
+        assertThat(grid.isPositionValid(PackedPosition.forward(PackedPosition.pack(Grid.MAX_BOUND, 2, E)))).isFalse();
+        assertThat(grid.isPositionValid(PackedPosition.forward(PackedPosition.pack(Grid.MIN_BOUND, 2, W)))).isFalse();
+        assertThat(grid.isPositionValid(PackedPosition.forward(PackedPosition.pack(Grid.MAX_BOUND - 1, 2, E)))).isTrue();
+    }
+
+    @Test public void should_throw_exception_when_bounds_are_out_of_packed_range() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new Grid(0, 0, Grid.MAX_BOUND + 1, 5))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Grid bounds should be between -1073741823 and 1073741822");
+        assertThatThrownBy(() -> new Grid(0, Grid.MIN_BOUND - 1, 5, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Grid(0, 0, Integer.MAX_VALUE, 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
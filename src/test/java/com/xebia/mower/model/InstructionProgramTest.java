@@ -0,0 +1,70 @@
+package com.xebia.mower.model;
+
+import org.junit.Test;
+
+import static com.xebia.mower.model.Instruction.*;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InstructionProgramTest {
+
+    @Test public void should_parse_program() throws Exception {
+        // When
+        InstructionProgram result = InstructionProgram.parse("GAD");
+
+        // Then
+        assertThat(result.length()).isEqualTo(3);
+        assertThat(result.get(0)).isEqualTo(G);
+        assertThat(result.get(1)).isEqualTo(A);
+        assertThat(result.get(2)).isEqualTo(D);
+        assertThat(result.code(1)).isEqualTo(A.ordinal());
+    }
+
+    @Test public void should_build_program_longer_than_initial_capacity() throws Exception {
+        // Given
+        StringBuilder instructions = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            instructions.append("DGA".charAt(i % 3));
+        }
+        byte[] characters = instructions.toString().getBytes(US_ASCII);
+
+        // When
+        InstructionProgram result = InstructionProgram.builder().append(characters, 0, 500).append(characters, 500, 500).build();
+
+        // Then
+        assertThat(result.length()).isEqualTo(1000);
+        assertThat(result.toString()).isEqualTo(instructions.toString());
+    }
+
+    @Test public void should_be_equal() throws Exception {
+        // When // Then
+        assertThat(InstructionProgram.parse("AADAADADDA")).isEqualTo(InstructionProgram.parse("AADAADADDA"));
+        assertThat(InstructionProgram.parse("AADAADADDA").hashCode()).isEqualTo(InstructionProgram.parse("AADAADADDA").hashCode());
+        assertThat(InstructionProgram.parse("AADAADADDA")).isNotEqualTo(InstructionProgram.parse("AADAADADDAD"));
+    }
+
+    @Test public void should_throw_exception_when_index_is_out_of_bounds() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> InstructionProgram.parse("A").get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test public void should_check_range() throws Exception {
+        // Given
+        InstructionProgram program = InstructionProgram.parse("GAD");
+
+        // When
+        program.checkRange(0, 3);
+        program.checkRange(3, 3);
+
+        // Then
+        assertThatThrownBy(() -> program.checkRange(-1, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> program.checkRange(2, 4)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> program.checkRange(2, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test public void should_throw_exception_when_instruction_is_unknown() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> InstructionProgram.parse("AX")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
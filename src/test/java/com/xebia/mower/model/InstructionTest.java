@@ -0,0 +1,22 @@
+package com.xebia.mower.model;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InstructionTest {
+
+    @Test public void should_get_instruction_from_character() throws Exception {
+        // When // Then
+        assertThat(Instruction.of((byte) 'D')).isEqualTo(Instruction.D);
+        assertThat(Instruction.of((byte) 'G')).isEqualTo(Instruction.G);
+        assertThat(Instruction.of((byte) 'A')).isEqualTo(Instruction.A);
+    }
+
+    @Test public void should_throw_exception_when_character_is_unknown() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> Instruction.of((byte) 'X')).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Instruction.of((byte) 0xC3)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
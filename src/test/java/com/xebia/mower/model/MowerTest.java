@@ -20,30 +20,44 @@ public class MowerTest {
 
     @Mock IMowerStrategy mowerStrategyMock;
 
-    Position currentPosition;
+    long currentPosition;
 
     @Before
     public void onSetUp() {
-        currentPosition = new Position(1, 1, S);
-        mower.currentPosition = currentPosition;
+        currentPosition = PackedPosition.pack(1, 1, S);
+        mower.packedPosition = currentPosition;
     }
 
     @Test public void move() throws Exception {
         // Given
-        Position nextPosition = new Position(1, 0, S);
-        doReturn(nextPosition).when(mower).shouldMove();
+        long nextPosition = PackedPosition.pack(1, 0, S);
+        doReturn(nextPosition).when(mower).shouldMovePacked();
 
         // When
         Position result = mower.move();
 
         // Then
-        verify(mower).shouldMove();
+        verify(mower).shouldMovePacked();
+        verify(mower).moveTo(nextPosition);
+        assertThat(result).isEqualTo(new Position(1, 0, S));
+    }
+
+    @Test public void move_to() throws Exception {
+        // Given
+        long nextPosition = PackedPosition.pack(1, 0, S);
+
+        // When
+        long result = mower.moveTo(nextPosition);
+
+        // Then
+        verify(mowerStrategyMock, never()).shouldMove(currentPosition);
         assertThat(result).isEqualTo(nextPosition);
+        assertThat(mower.getCurrentPosition()).isEqualTo(new Position(1, 0, S));
     }
 
     @Test public void should_move() throws Exception {
         // Given
-        Position nextPosition = new Position(1, 0, S);
+        long nextPosition = PackedPosition.pack(1, 0, S);
         when(mowerStrategyMock.shouldMove(currentPosition)).thenReturn(nextPosition);
 
         // When
@@ -51,30 +65,40 @@ public class MowerTest {
 
         // Then
         verify(mowerStrategyMock).shouldMove(currentPosition);
-        assertThat(result).isEqualTo(nextPosition);
+        assertThat(result).isEqualTo(new Position(1, 0, S));
+        assertThat(mower.getCurrentPosition()).isEqualTo(new Position(1, 1, S));
     }
 
     @Test public void should_turn_right() throws Exception {
         // Given
-        Position expectedPosition = new Position(1, 1, W);
-        when(mowerStrategyMock.shouldTurnRight(currentPosition)).thenReturn(expectedPosition);
+        when(mowerStrategyMock.shouldTurnRight(currentPosition)).thenReturn(PackedPosition.pack(1, 1, W));
 
         // When
         Position result = mower.turnRight();
 
         // Then
-        assertThat(result).isEqualTo(expectedPosition);
+        assertThat(result).isEqualTo(new Position(1, 1, W));
     }
 
     @Test public void should_turn_left() throws Exception {
         // Given
-        Position expectedPosition = new Position(1, 1, E);
-        when(mowerStrategyMock.shouldTurnLeft(currentPosition)).thenReturn(expectedPosition);
+        when(mowerStrategyMock.shouldTurnLeft(currentPosition)).thenReturn(PackedPosition.pack(1, 1, E));
 
         // When
         Position result = mower.turnLeft();
 
         // Then
-        assertThat(result).isEqualTo(expectedPosition);
+        assertThat(result).isEqualTo(new Position(1, 1, E));
+    }
+
+    @Test public void should_print_current_position() throws Exception {
+        // Given
+        mower.id = "1";
+
+        // When
+        String result = mower.toString();
+
+        // Then
+        assertThat(result).isEqualTo("Mower(id=1, currentPosition=Position(x=1, y=1, orientation=S))");
     }
 }
@@ -0,0 +1,25 @@
+package com.xebia.mower.model;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ObstacleTest {
+
+    @Test public void should_contain_cells_of_rectangle() throws Exception {
+        // Given
+        Obstacle obstacle = new Obstacle(1, 2, 3, 2);
+
+        // When // Then
+        assertThat(obstacle.contains(1, 2)).isTrue();
+        assertThat(obstacle.contains(3, 2)).isTrue();
+        assertThat(obstacle.contains(2, 3)).isFalse();
+        assertThat(obstacle.contains(0, 2)).isFalse();
+    }
+
+    @Test public void should_throw_exception_when_corners_are_inverted() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new Obstacle(3, 2, 1, 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.xebia.mower.model;
+
+import org.junit.Test;
+
+import static com.xebia.mower.model.Orientation.*;
+import static com.xebia.mower.model.PackedPosition.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PackedPositionTest {
+
+    @Test public void should_pack_and_unpack_position() throws Exception {
+        // Given
+        Position position = new Position(-12, 345, W);
+
+        // When
+        long result = PackedPosition.of(position);
+
+        // Then
+        assertThat(getX(result)).isEqualTo(-12);
+        assertThat(getY(result)).isEqualTo(345);
+        assertThat(getOrientation(result)).isEqualTo(W);
+        assertThat(toPosition(result)).isEqualTo(position);
+    }
+
+    @Test public void should_pack_extreme_coordinates() throws Exception {
+        // When
+        long result = pack(MIN_COORDINATE, MAX_COORDINATE, S);
+
+        // Then
+        assertThat(toPosition(result)).isEqualTo(new Position(MIN_COORDINATE, MAX_COORDINATE, S));
+    }
+
+    @Test public void should_throw_exception_when_coordinate_is_out_of_range() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> pack(0, MAX_COORDINATE + 1, N)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_move_forward() throws Exception {
+        // When // Then
+        assertThat(toPosition(forward(pack(1, 2, N)))).isEqualTo(new Position(1, 3, N));
+        assertThat(toPosition(forward(pack(1, 2, S)))).isEqualTo(new Position(1, 1, S));
+        assertThat(toPosition(forward(pack(1, 2, E)))).isEqualTo(new Position(2, 2, E));
+        assertThat(toPosition(forward(pack(0, -2, W)))).isEqualTo(new Position(-1, -2, W));
+    }
+
+    @Test public void should_turn_right() throws Exception {
+        // When // Then
+        for (Orientation orientation : Orientation.values()) {
+            assertThat(getOrientation(turnRight(pack(1, -1, orientation)))).isEqualTo(orientation.getRightOrientation());
+        }
+    }
+
+    @Test public void should_turn_left() throws Exception {
+        // When // Then
+        for (Orientation orientation : Orientation.values()) {
+            assertThat(getOrientation(turnLeft(pack(1, -1, orientation)))).isEqualTo(orientation.getLeftOrientation());
+        }
+    }
+
+    @Test public void should_be_the_same() throws Exception {
+        // When // Then
+        assertThat(isSame(pack(1, 1, S), pack(1, 1, N))).isTrue();
+        assertThat(isSame(pack(1, 1, S), pack(1, 2, S))).isFalse();
+    }
+}
@@ -1,5 +1,6 @@
 package com.xebia.mower.move;
 
+import com.xebia.mower.model.PackedPosition;
 import com.xebia.mower.model.Position;
 import org.junit.Test;
 
@@ -76,4 +77,37 @@ public class DefaultMowerStrategyTest {
         assertThat(result).isEqualTo(new Position(1, 2, N));
     }
 
-}
\ No newline at end of file
+    @Test public void should_move_packed_position() throws Exception {
+        // Given
+        long currentPosition = PackedPosition.pack(1, 2, W);
+
+        // When
+        long nextPosition = strategy.shouldMove(currentPosition);
+
+        // Then
+        assertThat(nextPosition).isEqualTo(PackedPosition.pack(0, 2, W));
+    }
+
+    @Test public void should_turn_packed_position_right() throws Exception {
+        // Given
+        long currentPosition = PackedPosition.pack(1, 2, E);
+
+        // When
+        long result = strategy.shouldTurnRight(currentPosition);
+
+        // Then
+        assertThat(result).isEqualTo(PackedPosition.pack(1, 2, S));
+    }
+
+    @Test public void should_turn_packed_position_left() throws Exception {
+        // Given
+        long currentPosition = PackedPosition.pack(1, 2, E);
+
+        // When
+        long result = strategy.shouldTurnLeft(currentPosition);
+
+        // Then
+        assertThat(result).isEqualTo(PackedPosition.pack(1, 2, N));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.Grid;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveOccupancyTest {
+
+    // 10 000 cells : a 1 256 bytes bitset, so the switch happens at 19 occupied cells
+    AdaptiveOccupancy occupancy = new AdaptiveOccupancy(new Grid(0, 0, 99, 99));
+
+    @Test public void should_start_sparse() throws Exception {
+        // When
+        boolean result = occupancy.occupy(1, 2);
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(occupancy.isDense()).isFalse();
+        assertThat(occupancy.isOccupied(1, 2)).isTrue();
+    }
+
+    @Test public void should_switch_to_dense_when_bitset_is_lighter() throws Exception {
+        // Given
+        for (int x = 0; x < occupancy.switchCellCount - 1; x++) {
+            occupancy.occupy(x, x);
+        }
+        assertThat(occupancy.isDense()).isFalse();
+
+        // When
+        occupancy.occupy(99, 0);
+
+        // Then
+        assertThat(occupancy.isDense()).isTrue();
+        assertThat(occupancy.delegate).isInstanceOf(DenseOccupancy.class);
+        for (int x = 0; x < occupancy.switchCellCount - 1; x++) {
+            assertThat(occupancy.isOccupied(x, x)).isTrue();
+        }
+        assertThat(occupancy.isOccupied(99, 0)).isTrue();
+        assertThat(occupancy.isOccupied(0, 99)).isFalse();
+    }
+
+    @Test public void should_not_count_cells_occupied_or_released_twice() throws Exception {
+        // Given
+        occupancy.occupy(1, 1);
+        occupancy.occupy(1, 1);
+        occupancy.release(2, 2);
+
+        // When
+        occupancy.release(1, 1);
+        occupancy.release(1, 1);
+
+        // Then
+        assertThat(occupancy.occupiedCount).isZero();
+        assertThat(occupancy.isOccupied(1, 1)).isFalse();
+    }
+}
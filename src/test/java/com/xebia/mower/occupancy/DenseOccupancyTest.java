@@ -0,0 +1,76 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.Grid;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DenseOccupancyTest {
+
+    DenseOccupancy occupancy = new DenseOccupancy(new Grid(-2, -2, 9, 9));
+
+    @Test public void should_occupy_cell() throws Exception {
+        // When
+        boolean result = occupancy.occupy(-2, 9);
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(occupancy.isOccupied(-2, 9)).isTrue();
+        assertThat(occupancy.isOccupied(9, -2)).isFalse();
+    }
+
+    @Test public void should_not_occupy_cell_twice() throws Exception {
+        // Given
+        occupancy.occupy(3, 4);
+
+        // When
+        boolean result = occupancy.occupy(3, 4);
+
+        // Then
+        assertThat(result).isFalse();
+    }
+
+    @Test public void should_release_cell() throws Exception {
+        // Given
+        occupancy.occupy(3, 4);
+        occupancy.occupy(4, 4);
+
+        // When
+        occupancy.release(3, 4);
+
+        // Then
+        assertThat(occupancy.isOccupied(3, 4)).isFalse();
+        assertThat(occupancy.isOccupied(4, 4)).isTrue();
+    }
+
+    @Test public void should_throw_exception_when_grid_is_too_large() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new DenseOccupancy(new Grid(0, 0, Grid.MAX_BOUND, Grid.MAX_BOUND)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test public void should_choose_dense_occupancy_for_small_grid() throws Exception {
+        // When
+        IOccupancy result = IOccupancy.forGrid(new Grid(0, 0, 255, 255));
+
+        // Then
+        assertThat(result).isInstanceOf(DenseOccupancy.class);
+    }
+
+    @Test public void should_choose_adaptive_occupancy_for_grid_of_millions_of_cells() throws Exception {
+        // When
+        IOccupancy result = IOccupancy.forGrid(new Grid(0, 0, 9_999, 9_999));
+
+        // Then
+        assertThat(result).isInstanceOf(AdaptiveOccupancy.class);
+    }
+
+    @Test public void should_choose_adaptive_occupancy_for_large_grid() throws Exception {
+        // When
+        IOccupancy result = IOccupancy.forGrid(new Grid(0, 0, 100_000, 100_000));
+
+        // Then
+        assertThat(result).isInstanceOf(AdaptiveOccupancy.class);
+    }
+}
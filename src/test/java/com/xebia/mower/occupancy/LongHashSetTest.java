@@ -0,0 +1,81 @@
+package com.xebia.mower.occupancy;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongHashSetTest {
+
+    LongHashSet set = new LongHashSet();
+
+    @Test public void should_add_contain_and_remove_keys() throws Exception {
+        // When
+        boolean added = set.add(42);
+        boolean addedTwice = set.add(42);
+
+        // Then
+        assertThat(added).isTrue();
+        assertThat(addedTwice).isFalse();
+        assertThat(set.contains(42)).isTrue();
+        assertThat(set.contains(43)).isFalse();
+        assertThat(set.remove(42)).isTrue();
+        assertThat(set.remove(42)).isFalse();
+        assertThat(set.isEmpty()).isTrue();
+    }
+
+    @Test public void should_handle_zero_key() throws Exception {
+        // When
+        set.add(0);
+
+        // Then
+        assertThat(set.contains(0)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.remove(0)).isTrue();
+        assertThat(set.contains(0)).isFalse();
+    }
+
+    @Test public void should_iterate_over_keys() throws Exception {
+        // Given
+        set.add(0);
+        set.add(-1);
+        set.add(1L << 32);
+        Set<Long> keys = new HashSet<>();
+
+        // When
+        set.forEach(keys::add);
+
+        // Then
+        assertThat(keys).containsOnly(0L, -1L, 1L << 32);
+    }
+
+    @Test public void should_behave_like_hash_set() throws Exception {
+        // Given
+        Random random = new Random(20);
+        Set<Long> expected = new HashSet<>();
+
+        // When // Then
+        for (int i = 0; i < 100_000; i++) {
+            long key = ((long) random.nextInt(64) << 32) | random.nextInt(64);
+            switch (random.nextInt(3)) {
+                case 0: assertThat(set.add(key)).isEqualTo(expected.add(key)); break;
+                case 1: assertThat(set.remove(key)).isEqualTo(expected.remove(key)); break;
+                default: assertThat(set.contains(key)).isEqualTo(expected.contains(key)); break;
+            }
+            assertThat(set.size()).isEqualTo(expected.size());
+        }
+        for (long key : expected) {
+            assertThat(set.contains(key)).isTrue();
+        }
+    }
+
+    @Test public void should_size_table_for_expected_size() throws Exception {
+        // When // Then
+        assertThat(LongHashSet.tableSize(0)).isEqualTo(16);
+        assertThat(LongHashSet.tableSize(100)).isEqualTo(256);
+        assertThat(new LongHashSet(1000).keys).hasSize(2048);
+    }
+}
@@ -0,0 +1,66 @@
+package com.xebia.mower.occupancy;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongIntHashMapTest {
+
+    LongIntHashMap map = new LongIntHashMap(-1);
+
+    @Test public void should_put_get_and_remove_values() throws Exception {
+        // When
+        int previous = map.put(42, 1);
+        int replaced = map.put(42, 2);
+
+        // Then
+        assertThat(previous).isEqualTo(-1);
+        assertThat(replaced).isEqualTo(1);
+        assertThat(map.get(42)).isEqualTo(2);
+        assertThat(map.get(43)).isEqualTo(-1);
+        assertThat(map.remove(42)).isEqualTo(2);
+        assertThat(map.containsKey(42)).isFalse();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test public void should_put_if_absent() throws Exception {
+        // Given
+        map.put(0, 7);
+
+        // When
+        int current = map.putIfAbsent(0, 8);
+        int absent = map.putIfAbsent(5, 9);
+
+        // Then
+        assertThat(current).isEqualTo(7);
+        assertThat(absent).isEqualTo(-1);
+        assertThat(map.get(0)).isEqualTo(7);
+        assertThat(map.get(5)).isEqualTo(9);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test public void should_behave_like_hash_map() throws Exception {
+        // Given
+        Random random = new Random(20);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        // When // Then
+        for (int i = 0; i < 100_000; i++) {
+            long key = ((long) random.nextInt(64) << 32) | random.nextInt(64);
+            int value = random.nextInt(1000);
+            switch (random.nextInt(3)) {
+                case 0: assertThat(map.put(key, value)).isEqualTo(expected.getOrDefault(key, -1)); expected.put(key, value); break;
+                case 1: assertThat(map.remove(key)).isEqualTo(expected.getOrDefault(key, -1)); expected.remove(key); break;
+                default: assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, -1)); break;
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.xebia.mower.occupancy;
+
+import com.xebia.mower.model.Grid;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OffHeapOccupancyTest {
+
+    OffHeapOccupancy occupancy = new OffHeapOccupancy(new Grid(-5, -5, 69, 5));
+
+    @Test public void should_occupy_cell() throws Exception {
+        // When
+        boolean result = occupancy.occupy(-5, 5);
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(occupancy.isOccupied(-5, 5)).isTrue();
+        assertThat(occupancy.isOccupied(5, -5)).isFalse();
+    }
+
+    @Test public void should_not_occupy_cell_twice() throws Exception {
+        // Given
+        occupancy.occupy(69, 5);
+
+        // When
+        boolean result = occupancy.occupy(69, 5);
+
+        // Then
+        assertThat(result).isFalse();
+    }
+
+    @Test public void should_release_cell_without_releasing_cells_of_same_word() throws Exception {
+        // Given
+        occupancy.occupy(3, 4);
+        occupancy.occupy(4, 4);
+
+        // When
+        occupancy.release(3, 4);
+
+        // Then
+        assertThat(occupancy.isOccupied(3, 4)).isFalse();
+        assertThat(occupancy.isOccupied(4, 4)).isTrue();
+    }
+
+    @Test public void should_index_cells_across_chunks() throws Exception {
+        // Given
+        OffHeapOccupancy occupancy = new OffHeapOccupancy(new Grid(0, 0, 99, 9), 2);
+
+        // When
+        occupancy.occupy(99, 9);
+        occupancy.occupy(0, 3);
+
+        // Then
+        assertThat(occupancy.chunks).hasSize(4);
+        assertThat(occupancy.isOccupied(99, 9)).isTrue();
+        assertThat(occupancy.isOccupied(0, 3)).isTrue();
+        assertThat(occupancy.isOccupied(98, 9)).isFalse();
+        assertThat(occupancy.chunks[3].get(0)).isZero();
+    }
+
+    @Test public void should_throw_exception_when_grid_is_too_large() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> new OffHeapOccupancy(new Grid(Grid.MIN_BOUND, Grid.MIN_BOUND, Grid.MAX_BOUND, Grid.MAX_BOUND), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
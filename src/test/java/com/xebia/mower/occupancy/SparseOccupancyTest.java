@@ -0,0 +1,42 @@
+package com.xebia.mower.occupancy;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SparseOccupancyTest {
+
+    SparseOccupancy occupancy = new SparseOccupancy();
+
+    @Test public void should_occupy_cell() throws Exception {
+        // When
+        boolean result = occupancy.occupy(-1, 100_000);
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(occupancy.isOccupied(-1, 100_000)).isTrue();
+        assertThat(occupancy.isOccupied(100_000, -1)).isFalse();
+    }
+
+    @Test public void should_not_occupy_cell_twice() throws Exception {
+        // Given
+        occupancy.occupy(3, 4);
+
+        // When
+        boolean result = occupancy.occupy(3, 4);
+
+        // Then
+        assertThat(result).isFalse();
+    }
+
+    @Test public void should_release_cell() throws Exception {
+        // Given
+        occupancy.occupy(3, 4);
+
+        // When
+        occupancy.release(3, 4);
+
+        // Then
+        assertThat(occupancy.isOccupied(3, 4)).isFalse();
+    }
+}
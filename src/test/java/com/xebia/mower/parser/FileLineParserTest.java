@@ -2,6 +2,8 @@ package com.xebia.mower.parser;
 
 import com.xebia.mower.model.Grid;
 import com.xebia.mower.model.Instruction;
+import com.xebia.mower.model.InstructionProgram;
+import com.xebia.mower.model.Obstacle;
 import com.xebia.mower.model.Position;
 import org.junit.Test;
 
@@ -32,6 +34,12 @@ public class FileLineParserTest {
         assertThatThrownBy(() -> FileLineParser.parseGridXMaxYMax(0, 0, line)).isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test public void should_throw_exception_when_grid_is_out_of_packed_range() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> FileLineParser.parseGridXMaxYMax(0, 0, "5 1073741823"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageStartingWith("Grid bounds should be between");
+    }
+
     @Test public void should_parse_mower_initial_position() throws Exception {
         // Given
         String line = "4 9 E";
@@ -71,4 +79,32 @@ public class FileLineParserTest {
                 Instruction.D);
     }
 
-}
\ No newline at end of file
+    @Test public void should_parse_program() throws Exception {
+        // Given
+        String instructions = "GAGAGAGAD";
+
+        // When
+        InstructionProgram result = FileLineParser.parseProgram(instructions);
+
+        // Then
+        assertThat(result.length()).isEqualTo(9);
+        assertThat(result.toString()).isEqualTo(instructions);
+    }
+
+    @Test public void should_parse_obstacle_with_corners_in_any_order() throws Exception {
+        // Given
+        String line = "X 4 1 2 3";
+
+        // When
+        Obstacle result = FileLineParser.parseObstacle(line);
+
+        // Then
+        assertThat(FileLineParser.isObstacle(line)).isTrue();
+        assertThat(result).isEqualTo(new Obstacle(2, 1, 4, 3));
+    }
+
+    @Test public void should_throw_exception_when_obstacle_line_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> FileLineParser.parseObstacle("X 1 2 3")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,142 @@
+package com.xebia.mower.parser;
+
+import com.xebia.mower.model.Grid;
+import com.xebia.mower.model.Obstacle;
+import com.xebia.mower.model.PackedPosition;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.xebia.mower.model.Orientation.*;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingMissionParserTest {
+
+    RecordingHandler handler = new RecordingHandler();
+
+    @Test public void should_parse_specification() throws Exception {
+        // Given
+        String mission = "5 5\n1 2 N\nGAGAGAGAA\n3 3 E\nAADAADADDA\n";
+
+        // When
+        parse(new StreamingMissionParser(), mission);
+
+        // Then
+        assertThat(handler.grid).isEqualTo(new Grid(0, 0, 5, 5));
+        assertThat(handler.positions).containsExactly(PackedPosition.pack(1, 2, N), PackedPosition.pack(3, 3, E));
+        assertThat(handler.programs).containsExactly("GAGAGAGAA", "AADAADADDA");
+    }
+
+    @Test public void should_parse_obstacles_after_grid() throws Exception {
+        // Given
+        String mission = "5 5\nX 1 1 2 1\n\nX 4 4 3 3\n1 2 N\nGAGAGAGAA\n";
+
+        // When
+        parse(new StreamingMissionParser(4), mission);
+
+        // Then
+        assertThat(handler.grid).isEqualTo(new Grid(0, 0, 5, 5, Arrays.asList(new Obstacle(1, 1, 2, 1), new Obstacle(3, 3, 4, 4))));
+        assertThat(handler.positions).containsExactly(PackedPosition.pack(1, 2, N));
+    }
+
+    @Test public void should_throw_exception_when_grid_is_out_of_packed_range() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> parse(new StreamingMissionParser(), "2147483647 5\n1 2 N\nA\n"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageStartingWith("Grid bounds should be between");
+    }
+
+    @Test public void should_throw_exception_when_obstacle_line_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> parse(new StreamingMissionParser(), "5 5\nX 1 1 2\n1 2 N\nA\n"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Obstacle should have a x1, y1, x2 and y2.");
+    }
+
+    @Test public void should_parse_instructions_across_buffer_refills() throws Exception {
+        // Given
+        String mission = "15 15\r\n-1 12 W\r\nGAGAGAGAADDDGGG\r\n\r\n3 3 S  \r\n";
+
+        // When
+        parse(new StreamingMissionParser(3), mission);
+
+        // Then
+        assertThat(handler.grid).isEqualTo(new Grid(0, 0, 15, 15));
+        assertThat(handler.positions).containsExactly(PackedPosition.pack(-1, 12, W), PackedPosition.pack(3, 3, S));
+        assertThat(handler.programs).containsExactly("GAGAGAGAADDDGGG", "");
+        assertThat(handler.chunks).isGreaterThan(2);
+    }
+
+    @Test public void should_parse_file() throws Exception {
+        // Given
+        Path file = Files.createTempFile("mission", ".txt");
+        Files.write(file, "5 5\n1 2 N\nGAGAGAGAA".getBytes(US_ASCII));
+
+        // When
+        new StreamingMissionParser().parse(file, handler);
+        Files.delete(file);
+
+        // Then
+        assertThat(handler.positions).containsExactly(PackedPosition.pack(1, 2, N));
+        assertThat(handler.programs).containsExactly("GAGAGAGAA");
+    }
+
+    @Test public void should_throw_exception_when_grid_line_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> parse(new StreamingMissionParser(), "7\n1 2 N\nA\n"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Grid configuration should have a xMax and yMax.");
+    }
+
+    @Test public void should_throw_exception_when_mower_initial_position_is_invalid() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> parse(new StreamingMissionParser(), "5 5\n1 2 Q\nA\n"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Mower Initial Position should have a x, y and orientation.");
+    }
+
+    @Test public void should_throw_exception_when_instruction_is_unknown() throws Exception {
+        // When // Then
+        assertThatThrownBy(() -> parse(new StreamingMissionParser(), "5 5\n1 2 N\nAAXA\n"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Unknown instruction : X");
+    }
+
+    private void parse(StreamingMissionParser parser, String mission) throws Exception {
+        parser.parse(Channels.newChannel(new ByteArrayInputStream(mission.getBytes(US_ASCII))), handler);
+    }
+
+    static class RecordingHandler implements IMissionHandler {
+
+        Grid grid;
+        List<Long> positions = new ArrayList<>();
+        List<String> programs = new ArrayList<>();
+        StringBuilder program;
+        int chunks;
+
+        @Override
+        public void onGrid(Grid grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        public void onMower(long initialPackedPosition) {
+            positions.add(initialPackedPosition);
+            program = new StringBuilder();
+        }
+
+        @Override
+        public void onInstructions(byte[] instructions, int offset, int length) {
+            program.append(new String(instructions, offset, length, US_ASCII));
+            chunks++;
+        }
+
+        @Override
+        public void onMowerEnd() {
+            programs.add(program.toString());
+        }
+    }
+}